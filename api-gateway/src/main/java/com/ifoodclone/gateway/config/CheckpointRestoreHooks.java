@@ -0,0 +1,85 @@
+package com.ifoodclone.gateway.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.ifoodclone.gateway.jwks.JwksKeyCache;
+import com.ifoodclone.gateway.revocation.TokenRevocationList;
+import com.netflix.discovery.EurekaClient;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checkpoint/restore (CRaC) hooks. No-op unless the JVM supports CRaC.
+ *
+ * Spring already stops and restarts lifecycle beans around the checkpoint
+ * (Netty server, Lettuce connection factory, Reactor client resources and the
+ * Eureka registration). This covers the rest:
+ * <ul>
+ * <li>before: cancels the revocation channel subscription and the JWKS refresh
+ * schedule, and shuts down the Eureka client (threads and HTTP connections);</li>
+ * <li>after: recreates the Eureka client through the refresh scope (which also
+ * re-registers), then restarts the JWKS refresh and the revocation
+ * subscription, which reloads the snapshot so revocations published while the
+ * image was stored are not missed.</li>
+ * </ul>
+ *
+ * Registered on ContextRefreshedEvent, after Spring's lifecycle processor, so
+ * these hooks run before it on checkpoint (Redis still open) and after it on
+ * restore.
+ */
+@Component
+@Slf4j
+public class CheckpointRestoreHooks implements Resource {
+
+    private final ObjectProvider<TokenRevocationList> tokenRevocationList;
+    private final ObjectProvider<JwksKeyCache> jwksKeyCache;
+    private final ObjectProvider<EurekaClient> eurekaClient;
+    private final ObjectProvider<RefreshScope> refreshScope;
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    public CheckpointRestoreHooks(ObjectProvider<TokenRevocationList> tokenRevocationList,
+            ObjectProvider<JwksKeyCache> jwksKeyCache, ObjectProvider<EurekaClient> eurekaClient,
+            ObjectProvider<RefreshScope> refreshScope) {
+        this.tokenRevocationList = tokenRevocationList;
+        this.jwksKeyCache = jwksKeyCache;
+        this.eurekaClient = eurekaClient;
+        this.refreshScope = refreshScope;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void register() {
+        // Child contexts publish ContextRefreshedEvent too
+        if (registered.compareAndSet(false, true)) {
+            Core.getGlobalContext().register(this);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        log.info("Preparing CRaC checkpoint");
+        tokenRevocationList.ifAvailable(TokenRevocationList::stop);
+        jwksKeyCache.ifAvailable(JwksKeyCache::stop);
+        eurekaClient.ifAvailable(EurekaClient::shutdown);
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        long start = System.currentTimeMillis();
+        RefreshScope scope = refreshScope.getIfAvailable();
+        if (scope != null && eurekaClient.getIfAvailable() != null) {
+            scope.refresh("eurekaClient");
+        }
+        jwksKeyCache.ifAvailable(JwksKeyCache::start);
+        tokenRevocationList.ifAvailable(TokenRevocationList::start);
+        log.info("CRaC restore completed in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -1,9 +1,16 @@
 package com.ifoodclone.gateway.filter;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifoodclone.gateway.jwks.JwksKeyCache;
+import com.ifoodclone.gateway.revocation.TokenRevocationList;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -15,6 +22,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -24,15 +32,35 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class AuthFilter extends AbstractGatewayFilterFactory<AuthFilter.Config> {
 
-    @Value("${jwt.secret}")
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Legacy HMAC verification, only for tokens without a kid during the migration
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
+    @Autowired(required = false)
+    private JwksKeyCache jwksKeyCache;
+
+    @Autowired(required = false)
+    private TokenRevocationList revocationList;
+
+    private volatile JwtParser hmacParser;
+
     public AuthFilter() {
         super(Config.class);
     }
 
     @Override
     public GatewayFilter apply(Config config) {
+        return apply(config, this::jwksParserFor);
+    }
+
+    /**
+     * Same filter, but tokens with a kid are verified against the given
+     * kid -> parser lookup instead of the JWKS cache. Used by the warm-up so its
+     * synthetic signing key never becomes trusted by the live filter.
+     */
+    public GatewayFilter apply(Config config, Function<String, JwtParser> keyParsers) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
             String requestPath = request.getPath().value();
@@ -50,7 +78,7 @@ public class AuthFilter extends AbstractGatewayFilterFactory<AuthFilter.Config>
             }
 
             // Validate and process token
-            return validateAndProcessToken(exchange, chain, token, requestPath);
+            return validateAndProcessToken(exchange, chain, token, requestPath, keyParsers);
         };
     }
 
@@ -94,14 +122,20 @@ public class AuthFilter extends AbstractGatewayFilterFactory<AuthFilter.Config>
     private Mono<Void> validateAndProcessToken(ServerWebExchange exchange,
             org.springframework.cloud.gateway.filter.GatewayFilterChain chain,
             String token,
-            String requestPath) {
+            String requestPath,
+            Function<String, JwtParser> keyParsers) {
         try {
-            if (!isValidToken(token)) {
+            Claims claims = parseValidClaims(token, keyParsers);
+            if (claims == null) {
                 log.warn("Invalid token for path: {}", requestPath);
                 return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
 
-            Claims claims = getClaims(token);
+            if (isRevoked(claims)) {
+                log.warn("Revoked token for path: {}", requestPath);
+                return onError(exchange, "Token revoked", HttpStatus.UNAUTHORIZED);
+            }
+
             ServerHttpRequest modifiedRequest = buildAuthenticatedRequest(exchange.getRequest(), claims, requestPath);
 
             log.debug("User authenticated: userId={}, path={}", claims.getSubject(), requestPath);
@@ -130,30 +164,73 @@ public class AuthFilter extends AbstractGatewayFilterFactory<AuthFilter.Config>
                 .build();
     }
 
-    private boolean isValidToken(String token) {
+    /**
+     * Verifies the signature once and returns the claims, or null when the token
+     * is invalid or expired. Tokens with a kid are checked against the key
+     * lookup; tokens without one fall back to the legacy HMAC secret, if set.
+     */
+    private Claims parseValidClaims(String token, Function<String, JwtParser> keyParsers) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            JwtParser parser = resolveParser(token, keyParsers);
+            if (parser == null) {
+                return null;
+            }
+
+            Claims claims = parser.parseSignedClaims(token).getPayload();
 
             // Check if token is expired
-            return claims.getExpiration() != null && claims.getExpiration().after(new java.util.Date());
+            return claims.getExpiration() != null && claims.getExpiration().after(new java.util.Date())
+                    ? claims
+                    : null;
         } catch (Exception e) {
             log.debug("Token validation failed: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
-    private Claims getClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private JwtParser resolveParser(String token, Function<String, JwtParser> keyParsers)
+            throws java.io.IOException {
+        String keyId = extractKeyId(token);
+        if (keyId != null) {
+            return keyParsers.apply(keyId);
+        }
+        return legacyHmacParser();
+    }
+
+    private JwtParser jwksParserFor(String keyId) {
+        return jwksKeyCache != null ? jwksKeyCache.parserFor(keyId) : null;
+    }
+
+    private String extractKeyId(String token) throws java.io.IOException {
+        int headerEnd = token.indexOf('.');
+        if (headerEnd <= 0) {
+            return null;
+        }
+        byte[] header = Base64.getUrlDecoder().decode(token.substring(0, headerEnd));
+        return OBJECT_MAPPER.readTree(header).path("kid").asText(null);
+    }
+
+    private JwtParser legacyHmacParser() {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            return null;
+        }
+        JwtParser parser = hmacParser;
+        if (parser == null) {
+            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            parser = Jwts.parser().verifyWith(key).build();
+            hmacParser = parser;
+        }
+        return parser;
+    }
+
+    private boolean isRevoked(Claims claims) {
+        if (revocationList == null) {
+            return false;
+        }
+        Object userId = claims.get("userId");
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+        return revocationList.isRevoked(claims.getId(),
+                userId != null ? userId.toString() : claims.getSubject(), issuedAt);
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
@@ -0,0 +1,153 @@
+package com.ifoodclone.gateway.jwks;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache das chaves públicas do auth-service (JWK Set), com um JwtParser já
+ * construído por kid.
+ *
+ * As chaves são buscadas em background, no startup e a cada refresh-interval.
+ * O caminho do request nunca bloqueia: um kid desconhecido só agenda uma nova
+ * busca (no máximo uma a cada min-refresh-gap) e o token é rejeitado.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwks.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JwksKeyCache {
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshGapMs;
+    private final AtomicLong lastRefreshRequest = new AtomicLong();
+
+    private volatile Map<String, JwtParser> parsers = Map.of();
+    private Disposable scheduledRefresh;
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder,
+            @Value("${app.jwks.uri}") String jwksUri,
+            @Value("${app.jwks.refresh-interval:5m}") Duration refreshInterval,
+            @Value("${app.jwks.min-refresh-gap:30s}") Duration minRefreshGap) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshGapMs = minRefreshGap.toMillis();
+    }
+
+    /**
+     * Parser pré-construído para o kid, ou null se a chave ainda não é
+     * conhecida (nesse caso agenda uma atualização em background)
+     */
+    public JwtParser parserFor(String keyId) {
+        JwtParser parser = parsers.get(keyId);
+        if (parser == null) {
+            requestRefresh();
+        }
+        return parser;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduledRefresh = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.dispose();
+        }
+    }
+
+    private void requestRefresh() {
+        long now = System.currentTimeMillis();
+        long last = lastRefreshRequest.get();
+        if (now - last >= minRefreshGapMs && lastRefreshRequest.compareAndSet(last, now)) {
+            refresh().subscribe();
+        }
+    }
+
+    public Mono<Void> refresh() {
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnNext(this::update)
+                .onErrorResume(error -> {
+                    log.warn("Could not refresh JWKS from {}: {}", jwksUri, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Substitui o conjunto de chaves; chaves inválidas ou de tipo não suportado
+     * são ignoradas
+     */
+    synchronized void update(JsonNode jwkSet) {
+        Map<String, JwtParser> updated = new HashMap<>();
+        for (JsonNode jwk : jwkSet.path("keys")) {
+            String keyId = jwk.path("kid").asText(null);
+            try {
+                if (keyId != null && "EC".equals(jwk.path("kty").asText()) && "P-256".equals(jwk.path("crv").asText())) {
+                    updated.put(keyId, Jwts.parser().verifyWith(toEcPublicKey(jwk)).build());
+                } else {
+                    log.debug("Ignoring unsupported JWK: kid={}, kty={}", keyId, jwk.path("kty").asText());
+                }
+            } catch (Exception e) {
+                log.warn("Ignoring invalid JWK {}: {}", keyId, e.getMessage());
+            }
+        }
+
+        if (updated.isEmpty() && !parsers.isEmpty()) {
+            log.warn("JWKS response had no usable keys, keeping the current ones");
+            return;
+        }
+        if (!updated.keySet().equals(parsers.keySet())) {
+            log.info("JWKS keys updated: {}", updated.keySet());
+        }
+        parsers = Map.copyOf(updated);
+    }
+
+    static PublicKey toEcPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger x = new BigInteger(1, decoder.decode(jwk.path("x").asText()));
+        BigInteger y = new BigInteger(1, decoder.decode(jwk.path("y").asText()));
+
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec curve = parameters.getParameterSpec(ECParameterSpec.class);
+
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(new ECPoint(x, y), curve));
+    }
+}
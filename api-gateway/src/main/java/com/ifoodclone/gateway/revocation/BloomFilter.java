@@ -0,0 +1,87 @@
+package com.ifoodclone.gateway.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter thread-safe para chaves String, sem dependências externas.
+ *
+ * Usa double hashing (h1 + i * h2) sobre um hash de 64 bits da chave. Não
+ * suporta remoção: quem usa reconstrói o filtro quando as entradas expiram.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    /**
+     * Dimensiona o filtro para expectedEntries com a taxa de falso positivo
+     * desejada
+     */
+    static BloomFilter create(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    void put(String key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            setBit(bit);
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(index, current, current | mask));
+    }
+
+    // FNV-1a 64 sobre os chars, finalizado com o mix do MurmurHash3
+    private static long hash64(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB5E53C4EB9FEL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ifoodclone.gateway.revocation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+/**
+ * Lista de access tokens revogados, mantida em memória em cada nó do gateway.
+ *
+ * O auth-service publica as revogações no canal auth:revocations e mantém o
+ * sorted set auth:revoked-access (score = expiração) para o carregamento
+ * inicial. A verificação passa primeiro por um Bloom filter: no caso comum
+ * (token não revogado) a resposta sai sem tocar nos mapas nem na rede.
+ */
+@Component
+@ConditionalOnProperty(name = "app.token-revocation.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class TokenRevocationList {
+
+    static final String REVOKED_KEY = "auth:revoked-access";
+    static final String CHANNEL = "auth:revocations";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration pruneInterval;
+
+    // jti -> expiração (ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> revogação mais recente do usuário
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+    private Disposable subscription;
+    private Disposable pruning;
+
+    public TokenRevocationList(
+            ReactiveRedisTemplate<String, String> redisTemplate,
+            @Value("${app.token-revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${app.token-revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${app.token-revocation.prune-interval:5m}") Duration pruneInterval) {
+        this.redisTemplate = redisTemplate;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pruneInterval = pruneInterval;
+        this.bloomFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Verifica se o token foi revogado individualmente (jti) ou pela revogação
+     * de todos os tokens do usuário emitidos antes de um instante. O iat tem
+     * precisão de segundos; o auth-service publica o notBefore já arredondado
+     * para o segundo seguinte, então iat < notBefore cobre o segundo da revogação.
+     */
+    public boolean isRevoked(String tokenId, String userId, long issuedAtMs) {
+        BloomFilter filter = bloomFilter;
+        if (tokenId != null && filter.mightContain(tokenKey(tokenId)) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (userId != null && filter.mightContain(userKey(userId))) {
+            UserRevocation revocation = revokedUsers.get(userId);
+            return revocation != null && issuedAtMs < revocation.notBeforeMs();
+        }
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Carrega o snapshot só depois da assinatura ativa, para não perder
+        // revogações publicadas no meio
+        subscription = redisTemplate.listenToChannelLater(CHANNEL)
+                .doOnNext(messages -> loadSnapshot())
+                .flatMapMany(messages -> messages)
+                .doOnNext(message -> apply(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Revocation channel lost, resubscribing: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+
+        pruning = Flux.interval(pruneInterval)
+                .doOnNext(tick -> prune())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (pruning != null) {
+            pruning.dispose();
+        }
+    }
+
+    private void loadSnapshot() {
+        redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(REVOKED_KEY,
+                        Range.closed((double) System.currentTimeMillis(), Double.POSITIVE_INFINITY))
+                .doOnNext(entry -> apply(entry.getScore().longValue(), entry.getValue()))
+                .count()
+                .subscribe(
+                        count -> log.info("Loaded {} token revocations", count),
+                        error -> log.warn("Could not load token revocations: {}", error.getMessage()));
+    }
+
+    /**
+     * Aplica uma mensagem do canal: "{expiresAtMs}|{membro}"
+     */
+    void apply(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+            return;
+        }
+        try {
+            apply(Long.parseLong(message.substring(0, separator)), message.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", message);
+        }
+    }
+
+    /**
+     * Aplica um membro "jti|{jti}" ou "user|{userId}|{notBeforeMs}"
+     */
+    void apply(long expiresAtMs, String member) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+
+        String[] parts = member.split("\\|");
+        if (parts.length == 2 && "jti".equals(parts[0])) {
+            revokedTokens.merge(parts[1], expiresAtMs, Math::max);
+            bloomFilter.put(tokenKey(parts[1]));
+        } else if (parts.length == 3 && "user".equals(parts[0])) {
+            UserRevocation revocation = new UserRevocation(Long.parseLong(parts[2]), expiresAtMs);
+            revokedUsers.merge(parts[1], revocation, UserRevocation::latest);
+            bloomFilter.put(userKey(parts[1]));
+        } else {
+            log.warn("Ignoring unknown revocation entry: {}", member);
+        }
+    }
+
+    /**
+     * Descarta entradas expiradas e reconstrói o Bloom filter, que não suporta
+     * remoção
+     */
+    void prune() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAtMs() <= now);
+
+        BloomFilter rebuilt = BloomFilter.create(
+                Math.max(expectedEntries, 2 * (revokedTokens.size() + revokedUsers.size())), falsePositiveRate);
+        fill(rebuilt);
+        bloomFilter = rebuilt;
+        // Entradas aplicadas durante a reconstrução podem ter ido só para o filtro antigo
+        fill(rebuilt);
+    }
+
+    int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    private void fill(BloomFilter filter) {
+        revokedTokens.keySet().forEach(tokenId -> filter.put(tokenKey(tokenId)));
+        revokedUsers.keySet().forEach(userId -> filter.put(userKey(userId)));
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "jti|" + tokenId;
+    }
+
+    private static String userKey(String userId) {
+        return "user|" + userId;
+    }
+
+    private record UserRevocation(long notBeforeMs, long expiresAtMs) {
+
+        static UserRevocation latest(UserRevocation a, UserRevocation b) {
+            return new UserRevocation(Math.max(a.notBeforeMs, b.notBeforeMs), Math.max(a.expiresAtMs, b.expiresAtMs));
+        }
+    }
+}
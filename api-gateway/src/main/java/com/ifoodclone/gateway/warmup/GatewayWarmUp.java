@@ -0,0 +1,186 @@
+package com.ifoodclone.gateway.warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import com.ifoodclone.gateway.filter.AuthFilter;
+import com.ifoodclone.gateway.jwks.JwksKeyCache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Warm-up antes do readiness: roda como ApplicationRunner, depois do Netty
+ * subir e antes do ReadinessState.ACCEPTING_TRAFFIC.
+ *
+ * Carrega o JWKS (sem ele todo token ES256 seria rejeitado) e passa tokens
+ * sintéticos pelo caminho de sucesso do AuthFilter: parse do header, verificação
+ * ES256, consulta ao Bloom filter de revogações e montagem dos headers X-User-*.
+ * Os tokens são assinados com um par de chaves gerado aqui, e só uma instância
+ * do filtro criada para o warm-up confia nessa chave: o JwksKeyCache, que o
+ * filtro das rotas usa com o Netty já aceitando conexões, não é alterado. Sem
+ * JWKS, usa o segredo HMAC legado, se houver.
+ *
+ * Métricas: gateway.warmup.duration (timer por fase) e gateway.warmup.speedup
+ * (latência média das primeiras iterações dividida pela das últimas).
+ */
+@Component
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class GatewayWarmUp implements ApplicationRunner {
+
+    private static final String SYNTHETIC_PATH = "/api/v1/warm-up";
+    private static final int TOKEN_POOL_SIZE = 64;
+
+    private final AuthFilter authFilter;
+    private final ObjectProvider<JwksKeyCache> jwksKeyCache;
+    private final MeterRegistry meterRegistry;
+    private final String legacySecret;
+    private final int iterations;
+    private final Duration jwksTimeout;
+    private final Duration maxDuration;
+
+    public GatewayWarmUp(AuthFilter authFilter, ObjectProvider<JwksKeyCache> jwksKeyCache,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.secret:}") String legacySecret,
+            @Value("${app.warm-up.iterations:10000}") int iterations,
+            @Value("${app.warm-up.jwks-timeout:5s}") Duration jwksTimeout,
+            @Value("${app.warm-up.max-duration:20s}") Duration maxDuration) {
+        this.authFilter = authFilter;
+        this.jwksKeyCache = jwksKeyCache;
+        this.meterRegistry = meterRegistry;
+        this.legacySecret = legacySecret;
+        this.iterations = iterations;
+        this.jwksTimeout = jwksTimeout;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        JwksKeyCache keys = jwksKeyCache.getIfAvailable();
+
+        if (keys != null) {
+            long jwksStart = System.nanoTime();
+            try {
+                keys.refresh().block(jwksTimeout);
+            } catch (RuntimeException e) {
+                log.warn("JWKS not loaded during warm-up: {}", e.getMessage());
+            }
+            timer("jwks").record(System.nanoTime() - jwksStart, TimeUnit.NANOSECONDS);
+
+            String keyId = "warm-up-" + UUID.randomUUID();
+            KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+            Map<String, JwtParser> warmUpKeys = Map.of(keyId,
+                    Jwts.parser().verifyWith(keyPair.getPublic()).build());
+            warmUpAuthFilter(authFilter.apply(new AuthFilter.Config(), warmUpKeys::get),
+                    tokens(builder -> builder.header().keyId(keyId).and()
+                            .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)), start);
+        } else if (!legacySecret.isBlank()) {
+            try {
+                warmUpAuthFilter(authFilter.apply(new AuthFilter.Config()), tokens(builder -> builder
+                        .signWith(Keys.hmacShaKeyFor(legacySecret.getBytes(StandardCharsets.UTF_8)))), start);
+            } catch (RuntimeException e) {
+                // Segredo fraco demais para HS256: o AuthFilter também não aceitaria esses tokens
+                log.warn("Auth filter warm-up skipped: {}", e.getMessage());
+            }
+        }
+
+        log.info("Warm-up completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void warmUpAuthFilter(GatewayFilter filter, List<String> tokens, long start) {
+        GatewayFilterChain chain = exchange -> Mono.empty();
+        long deadline = start + maxDuration.toNanos();
+        int window = Math.max(1, iterations / 20);
+        long[] durations = new long[iterations];
+        int done = 0;
+
+        long phaseStart = System.nanoTime();
+        try {
+            while (done < iterations && System.nanoTime() < deadline) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setBearerAuth(tokens.get(done % tokens.size()));
+                long iterationStart = System.nanoTime();
+                filter.filter(SyntheticExchange.get(SYNTHETIC_PATH, headers), chain).block();
+                durations[done++] = System.nanoTime() - iterationStart;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Auth filter warm-up failed: {}", e.getMessage());
+        }
+        timer("auth-filter").record(System.nanoTime() - phaseStart, TimeUnit.NANOSECONDS);
+
+        if (done >= 2 * window) {
+            double first = mean(durations, 0, window);
+            double last = mean(durations, done - window, done);
+            double speedup = last > 0 ? first / last : 1.0;
+            Gauge.builder("gateway.warmup.speedup", () -> speedup)
+                    .description("Mean latency of the first warm-up iterations divided by the last ones")
+                    .tag("phase", "auth-filter")
+                    .register(meterRegistry);
+            log.info("Auth filter warm-up: {} iterations, {}x faster at the end", done,
+                    String.format("%.1f", speedup));
+        }
+    }
+
+    /**
+     * Tokens válidos por uma hora, com jti distintos (o Bloom filter de
+     * revogações é consultado com chaves diferentes)
+     */
+    private static List<String> tokens(UnaryOperator<JwtBuilder> signer) {
+        List<String> tokens = new ArrayList<>(TOKEN_POOL_SIZE);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < TOKEN_POOL_SIZE; i++) {
+            JwtBuilder builder = Jwts.builder()
+                    .id(UUID.randomUUID().toString())
+                    .subject("warm-up-" + i + "@ifoodclone.invalid")
+                    .claim("userId", -1L - i)
+                    .claim("type", "ACCESS")
+                    .claim("role", "CUSTOMER")
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + 3_600_000));
+            tokens.add(signer.apply(builder).compact());
+        }
+        return tokens;
+    }
+
+    private Timer timer(String phase) {
+        return Timer.builder("gateway.warmup.duration")
+                .description("Duration of each warm-up phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private static double mean(long[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return (double) sum / (to - from);
+    }
+}
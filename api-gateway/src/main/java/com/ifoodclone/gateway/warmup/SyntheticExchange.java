@@ -0,0 +1,110 @@
+package com.ifoodclone.gateway.warmup;
+
+import java.net.URI;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exchange em memória para passar requisições sintéticas pelos filtros do
+ * gateway sem rede (o MockServerHttpRequest do spring-test não está no
+ * classpath de runtime). O corpo da resposta é descartado.
+ */
+final class SyntheticExchange {
+
+    private static final ServerCodecConfigurer CODECS = ServerCodecConfigurer.create();
+
+    private SyntheticExchange() {
+        // Classe utilitária
+    }
+
+    static ServerWebExchange get(String path, HttpHeaders headers) {
+        return new DefaultServerWebExchange(
+                new Request(URI.create("http://localhost" + path), headers),
+                new Response(),
+                new DefaultWebSessionManager(),
+                CODECS,
+                new AcceptHeaderLocaleContextResolver());
+    }
+
+    private static final class Request extends AbstractServerHttpRequest {
+
+        Request(URI uri, HttpHeaders headers) {
+            super(HttpMethod.GET, uri, null, headers);
+        }
+
+        @Override
+        protected MultiValueMap<String, HttpCookie> initCookies() {
+            return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        protected SslInfo initSslInfo() {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getNativeRequest() {
+            return (T) this;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.empty();
+        }
+    }
+
+    private static final class Response extends AbstractServerHttpResponse {
+
+        Response() {
+            super(DefaultDataBufferFactory.sharedInstance);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getNativeResponse() {
+            return (T) this;
+        }
+
+        @Override
+        protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+        }
+
+        @Override
+        protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return Flux.from(body).concatMap(Flux::from).doOnNext(DataBufferUtils::release).then();
+        }
+
+        @Override
+        protected void applyStatusCode() {
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+    }
+}
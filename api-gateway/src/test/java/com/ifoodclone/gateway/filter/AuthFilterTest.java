@@ -2,6 +2,7 @@ package com.ifoodclone.gateway.filter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -10,10 +11,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
 import java.util.Date;
+import java.util.Map;
 
 import javax.crypto.SecretKey;
 
+import com.ifoodclone.gateway.revocation.TokenRevocationList;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -30,6 +35,7 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import reactor.core.publisher.Mono;
@@ -147,6 +153,16 @@ class AuthFilterTest {
         invalidToken = "invalid.jwt.token";
     }
 
+    private static String es256Token(KeyPair keyPair, String keyId) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject("321")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+    }
+
     @Nested
     @DisplayName("Authentication Success Tests")
     class AuthenticationSuccessTests {
@@ -243,12 +259,78 @@ class AuthFilterTest {
             verify(requestBuilder).header("X-User-Authorities", "ROLE_ADMIN,ROLE_USER");
             verify(requestBuilder).header("X-Authenticated", "true");
         }
+
+        @Test
+        @DisplayName("Should verify kid tokens against the key lookup given to the filter")
+        void shouldVerifyKidTokensAgainstGivenKeyLookup() {
+            // Given
+            KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+            Map<String, JwtParser> keys = Map.of("warm-up", Jwts.parser().verifyWith(keyPair.getPublic()).build());
+            when(headers.containsKey(HttpHeaders.AUTHORIZATION)).thenReturn(true);
+            when(headers.getFirst(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + es256Token(keyPair, "warm-up"));
+
+            GatewayFilter filter = authFilter.apply(config, keys::get);
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            verify(chain).filter(any(ServerWebExchange.class));
+            verify(requestBuilder).header("X-User-Id", "321");
+        }
     }
 
     @Nested
     @DisplayName("Authentication Failure Tests")
     class AuthenticationFailureTests {
 
+        @Test
+        @DisplayName("Should reject token present in the revocation list")
+        void shouldRejectRevokedToken() {
+            // Given
+            TokenRevocationList revocationList = mock(TokenRevocationList.class);
+            when(revocationList.isRevoked(any(), anyString(), anyLong())).thenReturn(true);
+            ReflectionTestUtils.setField(authFilter, "revocationList", revocationList);
+
+            when(headers.containsKey(HttpHeaders.AUTHORIZATION)).thenReturn(true);
+            when(headers.getFirst(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + validToken);
+            setupErrorResponse();
+
+            GatewayFilter filter = authFilter.apply(config);
+
+            // When
+            Mono<Void> result = filter.filter(exchange, chain);
+
+            // Then
+            assertThat(result).isNotNull();
+            result.block(); // Execute the filter
+
+            verify(response).setStatusCode(HttpStatus.UNAUTHORIZED);
+            verify(chain, never()).filter(any(ServerWebExchange.class));
+        }
+
+        @Test
+        @DisplayName("Should not trust a key given to another filter instance")
+        void shouldNotTrustKeyGivenToAnotherFilter() {
+            // Given: a warm-up filter trusts the key, the route filter does not
+            KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+            Map<String, JwtParser> keys = Map.of("warm-up", Jwts.parser().verifyWith(keyPair.getPublic()).build());
+            authFilter.apply(config, keys::get);
+
+            when(headers.containsKey(HttpHeaders.AUTHORIZATION)).thenReturn(true);
+            when(headers.getFirst(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + es256Token(keyPair, "warm-up"));
+            setupErrorResponse();
+
+            GatewayFilter filter = authFilter.apply(config);
+
+            // When
+            filter.filter(exchange, chain).block();
+
+            // Then
+            verify(response).setStatusCode(HttpStatus.UNAUTHORIZED);
+            verify(chain, never()).filter(any(ServerWebExchange.class));
+        }
+
         @Test
         @DisplayName("Should reject request without authorization header")
         void shouldRejectRequestWithoutAuthorizationHeader() {
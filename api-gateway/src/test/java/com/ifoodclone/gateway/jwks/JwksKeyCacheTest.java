@@ -0,0 +1,103 @@
+package com.ifoodclone.gateway.jwks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.jsonwebtoken.Jwts;
+
+@DisplayName("JWKS Key Cache Tests")
+class JwksKeyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JwksKeyCache keyCache;
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyCache = new JwksKeyCache(WebClient.builder(), "http://localhost:0/.well-known/jwks.json",
+                Duration.ofMinutes(5), Duration.ofHours(1));
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("Should verify tokens signed with a key published in the JWKS")
+    void shouldVerifyTokensWithPublishedKey() {
+        // Given
+        keyCache.update(jwkSet("key-1", (ECPublicKey) keyPair.getPublic()));
+        String token = Jwts.builder()
+                .header().keyId("key-1").and()
+                .subject("42")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+
+        // When
+        var claims = keyCache.parserFor("key-1").parseSignedClaims(token).getPayload();
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("Should return no parser for an unknown key id")
+    void shouldReturnNullForUnknownKeyId() {
+        // Given
+        keyCache.update(jwkSet("key-1", (ECPublicKey) keyPair.getPublic()));
+
+        // Then
+        assertThat(keyCache.parserFor("key-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep current keys when the JWKS has no usable key")
+    void shouldKeepKeysWhenResponseIsEmpty() {
+        // Given
+        keyCache.update(jwkSet("key-1", (ECPublicKey) keyPair.getPublic()));
+
+        // When
+        keyCache.update(objectMapper.createObjectNode().set("keys", objectMapper.createArrayNode()));
+
+        // Then
+        assertThat(keyCache.parserFor("key-1")).isNotNull();
+    }
+
+    private ObjectNode jwkSet(String keyId, ECPublicKey publicKey) {
+        ObjectNode jwk = objectMapper.createObjectNode()
+                .put("kty", "EC")
+                .put("crv", "P-256")
+                .put("kid", keyId)
+                .put("x", coordinate(publicKey.getW().getAffineX()))
+                .put("y", coordinate(publicKey.getW().getAffineY()));
+        ObjectNode set = objectMapper.createObjectNode();
+        set.putArray("keys").add(jwk);
+        return set;
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
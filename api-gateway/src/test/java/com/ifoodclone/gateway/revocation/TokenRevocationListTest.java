@@ -0,0 +1,92 @@
+package com.ifoodclone.gateway.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation List Tests")
+class TokenRevocationListTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(redisTemplate, 1000, 0.001, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should revoke a single token by its id")
+    void shouldRevokeTokenById() {
+        // Given
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        revocationList.apply(expiresAt + "|jti|abc-123");
+
+        // Then
+        assertThat(revocationList.isRevoked("abc-123", "1", System.currentTimeMillis())).isTrue();
+        assertThat(revocationList.isRevoked("other", "1", System.currentTimeMillis())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke only user tokens issued before the revocation")
+    void shouldRevokeUserTokensIssuedBefore() {
+        // Given
+        long now = System.currentTimeMillis();
+        revocationList.apply(now + 60_000, "user|42|" + now);
+
+        // Then
+        assertThat(revocationList.isRevoked("t1", "42", now - 1000)).isTrue();
+        assertThat(revocationList.isRevoked("t2", "42", now)).isFalse();
+        assertThat(revocationList.isRevoked("t3", "43", now - 1000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke a token issued earlier in the same second as the revocation")
+    void shouldRevokeTokenIssuedInSameSecond() {
+        // Given: o auth-service publica o notBefore arredondado para o próximo segundo
+        long revokedAt = 1_767_225_600_400L;
+        long notBefore = 1_767_225_601_000L;
+        revocationList.apply(System.currentTimeMillis() + 60_000, "user|42|" + notBefore);
+
+        // Then: iat do JWT truncado para o segundo da revogação
+        assertThat(revocationList.isRevoked("t1", "42", revokedAt - (revokedAt % 1000))).isTrue();
+        assertThat(revocationList.isRevoked("t2", "42", notBefore)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries on prune")
+    void shouldDropExpiredEntriesOnPrune() {
+        // Given
+        revocationList.apply(System.currentTimeMillis() + 60_000, "jti|live");
+        revocationList.apply(System.currentTimeMillis() - 1, "jti|expired");
+
+        // When
+        revocationList.prune();
+
+        // Then
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked("live", null, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed messages")
+    void shouldIgnoreMalformedMessages() {
+        // When
+        revocationList.apply("not-a-revocation");
+        revocationList.apply("abc|jti|x");
+
+        // Then
+        assertThat(revocationList.size()).isZero();
+    }
+}
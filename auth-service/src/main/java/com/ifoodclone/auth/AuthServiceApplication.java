@@ -2,13 +2,25 @@ package com.ifoodclone.auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
+@EnableAsync
 public class AuthServiceApplication {
 
+    /**
+     * Passos da inicialização guardados para o endpoint /actuator/startup
+     */
+    static final int STARTUP_TIMELINE_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(AuthServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(AuthServiceApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+        application.run(args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.ifoodclone.auth.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.ifoodclone.auth.service.EmailAvailabilityIndex;
+import com.ifoodclone.auth.service.LoginBookkeepingBuffer;
+import com.ifoodclone.auth.service.SessionService;
+import com.ifoodclone.auth.service.UserSnapshotCache;
+import com.netflix.discovery.EurekaClient;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Hooks de checkpoint/restore (CRaC). Só têm efeito em JVMs com CRaC; nas
+ * demais o org.crac é um no-op.
+ *
+ * O Spring (Boot 3.2) já para e reinicia os beans com ciclo de vida em volta
+ * do checkpoint: Tomcat, pool do Hikari, conexões do Lettuce e o registro no
+ * Eureka. Aqui fica o que não tem ciclo de vida:
+ * <ul>
+ * <li>antes: grava o buffer de login, esvazia os spans pendentes e fecha o
+ * exporter OTLP, e desliga o cliente Eureka (threads e conexões HTTP);</li>
+ * <li>depois: reabre o exporter, recria o cliente Eureka pelo refresh scope
+ * (o que também refaz o registro), esvazia os caches locais e recarrega o
+ * índice de emails, já que a imagem pode ser bem mais antiga que o banco.</li>
+ * </ul>
+ *
+ * O registro acontece no ContextRefreshedEvent, depois do lifecycle processor
+ * do Spring: assim estes hooks rodam antes dele no checkpoint (com banco e
+ * Redis ainda abertos) e depois dele no restore.
+ */
+@Component
+public class CheckpointRestoreHooks implements Resource {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointRestoreHooks.class);
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+
+    private final LoginBookkeepingBuffer loginBookkeepingBuffer;
+    private final UserSnapshotCache userSnapshotCache;
+    private final SessionService sessionService;
+    private final EmailAvailabilityIndex emailAvailabilityIndex;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<SdkTracerProvider> tracerProvider;
+    private final ObjectProvider<SpanExporter> spanExporters;
+    private final ObjectProvider<EurekaClient> eurekaClient;
+    private final ObjectProvider<RefreshScope> refreshScope;
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    public CheckpointRestoreHooks(LoginBookkeepingBuffer loginBookkeepingBuffer, UserSnapshotCache userSnapshotCache,
+            SessionService sessionService, EmailAvailabilityIndex emailAvailabilityIndex, CacheManager cacheManager,
+            ObjectProvider<SdkTracerProvider> tracerProvider, ObjectProvider<SpanExporter> spanExporters,
+            ObjectProvider<EurekaClient> eurekaClient, ObjectProvider<RefreshScope> refreshScope) {
+        this.loginBookkeepingBuffer = loginBookkeepingBuffer;
+        this.userSnapshotCache = userSnapshotCache;
+        this.sessionService = sessionService;
+        this.emailAvailabilityIndex = emailAvailabilityIndex;
+        this.cacheManager = cacheManager;
+        this.tracerProvider = tracerProvider;
+        this.spanExporters = spanExporters;
+        this.eurekaClient = eurekaClient;
+        this.refreshScope = refreshScope;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void register() {
+        // Contextos filhos também publicam ContextRefreshedEvent
+        if (registered.compareAndSet(false, true)) {
+            Core.getGlobalContext().register(this);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        logger.info("Preparando checkpoint CRaC");
+        loginBookkeepingBuffer.flush();
+
+        SdkTracerProvider provider = tracerProvider.getIfAvailable();
+        if (provider != null) {
+            provider.forceFlush().join(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        spanExporters.orderedStream()
+                .filter(CheckpointableSpanExporter.class::isInstance)
+                .map(CheckpointableSpanExporter.class::cast)
+                .forEach(exporter -> exporter.suspend().join(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        EurekaClient client = eurekaClient.getIfAvailable();
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        long start = System.currentTimeMillis();
+        spanExporters.orderedStream()
+                .filter(CheckpointableSpanExporter.class::isInstance)
+                .map(CheckpointableSpanExporter.class::cast)
+                .forEach(CheckpointableSpanExporter::resume);
+
+        RefreshScope scope = refreshScope.getIfAvailable();
+        if (scope != null && eurekaClient.getIfAvailable() != null) {
+            scope.refresh("eurekaClient");
+        }
+
+        userSnapshotCache.invalidateAll();
+        sessionService.invalidateAll();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        // Em background: até terminar, o registro consulta o banco
+        Thread.ofVirtual().name("email-index-reload").start(emailAvailabilityIndex::reload);
+
+        logger.info("Restore CRaC concluído em {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ifoodclone.auth.config;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Exporter OTLP que pode ser fechado e reaberto: o SdkTracerProvider guarda a
+ * referência a este objeto, e só o exporter interno (com as conexões HTTP/gRPC)
+ * é trocado em volta de um checkpoint CRaC. Spans exportados enquanto suspenso
+ * são descartados.
+ */
+class CheckpointableSpanExporter implements SpanExporter {
+
+    private final Supplier<SpanExporter> factory;
+    private volatile SpanExporter delegate;
+    private volatile boolean suspended;
+
+    CheckpointableSpanExporter(SpanExporter delegate, Supplier<SpanExporter> factory) {
+        this.delegate = delegate;
+        this.factory = factory;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        if (suspended) {
+            return CompletableResultCode.ofFailure();
+        }
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return suspended ? CompletableResultCode.ofSuccess() : delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    /**
+     * Fecha o exporter interno e as conexões dele
+     */
+    CompletableResultCode suspend() {
+        suspended = true;
+        return delegate.shutdown();
+    }
+
+    /**
+     * Cria um exporter interno novo com a mesma configuração
+     */
+    void resume() {
+        delegate = factory.get();
+        suspended = false;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ifoodclone.auth.config;
 
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.ifoodclone.common.RequestIds;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,12 +11,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
 import io.micrometer.tracing.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
- * Interceptor para gerenciar Correlation IDs em requests distribuídos
+ * Interceptor para gerenciar Correlation IDs em requests distribuídos.
+ *
+ * Sem headers, reaproveita o trace-id e o span-id do span do servidor; só
+ * gera IDs novos (ThreadLocalRandom, formato W3C) quando não há trace ativo.
+ * Registra uma única linha de acesso ao final, apenas para requests
+ * amostrados ou com erro.
  */
 @Component
 public class CorrelationIdInterceptor implements HandlerInterceptor {
@@ -26,6 +34,8 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
     public static final String REQUEST_ID_HEADER = "X-Request-ID";
     public static final String REQUEST_ID_MDC_KEY = "requestId";
 
+    private static final String START_NANOS_ATTRIBUTE = CorrelationIdInterceptor.class.getName() + ".start";
+
     private final Tracer tracer;
 
     public CorrelationIdInterceptor(Tracer tracer) {
@@ -34,11 +44,22 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        // Obter ou gerar Correlation ID
-        String correlationId = getOrGenerateCorrelationId(request);
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+
+        Span currentSpan = tracer.currentSpan();
+        TraceContext context = currentSpan != null ? currentSpan.context() : null;
+
+        // Obter Correlation ID do header ou do trace atual
+        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = context != null ? context.traceId() : RequestIds.newTraceId();
+        }
 
-        // Obter ou gerar Request ID (único para cada request)
-        String requestId = getOrGenerateRequestId(request);
+        // Request ID: único por request, o próprio span-id do servidor quando existe
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank()) {
+            requestId = context != null ? context.spanId() : RequestIds.newSpanId();
+        }
 
         // Adicionar aos headers de resposta
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
@@ -48,88 +69,39 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
         MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
         MDC.put(REQUEST_ID_MDC_KEY, requestId);
 
-        // Adicionar ao span atual se existir
-        Span currentSpan = tracer.nextSpan();
-        if (currentSpan != null) {
+        // Adicionar ao span do servidor (método, URL e status já vêm da observação HTTP)
+        if (currentSpan != null && isSampled(context)) {
             currentSpan.tag("correlation.id", correlationId);
             currentSpan.tag("request.id", requestId);
-            currentSpan.tag("http.method", request.getMethod());
-            currentSpan.tag("http.url", request.getRequestURL().toString());
-            currentSpan.tag("http.user_agent", request.getHeader("User-Agent"));
-            currentSpan.tag("client.ip", getClientIp(request));
         }
 
-        logger.info("Request started - Method: {} URL: {} CorrelationID: {} RequestID: {}",
-                request.getMethod(), request.getRequestURL(), correlationId, requestId);
-
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
             Object handler, Exception ex) {
-        String correlationId = MDC.get(CORRELATION_ID_MDC_KEY);
-        String requestId = MDC.get(REQUEST_ID_MDC_KEY);
-
-        logger.info("Request completed - Status: {} CorrelationID: {} RequestID: {} Exception: {}",
-                response.getStatus(), correlationId, requestId, ex != null ? ex.getMessage() : "none");
+        int status = response.getStatus();
+        if (logger.isInfoEnabled() && (ex != null || status >= 500 || isSampled(currentContext()))) {
+            Object start = request.getAttribute(START_NANOS_ATTRIBUTE);
+            long elapsedMs = start instanceof Long startNanos
+                    ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+                    : -1;
+            logger.info("{} {} {} {}ms{}", request.getMethod(), request.getRequestURI(), status, elapsedMs,
+                    ex != null ? " " + ex.getClass().getSimpleName() : "");
+        }
 
         // Limpar MDC
         MDC.remove(CORRELATION_ID_MDC_KEY);
         MDC.remove(REQUEST_ID_MDC_KEY);
     }
 
-    private String getOrGenerateCorrelationId(HttpServletRequest request) {
-        // Verificar se já existe um Correlation ID no header
-        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-
-        if (correlationId == null || correlationId.trim().isEmpty()) {
-            // Gerar novo Correlation ID
-            correlationId = generateCorrelationId();
-            logger.debug("Generated new correlation ID: {}", correlationId);
-        } else {
-            logger.debug("Using existing correlation ID from header: {}", correlationId);
-        }
-
-        return correlationId;
+    private TraceContext currentContext() {
+        Span currentSpan = tracer.currentSpan();
+        return currentSpan != null ? currentSpan.context() : null;
     }
 
-    private String getOrGenerateRequestId(HttpServletRequest request) {
-        // Verificar se já existe um Request ID no header
-        String requestId = request.getHeader(REQUEST_ID_HEADER);
-
-        if (requestId == null || requestId.trim().isEmpty()) {
-            // Gerar novo Request ID (sempre único para cada request)
-            requestId = generateRequestId();
-            logger.debug("Generated new request ID: {}", requestId);
-        } else {
-            logger.debug("Using existing request ID from header: {}", requestId);
-        }
-
-        return requestId;
-    }
-
-    private String generateCorrelationId() {
-        // Formato: timestamp-uuid (mais legível)
-        return System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
-    }
-
-    private String generateRequestId() {
-        // Formato: req-timestamp-random
-        return "req-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
-    }
-
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
+    private static boolean isSampled(TraceContext context) {
+        return context != null && Boolean.TRUE.equals(context.sampled());
     }
-}
\ No newline at end of file
+}
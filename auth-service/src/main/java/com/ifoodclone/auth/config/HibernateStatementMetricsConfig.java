@@ -0,0 +1,21 @@
+package com.ifoodclone.auth.config;
+
+import com.ifoodclone.auth.service.SqlStatementCounter;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra o {@link SqlStatementCounter} no Hibernate para medir comandos SQL
+ * por login (auth.login.db.statements)
+ */
+@Configuration
+public class HibernateStatementMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
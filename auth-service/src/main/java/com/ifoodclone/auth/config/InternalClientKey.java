@@ -0,0 +1,33 @@
+package com.ifoodclone.auth.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chave compartilhada dos serviços internos (app.introspection.client-secret),
+ * enviada no header X-Introspection-Key. Usada pela introspecção e pela
+ * consulta de usuários em lote, inclusive em @PreAuthorize
+ * ("@internalClientKey.matches(#clientKey)").
+ */
+@Component
+public class InternalClientKey {
+
+    public static final String HEADER = "X-Introspection-Key";
+
+    private final byte[] clientSecret;
+
+    public InternalClientKey(@Value("${app.introspection.client-secret}") String clientSecret) {
+        this.clientSecret = clientSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Comparação em tempo constante; segredo vazio não autoriza ninguém
+     */
+    public boolean matches(String clientKey) {
+        return clientKey != null && clientSecret.length > 0
+                && MessageDigest.isEqual(clientSecret, clientKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
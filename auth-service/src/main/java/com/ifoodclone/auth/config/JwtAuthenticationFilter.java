@@ -82,6 +82,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.equals("/api/v1/auth/password/reset") ||
                 path.equals("/api/v1/auth/password/reset/confirm") ||
                 path.equals("/api/v1/auth/email/verify") ||
+                path.equals("/.well-known/jwks.json") ||
                 path.startsWith("/actuator/health") ||
                 path.startsWith("/actuator/info") ||
                 path.startsWith("/swagger-ui") ||
@@ -0,0 +1,59 @@
+package com.ifoodclone.auth.config;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas do pipeline de logs. O volume por nível já sai em logback.events
+ * (auto-configuração do Spring Boot); aqui expomos a ocupação das filas dos
+ * AsyncAppender, que indica quando eventos começam a ser descartados.
+ */
+@Configuration
+public class LoggingMetricsConfig {
+
+    @Bean
+    public MeterBinder asyncAppenderMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            for (AsyncAppenderBase<ILoggingEvent> appender : asyncAppenders(context).values()) {
+                Gauge.builder("logging.async.queue.size", appender, AsyncAppenderBase::getNumberOfElementsInQueue)
+                        .description("Eventos aguardando o appender de destino")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("logging.async.queue.remaining", appender, AsyncAppenderBase::getRemainingCapacity)
+                        .description("Capacidade livre da fila; perto de zero, eventos são descartados")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    private static Map<AsyncAppenderBase<ILoggingEvent>, AsyncAppenderBase<ILoggingEvent>> asyncAppenders(
+            LoggerContext context) {
+        Map<AsyncAppenderBase<ILoggingEvent>, AsyncAppenderBase<ILoggingEvent>> found = new IdentityHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof AsyncAppenderBase<ILoggingEvent> async) {
+                    found.put(async, async);
+                }
+            }
+        }
+        return found;
+    }
+}
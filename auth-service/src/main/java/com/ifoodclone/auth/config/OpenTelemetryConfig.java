@@ -1,12 +1,53 @@
 package com.ifoodclone.auth.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
 /**
  * OpenTelemetry será configurado automaticamente pelo Spring Boot Starter
  * Configurações podem ser feitas via application.yml
  */
 @Configuration
 public class OpenTelemetryConfig {
-    // Configuração automática via Spring Boot
-}
\ No newline at end of file
+
+    /**
+     * Amostragem baseada no pai: requisições que chegam com trace amostrado
+     * (gateway) são sempre gravadas, as não amostradas nunca; só as raízes
+     * locais usam a probabilidade configurada. Spans não amostrados ficam
+     * não-gravando, e o código evita montar eventos e atributos para eles.
+     */
+    @Bean
+    public Sampler otelSampler(@Value("${management.tracing.sampling.probability:0.1}") double probability) {
+        return Sampler.parentBasedBuilder(Sampler.traceIdRatioBased(probability))
+                .setRemoteParentSampled(Sampler.alwaysOn())
+                .setRemoteParentNotSampled(Sampler.alwaysOff())
+                .build();
+    }
+
+    /**
+     * Envolve o exporter OTLP do Spring Boot para que os hooks de CRaC possam
+     * fechar as conexões antes do checkpoint e reabri-las no restore
+     * (ver CheckpointRestoreHooks)
+     */
+    @Bean
+    public static BeanPostProcessor checkpointableSpanExporter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof OtlpHttpSpanExporter exporter) {
+                    return new CheckpointableSpanExporter(exporter, () -> exporter.toBuilder().build());
+                }
+                if (bean instanceof OtlpGrpcSpanExporter exporter) {
+                    return new CheckpointableSpanExporter(exporter, () -> exporter.toBuilder().build());
+                }
+                return bean;
+            }
+        };
+    }
+}
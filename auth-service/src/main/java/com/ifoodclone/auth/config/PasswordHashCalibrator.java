@@ -0,0 +1,58 @@
+package com.ifoodclone.auth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Calibra o custo do BCrypt para um tempo-alvo de hash na máquina atual.
+ *
+ * Cada incremento no custo dobra o trabalho, então basta medir o custo mínimo
+ * e extrapolar: custo = min + floor(log2(alvo / tempoMedido)).
+ */
+public final class PasswordHashCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "Calibration#Sample1";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private PasswordHashCalibrator() {
+        // Classe utilitária
+    }
+
+    /**
+     * Mede o custo mínimo e retorna o maior custo cujo hash estimado não passa
+     * do tempo-alvo, limitado ao intervalo [minCost, maxCost].
+     */
+    public static int calibrateBCryptCost(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+        double measuredMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+
+        int cost = costForTarget(measuredMillis, targetMillis, minCost, maxCost);
+        logger.info("BCrypt calibrado: custo {} ({}ms no custo {}, alvo {}ms)",
+                cost, String.format("%.1f", measuredMillis), minCost, targetMillis);
+        return cost;
+    }
+
+    /**
+     * Extrapola o custo a partir do tempo medido no custo mínimo
+     */
+    static int costForTarget(double measuredMillis, long targetMillis, int minCost, int maxCost) {
+        if (measuredMillis <= 0 || targetMillis <= measuredMillis) {
+            return minCost;
+        }
+        int extra = (int) Math.floor(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        return Math.max(minCost, Math.min(maxCost, minCost + extra));
+    }
+}
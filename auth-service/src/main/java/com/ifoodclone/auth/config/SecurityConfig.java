@@ -1,7 +1,11 @@
 package com.ifoodclone.auth.config;
 
 import java.util.Arrays;
+import java.util.Map;
 
+import com.ifoodclone.auth.service.AuthMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +18,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -39,9 +44,28 @@ public class SecurityConfig {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
+    /**
+     * Encoder delegante: novos hashes usam "{bcrypt}" com o custo configurado
+     * (ou calibrado no startup quando cost = 0). Hashes legados sem prefixo
+     * continuam validando e são reescritos no próximo login bem-sucedido via
+     * CustomUserDetailsService#updatePassword.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.hash.cost:12}") int cost,
+            @Value("${app.security.password.hash.target-ms:250}") long targetMs,
+            @Value("${app.security.password.hash.min-cost:12}") int minCost,
+            @Value("${app.security.password.hash.max-cost:15}") int maxCost,
+            AuthMetrics authMetrics) {
+
+        int effectiveCost = cost > 0
+                ? cost
+                : PasswordHashCalibrator.calibrateBCryptCost(targetMs, minCost, maxCost);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(effectiveCost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new TimedPasswordEncoder(encoder, authMetrics);
     }
 
     @Bean
@@ -65,12 +89,24 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/password/reset", "/api/v1/auth/password/reset/confirm")
                         .permitAll()
                         .requestMatchers("/api/v1/auth/email/verify").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Introspecção: serviços internos se autenticam pelo X-Introspection-Key no controller
+                        .requestMatchers("/api/v1/auth/introspect", "/api/v1/auth/introspect:batch").permitAll()
+                        // Usuários em lote: X-Introspection-Key ou ADMIN, verificado no @PreAuthorize do controller
+                        .requestMatchers("/api/v1/auth/users:batchGet").permitAll()
 
                         // Development endpoints (local/dev profile only)
                         .requestMatchers("/api/dev/**").permitAll()
 
                         // Health check endpoints
-                        .requestMatchers("/actuator/health", "/actuator/info", "/actuator/metrics").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness",
+                                "/actuator/info", "/actuator/metrics").permitAll()
+
+                        // Alteração de nível de log em runtime
+                        .requestMatchers("/actuator/loggers/**").hasRole("ADMIN")
+
+                        // Linha do tempo da inicialização (perfil fast-startup)
+                        .requestMatchers("/actuator/startup").hasRole("ADMIN")
 
                         // Tracing test endpoints
                         .requestMatchers("/api/test/**", "/api/tracing/**").permitAll()
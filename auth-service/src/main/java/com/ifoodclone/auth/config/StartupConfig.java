@@ -0,0 +1,69 @@
+package com.ifoodclone.auth.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Inicialização rápida (perfil fast-startup).
+ *
+ * Em vez de spring.main.lazy-initialization global, que adiaria para a
+ * primeira requisição também os beans do caminho de login (e os jobs
+ * agendados), só os beans cujas classes começam com um dos prefixos de
+ * app.startup.lazy-bean-prefixes são marcados como lazy: springdoc e os
+ * controllers de demonstração de tracing. Beans definidos por métodos @Bean
+ * são comparados pela classe da configuração que os declara.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "app.startup.lazy-beans.enabled", havingValue = "true")
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("app.startup.lazy-bean-prefixes", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> markLazy(beanFactory, prefixes);
+    }
+
+    static int markLazy(ConfigurableListableBeanFactory beanFactory, List<String> prefixes) {
+        int count = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            String className = declaringClassName(beanFactory, definition);
+            if (className != null && !definition.isLazyInit()
+                    && prefixes.stream().anyMatch(className::startsWith)) {
+                definition.setLazyInit(true);
+                count++;
+            }
+        }
+        logger.info("{} beans não críticos marcados como lazy", count);
+        return count;
+    }
+
+    /**
+     * Classe do bean ou, para métodos @Bean, da configuração que o declara
+     */
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition.getBeanClassName() != null) {
+            return definition.getBeanClassName();
+        }
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return null;
+    }
+}
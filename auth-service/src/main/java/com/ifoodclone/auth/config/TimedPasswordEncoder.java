@@ -0,0 +1,44 @@
+package com.ifoodclone.auth.config;
+
+import com.ifoodclone.auth.service.AuthMetrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Mede o tempo de hash e de verificação de senha do encoder delegado
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthMetrics metrics;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, AuthMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            metrics.recordPasswordEncode(start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            metrics.recordPasswordMatches(start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -8,6 +8,7 @@ import com.ifoodclone.auth.service.TracingDemoService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,6 +27,7 @@ import jakarta.servlet.http.HttpServletRequest;
  */
 @RestController
 @RequestMapping("/api/tracing")
+@Profile({ "dev", "local" })
 public class AdvancedTracingController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdvancedTracingController.class);
@@ -58,7 +60,7 @@ public class AdvancedTracingController {
             Map<String, Object> validationResult = tracingDemoService.validateUser(email, operation);
 
             // Registrar métricas de sucesso
-            customMetricsService.recordValidation(true, email);
+            customMetricsService.recordValidation(true);
 
             response.put("success", true);
             response.put("data", validationResult);
@@ -70,7 +72,7 @@ public class AdvancedTracingController {
             logger.error("Validation failed for email: {}", email, e);
 
             // Registrar métricas de erro
-            customMetricsService.recordValidation(false, email);
+            customMetricsService.recordValidation(false);
 
             response.put("success", false);
             response.put("error", e.getMessage());
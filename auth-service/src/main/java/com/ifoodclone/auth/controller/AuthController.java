@@ -4,9 +4,12 @@ import java.security.Principal;
 
 import com.ifoodclone.auth.dto.AuthDto;
 import com.ifoodclone.auth.service.AuthService;
+import com.ifoodclone.auth.service.EmailAlreadyRegisteredException;
+import com.ifoodclone.auth.service.LoginThrottledException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +19,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -57,51 +61,62 @@ public class AuthController {
         Span span = tracer.spanBuilder("auth.login")
                 .setAttribute("service.name", SERVICE_NAME)
                 .setAttribute("operation", "user.login")
-                .setAttribute("user.email", request.getEmail())
                 .startSpan();
+        boolean recording = span.isRecording();
 
         try (Scope scope = span.makeCurrent()) {
             // Adicionar informações do device e IP
             request.setDeviceInfo(extractDeviceInfo(httpRequest));
             request.setIpAddress(extractIpAddress(httpRequest));
 
-            // Log de tentativa de login
+            // Dados do cliente para o span
             String userAgent = httpRequest.getHeader("User-Agent");
-            span.addEvent("login.started")
-                    .setAttribute("client.ip", request.getIpAddress())
-                    .setAttribute("client.user_agent", userAgent != null ? userAgent : "unknown");
-
-            logger.info("Tentativa de login - Email: {}, IP: {}, UserAgent: {}",
-                    request.getEmail(), request.getIpAddress(),
-                    userAgent != null ? userAgent : "unknown");
+            if (recording) {
+                span.addEvent("login.started")
+                        .setAttribute("client.ip", request.getIpAddress())
+                        .setAttribute("client.user_agent", userAgent != null ? userAgent : "unknown");
+            }
 
             try {
-                span.addEvent("auth.validation.started");
                 AuthDto.LoginResponse response = authService.login(request);
 
                 // Log de login bem-sucedido
-                span.addEvent("login.completed")
-                        .setAttribute("result.status", "success")
-                        .setAttribute("user.role", response.getUser().getRole().toString());
+                if (recording) {
+                    span.addEvent("login.completed")
+                            .setAttribute("result.status", "success")
+                            .setAttribute("user.role", response.getUser().getRole().toString());
+                }
                 span.setStatus(StatusCode.OK);
 
-                logger.info("Login realizado com sucesso - Email: {}, Role: {}, IP: {}",
-                        request.getEmail(), response.getUser().getRole(), request.getIpAddress());
+                logger.debug("Login realizado com sucesso - ID: {}, Role: {}",
+                        response.getUser().getId(), response.getUser().getRole());
 
                 return ResponseEntity.ok(
                         AuthDto.ApiResponse.success("Login realizado com sucesso", response));
 
+            } catch (LoginThrottledException ex) {
+                if (recording) {
+                    span.addEvent("login.throttled")
+                            .setAttribute("result.status", "throttled");
+                }
+                logger.debug("Login limitado - IP: {}, retry em {}s", request.getIpAddress(), ex.getRetryAfterSeconds());
+
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                        .body(AuthDto.ApiResponse.error("Falha no login", ex.getMessage()));
+
             } catch (Exception ex) {
                 // Instrumentação de erro
-                span.recordException(ex)
-                        .setStatus(StatusCode.ERROR, "Login failed: " + ex.getMessage())
-                        .addEvent("login.failed")
-                        .setAttribute("error.type", ex.getClass().getSimpleName())
-                        .setAttribute("error.message", ex.getMessage());
+                if (recording) {
+                    span.recordException(ex)
+                            .setStatus(StatusCode.ERROR, "Login failed: " + ex.getMessage())
+                            .addEvent("login.failed")
+                            .setAttribute("error.type", ex.getClass().getSimpleName())
+                            .setAttribute("error.message", ex.getMessage());
+                }
 
                 // Log de falha no login
-                logger.warn("Falha no login - Email: {}, Erro: {}, IP: {}",
-                        request.getEmail(), ex.getMessage(), request.getIpAddress());
+                logger.debug("Falha no login - Erro: {}, IP: {}", ex.getMessage(), request.getIpAddress());
 
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(AuthDto.ApiResponse.error("Falha no login", ex.getMessage()));
@@ -122,7 +137,6 @@ public class AuthController {
         Span span = tracer.spanBuilder("auth.register")
                 .setAttribute("service.name", SERVICE_NAME)
                 .setAttribute("operation", "user.register")
-                .setAttribute("user.email", request.getEmail())
                 .setAttribute("user.role", request.getRole().toString())
                 .startSpan();
 
@@ -131,13 +145,11 @@ public class AuthController {
 
             // Log de início da requisição
             span.addEvent("registration.started");
-            logger.info("Iniciando registro de usuário - Email: {}, Role: {}, IP: {}",
-                    request.getEmail(), request.getRole(), ipAddress);
+            logger.info("Iniciando registro de usuário - Role: {}, IP: {}", request.getRole(), ipAddress);
 
             try {
                 // Validação adicional para log
-                logger.debug("Validando dados do usuário: email={}, firstName={}, role={}",
-                        request.getEmail(), request.getFirstName(), request.getRole());
+                logger.debug("Validando dados do usuário: role={}", request.getRole());
 
                 span.addEvent("user.validation.completed");
                 AuthDto.UserInfo userInfo = authService.register(request);
@@ -148,12 +160,20 @@ public class AuthController {
                         .setAttribute("user.id", userInfo.getId());
                 span.setStatus(StatusCode.OK);
 
-                logger.info("Usuário registrado com sucesso - ID: {}, Email: {}, Role: {}, IP: {}",
-                        userInfo.getId(), userInfo.getEmail(), userInfo.getRole(), ipAddress);
+                logger.info("Usuário registrado com sucesso - ID: {}, Role: {}, IP: {}",
+                        userInfo.getId(), userInfo.getRole(), ipAddress);
 
                 return ResponseEntity.status(HttpStatus.CREATED)
                         .body(AuthDto.ApiResponse.success("Usuário registrado com sucesso", userInfo));
 
+            } catch (EmailAlreadyRegisteredException ex) {
+                span.addEvent("registration.failed")
+                        .setAttribute("result.status", "conflict");
+                logger.info("Registro recusado, email já cadastrado - IP: {}", ipAddress);
+
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(AuthDto.ApiResponse.error("Falha no registro", ex.getMessage()));
+
             } catch (Exception ex) {
                 // Instrumentação de erro
                 span.recordException(ex)
@@ -163,8 +183,7 @@ public class AuthController {
                         .setAttribute("error.message", ex.getMessage());
 
                 // Log de erro
-                logger.error("Falha no registro de usuário - Email: {}, Erro: {}, IP: {}",
-                        request.getEmail(), ex.getMessage(), ipAddress, ex);
+                logger.error("Falha no registro de usuário - Erro: {}, IP: {}", ex.getMessage(), ipAddress, ex);
 
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(AuthDto.ApiResponse.error("Falha no registro", ex.getMessage()));
@@ -202,11 +221,15 @@ public class AuthController {
     @PostMapping("/logout")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AuthDto.ApiResponse<Void>> logout(
-            @RequestBody(required = false) AuthDto.RefreshTokenRequest request) {
+            @RequestBody(required = false) AuthDto.RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
 
         try {
             String refreshToken = request != null ? request.getRefreshToken() : null;
-            authService.logout(refreshToken);
+            String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                    ? authorization.substring(7)
+                    : null;
+            authService.logout(refreshToken, accessToken);
 
             return ResponseEntity.ok(
                     AuthDto.ApiResponse.success("Logout realizado com sucesso", null));
@@ -364,19 +387,15 @@ public class AuthController {
     }
 
     /**
-     * Extrair endereço IP
+     * Extrair endereço IP (chave do LoginThrottle).
+     *
+     * Os headers não são lidos aqui: o RemoteIpValve do Tomcat
+     * (server.forward-headers-strategy: native) percorre o X-Forwarded-For da
+     * direita para a esquerda, descartando só os proxies confiáveis, e põe o
+     * resultado em getRemoteAddr(). Entradas forjadas pelo cliente à esquerda
+     * são ignoradas.
      */
     private String extractIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
         return request.getRemoteAddr();
     }
 }
\ No newline at end of file
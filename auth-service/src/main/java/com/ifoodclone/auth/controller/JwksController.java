@@ -0,0 +1,38 @@
+package com.ifoodclone.auth.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.ifoodclone.auth.service.JwtSigningKeys;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Chaves públicas de verificação dos JWT (JWK Set), para o gateway e outros
+ * serviços validarem tokens localmente
+ */
+@Tag(name = "JWKS", description = "Public keys used to verify issued tokens")
+@RestController
+public class JwksController {
+
+    private final ObjectProvider<JwtSigningKeys> signingKeys;
+
+    public JwksController(ObjectProvider<JwtSigningKeys> signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        JwtSigningKeys keys = signingKeys.getIfAvailable();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(keys != null ? keys.jwks() : Map.of("keys", List.of()));
+    }
+}
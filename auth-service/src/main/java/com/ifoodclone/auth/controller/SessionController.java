@@ -0,0 +1,102 @@
+package com.ifoodclone.auth.controller;
+
+import java.util.List;
+
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.service.SessionService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Sessões ativas do usuário (um refresh token por login/device) e visão
+ * paginada de todas as sessões para o painel de segurança
+ */
+@Tag(name = "Sessions", description = "Active session listing and device management")
+@RestController
+@RequestMapping("/api/v1/auth")
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    public SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @GetMapping("/sessions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AuthDto.ApiResponse<List<AuthDto.SessionInfo>>> listSessions() {
+        try {
+            return ResponseEntity.ok(AuthDto.ApiResponse.success("Sessões recuperadas com sucesso",
+                    sessionService.listSessions(getCurrentUserId())));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha ao recuperar sessões", ex.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AuthDto.ApiResponse<Void>> revokeSession(@PathVariable String sessionId) {
+        try {
+            sessionService.revokeSession(getCurrentUserId(), sessionId);
+            return ResponseEntity.ok(AuthDto.ApiResponse.success("Sessão revogada com sucesso", null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(AuthDto.ApiResponse.error("Falha ao revogar sessão", ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/sessions/revoke-device")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AuthDto.ApiResponse<Void>> revokeDevice(
+            @Valid @RequestBody AuthDto.RevokeDeviceRequest request) {
+        try {
+            sessionService.revokeDevice(getCurrentUserId(), request.getDeviceInfo());
+            return ResponseEntity.ok(AuthDto.ApiResponse.success("Sessões do device revogadas com sucesso", null));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha ao revogar sessões do device", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/admin/sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuthDto.ApiResponse<AuthDto.SessionPage>> listAllSessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(AuthDto.ApiResponse.success("Sessões recuperadas com sucesso",
+                    sessionService.listAllSessions(cursor, size)));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha ao recuperar sessões", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Extrair ID do usuário atual do contexto de segurança
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        throw new RuntimeException("Usuário não autenticado");
+    }
+}
@@ -0,0 +1,90 @@
+package com.ifoodclone.auth.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import com.ifoodclone.auth.config.InternalClientKey;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.dto.TokenIntrospection;
+import com.ifoodclone.auth.service.TokenIntrospectionService;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Introspecção de tokens (RFC 7662) para serviços internos. O chamador se
+ * autentica com o header X-Introspection-Key (app.introspection.client-secret).
+ *
+ * O Cache-Control da resposta diz por quanto tempo o resultado pode ser
+ * reaproveitado; o cliente do user-service (AuthIntrospectionClient) respeita
+ * esse max-age.
+ */
+@Tag(name = "Token Introspection", description = "RFC 7662 token introspection for internal services")
+@RestController
+@RequestMapping("/api/v1/auth")
+public class TokenIntrospectionController {
+
+    public static final String CLIENT_KEY_HEADER = InternalClientKey.HEADER;
+
+    private final TokenIntrospectionService introspectionService;
+    private final InternalClientKey internalClientKey;
+
+    public TokenIntrospectionController(TokenIntrospectionService introspectionService,
+            InternalClientKey internalClientKey) {
+        this.introspectionService = introspectionService;
+        this.internalClientKey = internalClientKey;
+    }
+
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<TokenIntrospection> introspect(
+            @RequestHeader(value = CLIENT_KEY_HEADER, required = false) String clientKey,
+            @RequestParam("token") String token) {
+
+        if (!isAuthorizedClient(clientKey)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        TokenIntrospectionService.Result result = introspectionService.introspect(token);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(result.maxAgeSeconds()))
+                .body(result.results().get(0));
+    }
+
+    @PostMapping(value = "/introspect:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AuthDto.IntrospectionBatchResponse> introspectBatch(
+            @RequestHeader(value = CLIENT_KEY_HEADER, required = false) String clientKey,
+            @Valid @RequestBody AuthDto.IntrospectionBatchRequest request) {
+
+        if (!isAuthorizedClient(clientKey)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            TokenIntrospectionService.Result result = introspectionService.introspect(request.getTokens());
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl(result.maxAgeSeconds()))
+                    .body(AuthDto.IntrospectionBatchResponse.builder().results(result.results()).build());
+        } catch (IllegalArgumentException ex) {
+            // Lote acima de app.introspection.max-batch-size; outras falhas seguem como 5xx
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    private boolean isAuthorizedClient(String clientKey) {
+        return internalClientKey.matches(clientKey);
+    }
+
+    private static CacheControl cacheControl(long maxAgeSeconds) {
+        return maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate()
+                : CacheControl.noStore();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ifoodclone.auth.controller;
+
+import java.util.List;
+
+import com.ifoodclone.auth.config.InternalClientKey;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.dto.UserSnapshot;
+import com.ifoodclone.auth.service.UserSnapshotCache;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Consulta de usuários em lote para outros serviços (listagens de pedidos,
+ * autores de avaliações), em uma chamada em vez de uma por usuário.
+ *
+ * Só para serviços internos (header X-Introspection-Key) ou ADMIN: a resposta
+ * expõe nome, papel e status de qualquer ID pedido.
+ */
+@Tag(name = "User Lookup", description = "Batch user lookup for other services")
+@RestController
+@RequestMapping("/api/v1/auth")
+@Validated
+public class UserBatchController {
+
+    private final UserSnapshotCache userSnapshotCache;
+
+    public UserBatchController(UserSnapshotCache userSnapshotCache) {
+        this.userSnapshotCache = userSnapshotCache;
+    }
+
+    @PostMapping("/users:batchGet")
+    @PreAuthorize("hasRole('ADMIN') or @internalClientKey.matches(#clientKey)")
+    public ResponseEntity<AuthDto.ApiResponse<List<UserSnapshot>>> batchGet(
+            @RequestHeader(value = InternalClientKey.HEADER, required = false) String clientKey,
+            @Valid @RequestBody AuthDto.BatchGetUsersRequest request) {
+
+        try {
+            List<UserSnapshot> users = userSnapshotCache.getAll(request.getIds());
+            return ResponseEntity.ok(
+                    AuthDto.ApiResponse.success("Usuários recuperados com sucesso", users));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha ao recuperar usuários", ex.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ifoodclone.auth.controller;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.entity.UserImportJob;
+import com.ifoodclone.auth.service.UserImportService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Importação em massa de usuários (frotas de entregadores de parceiros,
+ * migrações). O corpo é lido em streaming, sem carregar o arquivo em memória.
+ *
+ * Para retomar uma importação interrompida, reenviar o mesmo arquivo com o
+ * mesmo jobId.
+ */
+@Tag(name = "User Import", description = "Bulk user import for administrators")
+@RestController
+@RequestMapping("/api/v1/auth/admin")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final Pattern JOB_ID_PATTERN = Pattern.compile("^[A-Za-z0-9_-]{1,64}$");
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @PostMapping(value = "/users:import", consumes = { "application/x-ndjson", "text/csv" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuthDto.ApiResponse<AuthDto.UserImportResult>> importUsers(
+            @RequestParam(required = false) String jobId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest httpRequest) {
+
+        String effectiveJobId = jobId != null ? jobId : UUID.randomUUID().toString();
+        if (!JOB_ID_PATTERN.matcher(effectiveJobId).matches()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha na importação", "jobId inválido"));
+        }
+        UserImportService.Format format = contentType.startsWith("text/csv")
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        try {
+            AuthDto.UserImportResult result = userImportService.importUsers(
+                    httpRequest.getInputStream(), format, effectiveJobId);
+            return ResponseEntity.ok(
+                    AuthDto.ApiResponse.success("Importação concluída", result));
+        } catch (Exception ex) {
+            logger.warn("Falha na importação {}: {}", effectiveJobId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthDto.ApiResponse.error("Falha na importação", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/users:import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuthDto.ApiResponse<UserImportJob>> getImportJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(
+                    AuthDto.ApiResponse.success("Importação recuperada", userImportService.getJob(jobId)));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(AuthDto.ApiResponse.error("Falha ao recuperar importação", ex.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ifoodclone.auth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas de refresh_tokens usadas na listagem de sessões, lidas pelos
+ * índices parciais de tokens ativos (ver db/sessions/refresh_tokens_active_indexes.sql)
+ */
+public record ActiveSessionView(Long id, Long userId, String deviceInfo, String ipAddress, LocalDateTime createdAt,
+        LocalDateTime usedAt, LocalDateTime expiresAt) {
+}
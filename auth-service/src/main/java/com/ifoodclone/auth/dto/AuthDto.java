@@ -1,12 +1,14 @@
 package com.ifoodclone.auth.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.ifoodclone.auth.entity.User;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
@@ -150,6 +152,92 @@ public class AuthDto {
         private String newPassword;
     }
 
+    @Data
+    @Builder
+    public static class BatchGetUsersRequest {
+        @NotEmpty(message = "Lista de IDs é obrigatória")
+        private List<Long> ids;
+    }
+
+    @Data
+    @Builder
+    public static class UserImportResult {
+        private String jobId;
+        private String status;
+        private long resumedFromLine;
+        private long processedLines;
+        private long imported;
+        private long failed;
+        private List<UserImportError> errors;
+        private boolean errorsTruncated;
+    }
+
+    /**
+     * Linha recusada na importação (line = número da linha de dados, a partir de 1)
+     */
+    @Data
+    @Builder
+    public static class UserImportError {
+        private long line;
+        private String email;
+        private String reason;
+    }
+
+    /**
+     * Sessão ativa (refresh token não revogado e não expirado). O id é opaco:
+     * id da linha em refresh_tokens ou hash do token no store Redis
+     */
+    @Data
+    @Builder
+    public static class SessionInfo {
+        private String id;
+        private Long userId;
+        private String deviceInfo;
+        private String ipAddress;
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime createdAt;
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime lastUsedAt;
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime expiresAt;
+    }
+
+    /**
+     * Página de sessões ativas; nextCursor nulo na última página
+     */
+    @Data
+    @Builder
+    public static class SessionPage {
+        private List<SessionInfo> sessions;
+        private String nextCursor;
+    }
+
+    @Data
+    @Builder
+    public static class RevokeDeviceRequest {
+        @NotBlank(message = "Device é obrigatório")
+        private String deviceInfo;
+    }
+
+    @Data
+    @Builder
+    public static class IntrospectionBatchRequest {
+        @NotEmpty(message = "Lista de tokens é obrigatória")
+        private List<String> tokens;
+    }
+
+    /**
+     * Resultados na mesma ordem dos tokens enviados
+     */
+    @Data
+    @Builder
+    public static class IntrospectionBatchResponse {
+        private List<TokenIntrospection> results;
+    }
+
     @Data
     @Builder
     public static class EmailVerificationRequest {
@@ -0,0 +1,28 @@
+package com.ifoodclone.auth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colunas que o login consulta antes de verificar a senha (existe, ativo,
+ * bloqueado, tentativas). Projeção sem entidade gerenciada: nada entra no
+ * persistence context nem passa por dirty checking.
+ */
+public record LoginPrecheck(Long id, Boolean active, Boolean accountLocked, LocalDateTime accountLockedUntil,
+        Integer failedLoginAttempts) {
+
+    /**
+     * Mesma regra de User#isAccountNonLocked
+     */
+    public boolean isLocked() {
+        return Boolean.TRUE.equals(accountLocked)
+                || (accountLockedUntil != null && !accountLockedUntil.isBefore(LocalDateTime.now()));
+    }
+
+    public boolean isActive() {
+        return Boolean.TRUE.equals(active);
+    }
+
+    public int failedAttempts() {
+        return failedLoginAttempts != null ? failedLoginAttempts : 0;
+    }
+}
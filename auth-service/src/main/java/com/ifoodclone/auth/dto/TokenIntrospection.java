@@ -0,0 +1,24 @@
+package com.ifoodclone.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resposta de introspecção no formato da RFC 7662. Token inativo (inválido,
+ * expirado, revogado, usuário desativado) responde só {"active": false}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospection(
+        boolean active,
+        String sub,
+        @JsonProperty("token_type") String tokenType,
+        Long exp,
+        Long iat,
+        String jti,
+        @JsonProperty("user_id") Long userId,
+        String role,
+        @JsonProperty("email_verified") Boolean emailVerified) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null, null, null,
+            null, null, null);
+}
@@ -0,0 +1,27 @@
+package com.ifoodclone.auth.dto;
+
+import java.time.LocalDateTime;
+
+import com.ifoodclone.auth.entity.User;
+
+/**
+ * Colunas de users expostas em UserInfo (perfil, getUserById), sem senha,
+ * dados de bloqueio nem auditoria
+ */
+public record UserProfileView(Long id, String email, String firstName, String lastName, String phone,
+        User.UserRole role, Boolean emailVerified, Boolean phoneVerified, Boolean active,
+        LocalDateTime lastLoginAt, LocalDateTime createdAt) {
+
+    /**
+     * Mesma regra de User#getFullName
+     */
+    public String fullName() {
+        if (firstName == null && lastName == null) {
+            return email;
+        }
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ifoodclone.auth.dto;
+
+import com.ifoodclone.auth.entity.User;
+
+/**
+ * Projeção compacta do usuário para consultas em lote entre serviços (autor
+ * de avaliação, cliente de pedido). Não carrega email, telefone nem dados de
+ * segurança.
+ */
+public record UserSnapshot(Long id, String firstName, String lastName, User.UserRole role, Boolean active) {
+
+    public String fullName() {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -15,17 +15,23 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+// Com a tabela particionada (db/partitioning/refresh_tokens_partitioned.sql) toda
+// restrição UNIQUE precisa incluir a chave de partição expires_at
 @Table(name = "refresh_tokens", indexes = {
         @Index(name = "idx_refresh_token", columnList = "token"),
         @Index(name = "idx_refresh_token_user", columnList = "user_id"),
         @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = RefreshToken.TOKEN_UNIQUE_CONSTRAINT, columnNames = { "token", "expires_at" })
 })
 @Data
 @Builder
@@ -34,11 +40,15 @@ import lombok.NoArgsConstructor;
 @EntityListeners(AuditingEntityListener.class)
 public class RefreshToken {
 
+    public static final String TOKEN_UNIQUE_CONSTRAINT = "uk_refresh_tokens_token_expires";
+
+    // Sequence pooled (ver User.ID_ALLOCATION_SIZE): permite batch de INSERT no Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
+    @Column(nullable = false, length = 500)
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
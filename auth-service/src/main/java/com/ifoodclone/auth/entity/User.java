@@ -20,6 +20,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -42,8 +43,16 @@ import lombok.NoArgsConstructor;
 @EntityListeners(AuditingEntityListener.class)
 public class User implements UserDetails {
 
+    /**
+     * IDs reservados por nextval (otimizador pooled: o valor da sequence é o
+     * topo do bloco). Com IDENTITY o Hibernate não consegue agrupar INSERTs em
+     * batch; a sequence no banco precisa ter INCREMENT BY igual a este valor.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Email(message = "Email deve ter formato válido")
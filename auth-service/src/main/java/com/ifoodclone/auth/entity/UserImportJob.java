@@ -0,0 +1,57 @@
+package com.ifoodclone.auth.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Checkpoint de uma importação em massa de usuários. processedLines é
+ * atualizado na mesma transação dos INSERTs de cada chunk, então reenviar o
+ * mesmo arquivo com o mesmo jobId retoma exatamente de onde parou.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJob {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "processed_lines", nullable = false)
+    private long processedLines;
+
+    @Column(name = "imported_count", nullable = false)
+    private long importedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -4,9 +4,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import com.ifoodclone.auth.dto.ActiveSessionView;
 import com.ifoodclone.auth.entity.RefreshToken;
 import com.ifoodclone.auth.entity.User;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -21,12 +23,50 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      */
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * Busca refresh token ainda não expirado. O limite em expiresAt permite ao
+     * Postgres podar as partições semanais já vencidas
+     */
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.token = :token AND rt.expiresAt > :now")
+    Optional<RefreshToken> findUnexpiredByToken(@Param("token") String token, @Param("now") LocalDateTime now);
+
     /**
      * Busca tokens do usuário
      */
     @Query("SELECT rt FROM RefreshToken rt WHERE rt.user = :user AND rt.revoked = false ORDER BY rt.createdAt DESC")
     List<RefreshToken> findActiveTokensByUser(@Param("user") User user);
 
+    /**
+     * Sessões ativas do usuário, mais recentes primeiro (idx_refresh_token_user_active)
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.ActiveSessionView(rt.id, rt.user.id, rt.deviceInfo, rt.ipAddress, "
+            + "rt.createdAt, rt.usedAt, rt.expiresAt) FROM RefreshToken rt "
+            + "WHERE rt.user = :user AND rt.revoked = false AND rt.expiresAt > :now "
+            + "ORDER BY rt.createdAt DESC, rt.id DESC")
+    List<ActiveSessionView> findActiveSessionsByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+
+    /**
+     * Primeira página de todas as sessões ativas (idx_refresh_token_active_created)
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.ActiveSessionView(rt.id, rt.user.id, rt.deviceInfo, rt.ipAddress, "
+            + "rt.createdAt, rt.usedAt, rt.expiresAt) FROM RefreshToken rt "
+            + "WHERE rt.revoked = false AND rt.expiresAt > :now "
+            + "ORDER BY rt.createdAt DESC, rt.id DESC")
+    List<ActiveSessionView> findActiveSessions(@Param("now") LocalDateTime now, Pageable page);
+
+    /**
+     * Páginas seguintes por keyset (createdAt, id) do último item. O
+     * "createdAt <= :createdAt" dá o limite da varredura no índice; sem ele o
+     * OR obrigaria a percorrer tudo que é mais recente que o cursor
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.ActiveSessionView(rt.id, rt.user.id, rt.deviceInfo, rt.ipAddress, "
+            + "rt.createdAt, rt.usedAt, rt.expiresAt) FROM RefreshToken rt "
+            + "WHERE rt.revoked = false AND rt.expiresAt > :now AND rt.createdAt <= :createdAt "
+            + "AND (rt.createdAt < :createdAt OR rt.id < :id) "
+            + "ORDER BY rt.createdAt DESC, rt.id DESC")
+    List<ActiveSessionView> findActiveSessionsBefore(@Param("now") LocalDateTime now,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
     /**
      * Busca todos os tokens do usuário (ativos e revogados)
      */
@@ -57,21 +97,28 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      * Revoga todos os tokens do usuário
      */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.user = :user AND rt.revoked = false")
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.user = :user AND rt.revoked = false AND rt.expiresAt > :revokedAt")
     int revokeAllUserTokens(@Param("user") User user, @Param("revokedAt") LocalDateTime revokedAt);
 
     /**
      * Revoga token específico
      */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.token = :token")
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.token = :token AND rt.expiresAt > :revokedAt")
     int revokeToken(@Param("token") String token, @Param("revokedAt") LocalDateTime revokedAt);
 
+    /**
+     * Revoga uma sessão pelo id, só se pertencer ao usuário
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.id = :id AND rt.user = :user AND rt.revoked = false AND rt.expiresAt > :revokedAt")
+    int revokeSession(@Param("user") User user, @Param("id") Long id, @Param("revokedAt") LocalDateTime revokedAt);
+
     /**
      * Revoga tokens do device específico
      */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.user = :user AND rt.deviceInfo = :deviceInfo AND rt.revoked = false")
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :revokedAt WHERE rt.user = :user AND rt.deviceInfo = :deviceInfo AND rt.revoked = false AND rt.expiresAt > :revokedAt")
     int revokeTokensByDevice(@Param("user") User user, @Param("deviceInfo") String deviceInfo,
             @Param("revokedAt") LocalDateTime revokedAt);
 
@@ -128,6 +175,13 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("UPDATE RefreshToken rt SET rt.usedAt = :usedAt WHERE rt.id = :tokenId")
     void updateLastUsedAt(@Param("tokenId") Long tokenId, @Param("usedAt") LocalDateTime usedAt);
 
+    /**
+     * Atualiza último uso do token pelo valor (evita carregar e salvar a entidade)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.usedAt = :usedAt WHERE rt.token = :token AND rt.expiresAt > :usedAt")
+    int updateLastUsedAtByToken(@Param("token") String token, @Param("usedAt") LocalDateTime usedAt);
+
     /**
      * Busca estatísticas de tokens por período
      */
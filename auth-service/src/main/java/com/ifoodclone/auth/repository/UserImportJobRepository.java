@@ -0,0 +1,10 @@
+package com.ifoodclone.auth.repository;
+
+import com.ifoodclone.auth.entity.UserImportJob;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, String> {
+}
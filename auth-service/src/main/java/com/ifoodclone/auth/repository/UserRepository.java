@@ -1,16 +1,25 @@
 package com.ifoodclone.auth.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
+import com.ifoodclone.auth.dto.LoginPrecheck;
+import com.ifoodclone.auth.dto.UserProfileView;
+import com.ifoodclone.auth.dto.UserSnapshot;
 import com.ifoodclone.auth.entity.User;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -19,6 +28,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Busca usuário por email como entidade somente leitura (sem snapshot para
+     * dirty checking), para autenticação por senha e por JWT
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findReadOnlyByEmail(@Param("email") String email);
+
+    /**
+     * Colunas da verificação prévia do login (ativo, bloqueio, tentativas)
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.LoginPrecheck(u.id, u.active, u.accountLocked, "
+            + "u.accountLockedUntil, u.failedLoginAttempts) FROM User u WHERE u.email = :email")
+    Optional<LoginPrecheck> findLoginPrecheckByEmail(@Param("email") String email);
+
+    /**
+     * Colunas do perfil (UserInfo) sem carregar a entidade
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.UserProfileView(u.id, u.email, u.firstName, u.lastName, u.phone, "
+            + "u.role, u.emailVerified, u.phoneVerified, u.active, u.lastLoginAt, u.createdAt) "
+            + "FROM User u WHERE u.id = :id")
+    Optional<UserProfileView> findProfileById(@Param("id") Long id);
+
     /**
      * Verifica se um email já existe
      */
@@ -98,6 +130,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     void updatePassword(@Param("userId") Long userId, @Param("password") String password,
             @Param("updatedAt") LocalDateTime updatedAt);
 
+    /**
+     * Regrava o hash da senha (upgrade de custo/algoritmo) sem alterar updatedAt
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    void updatePasswordHash(@Param("userId") Long userId, @Param("password") String password);
+
     /**
      * Desativa usuário
      */
@@ -124,6 +163,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.active = true")
     Long countActiveUsersByRole(@Param("role") User.UserRole role);
 
+    /**
+     * Projeção compacta de vários usuários em uma única consulta IN
+     */
+    @Query("SELECT new com.ifoodclone.auth.dto.UserSnapshot(u.id, u.firstName, u.lastName, u.role, u.active) "
+            + "FROM User u WHERE u.id IN :ids")
+    java.util.List<UserSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs dos usuários ativos com login mais recente, para o warm-up do cache de
+     * snapshots. Sem índice em last_login_at (atualizado a cada login): roda uma
+     * vez por pod, antes do readiness.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.active = true AND u.lastLoginAt >= :since ORDER BY u.lastLoginAt DESC")
+    java.util.List<Long> findRecentlyActiveUserIds(@Param("since") LocalDateTime since, Pageable pageable);
+
     /**
      * Busca por email ou telefone
      */
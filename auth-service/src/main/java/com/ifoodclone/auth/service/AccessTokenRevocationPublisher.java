@@ -0,0 +1,155 @@
+package com.ifoodclone.auth.service;
+
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica revogações de access tokens para o api-gateway.
+ *
+ * Cada revogação vira um membro do sorted set auth:revoked-access (score =
+ * expiração em ms, para o gateway carregar o estado no startup) e uma mensagem
+ * no canal auth:revocations, aplicada em memória por todos os nós do gateway.
+ *
+ * Formatos: "jti|{jti}" revoga um token; "user|{userId}|{notBeforeMs}" revoga
+ * todos os tokens do usuário emitidos antes de notBeforeMs. A revogação por
+ * usuário também grava auth:revoked-user:{userId} = notBeforeMs, para a
+ * introspecção consultar por chave sem varrer o sorted set.
+ */
+@Component
+public class AccessTokenRevocationPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenRevocationPublisher.class);
+
+    public static final String REVOKED_KEY = "auth:revoked-access";
+    public static final String CHANNEL = "auth:revocations";
+    public static final String USER_NOT_BEFORE_PREFIX = "auth:revoked-user:";
+
+    // Remove entradas já expiradas, registra a nova e publica "{expiresAtMs}|{membro}"
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3])
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            return redis.call('PUBLISH', ARGV[4], ARGV[1] .. '|' .. ARGV[2])
+            """, Long.class);
+
+    // Igual ao PUBLISH_SCRIPT, gravando também o notBefore do usuário (KEYS[2]) com TTL de um access token
+    private static final RedisScript<Long> PUBLISH_USER_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3])
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('SET', KEYS[2], ARGV[5], 'PX', ARGV[6])
+            return redis.call('PUBLISH', ARGV[4], ARGV[1] .. '|' .. ARGV[2])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtService jwtService;
+
+    @Value("${app.jwt.expiration}")
+    private long accessExpirationMs;
+
+    public AccessTokenRevocationPublisher(StringRedisTemplate redisTemplate, JwtService jwtService) {
+        this.redisTemplate = redisTemplate;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Revoga um access token específico (logout)
+     */
+    public void revokeAccessToken(String accessToken) {
+        String tokenId;
+        Date expiration;
+        try {
+            tokenId = jwtService.extractTokenId(accessToken);
+            expiration = jwtService.extractExpiration(accessToken);
+        } catch (Exception ex) {
+            // Token inválido ou já expirado não precisa entrar na lista
+            return;
+        }
+        if (tokenId == null || expiration == null) {
+            return;
+        }
+
+        publish("jti|" + tokenId, expiration.getTime());
+    }
+
+    /**
+     * Revoga todos os access tokens do usuário emitidos até agora (logout de
+     * todos os dispositivos, troca de senha)
+     */
+    public void revokeUserTokens(Long userId) {
+        long now = System.currentTimeMillis();
+        long notBefore = notBeforeMs(now);
+        String member = "user|" + userId + "|" + notBefore;
+        try {
+            redisTemplate.execute(PUBLISH_USER_SCRIPT, List.of(REVOKED_KEY, USER_NOT_BEFORE_PREFIX + userId),
+                    Long.toString(now + accessExpirationMs), member, Long.toString(now), CHANNEL,
+                    Long.toString(notBefore), Long.toString(accessExpirationMs));
+        } catch (Exception ex) {
+            logger.error("Falha ao publicar revogação de access token {}: {}", member, ex.getMessage());
+        }
+    }
+
+    /**
+     * Verifica em um único pipeline quais tokens foram revogados, pelo jti ou
+     * por revogação do usuário posterior à emissão (iat). O resultado segue a
+     * ordem da lista; falhas do Redis são propagadas para o chamador decidir.
+     */
+    public boolean[] findRevoked(List<RevocationCheck> checks) {
+        boolean[] revoked = new boolean[checks.size()];
+        if (checks.isEmpty()) {
+            return revoked;
+        }
+
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (RevocationCheck check : checks) {
+                conn.zScore(REVOKED_KEY, "jti|" + check.tokenId());
+                conn.get(USER_NOT_BEFORE_PREFIX + check.userId());
+            }
+            return null;
+        });
+
+        for (int i = 0; i < checks.size(); i++) {
+            Object tokenScore = replies.get(2 * i);
+            Object userNotBefore = replies.get(2 * i + 1);
+            revoked[i] = tokenScore != null
+                    || (userNotBefore != null
+                            && checks.get(i).issuedAtMs() < Long.parseLong(userNotBefore.toString()));
+        }
+        return revoked;
+    }
+
+    /**
+     * O iat do JWT tem precisão de segundos e a comparação é iat < notBefore:
+     * o limite sobe para o próximo segundo, senão um token emitido no mesmo
+     * segundo da revogação (iat truncado == segundo atual) continuaria válido.
+     * Um login no restante desse segundo também é recusado.
+     */
+    static long notBeforeMs(long nowMs) {
+        return nowMs - (nowMs % 1000) + 1000;
+    }
+
+    private void publish(String member, long expiresAtMs) {
+        try {
+            redisTemplate.execute(PUBLISH_SCRIPT, List.of(REVOKED_KEY),
+                    Long.toString(expiresAtMs), member, Long.toString(System.currentTimeMillis()), CHANNEL);
+        } catch (Exception ex) {
+            // Refresh tokens já foram revogados; o access token expira sozinho
+            logger.error("Falha ao publicar revogação de access token {}: {}", member, ex.getMessage());
+        }
+    }
+
+    /**
+     * Dados do access token necessários para a verificação de revogação
+     */
+    public record RevocationCheck(String tokenId, Long userId, long issuedAtMs) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.ifoodclone.auth.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas dos caminhos quentes de autenticação.
+ *
+ * Todas as tags são de baixa cardinalidade (outcome, reason, operation);
+ * nenhum identificador de usuário entra em métrica. Os timers publicam
+ * histogramas para percentis no Prometheus.
+ */
+@Component
+public class AuthMetrics {
+
+    /**
+     * Motivo de recusa de um login
+     */
+    public enum LoginRejection {
+        UNKNOWN_USER,
+        BAD_CREDENTIALS,
+        ACCOUNT_LOCKED,
+        ACCOUNT_INACTIVE,
+        THROTTLED,
+        ERROR;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Timer tokenVerifyValid;
+    private final Timer tokenVerifyInvalid;
+    private final Timer passwordEncode;
+    private final Timer passwordMatches;
+    private final DistributionSummary loginDbStatements;
+    private final Map<LoginRejection, Counter> loginRejections = new EnumMap<>(LoginRejection.class);
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.loginSuccess = latencyTimer(meterRegistry, "auth.login.duration", "outcome", "success");
+        this.loginFailure = latencyTimer(meterRegistry, "auth.login.duration", "outcome", "failure");
+        this.refreshSuccess = latencyTimer(meterRegistry, "auth.refresh.duration", "outcome", "success");
+        this.refreshFailure = latencyTimer(meterRegistry, "auth.refresh.duration", "outcome", "failure");
+        this.tokenVerifyValid = latencyTimer(meterRegistry, "auth.token.verify.duration", "outcome", "valid");
+        this.tokenVerifyInvalid = latencyTimer(meterRegistry, "auth.token.verify.duration", "outcome", "invalid");
+        this.passwordEncode = latencyTimer(meterRegistry, "auth.password.hash.duration", "operation", "encode");
+        this.passwordMatches = latencyTimer(meterRegistry, "auth.password.hash.duration", "operation", "matches");
+
+        this.loginDbStatements = DistributionSummary.builder("auth.login.db.statements")
+                .description("Comandos SQL executados por login")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(50.0)
+                .register(meterRegistry);
+
+        for (LoginRejection reason : LoginRejection.values()) {
+            loginRejections.put(reason, Counter.builder("auth.login.rejected")
+                    .description("Logins recusados por motivo")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void recordLogin(long startNanos, boolean success) {
+        (success ? loginSuccess : loginFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLoginRejected(LoginRejection reason) {
+        loginRejections.get(reason).increment();
+    }
+
+    public void recordLoginDbStatements(int statements) {
+        loginDbStatements.record(statements);
+    }
+
+    public void recordRefresh(long startNanos, boolean success) {
+        (success ? refreshSuccess : refreshFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokenVerify(long startNanos, boolean valid) {
+        (valid ? tokenVerifyValid : tokenVerifyInvalid).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordEncode(long startNanos) {
+        passwordEncode.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordMatches(long startNanos) {
+        passwordMatches.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+}
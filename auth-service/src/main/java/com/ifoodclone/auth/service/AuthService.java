@@ -3,14 +3,15 @@ package com.ifoodclone.auth.service;
 import java.time.LocalDateTime;
 
 import com.ifoodclone.auth.dto.AuthDto;
-import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.dto.LoginPrecheck;
+import com.ifoodclone.auth.dto.UserProfileView;
 import com.ifoodclone.auth.entity.User;
-import com.ifoodclone.auth.repository.RefreshTokenRepository;
 import com.ifoodclone.auth.repository.UserRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -38,9 +39,15 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final PasswordEncoder passwordEncoder;
     private final CustomUserDetailsService userDetailsService;
+    private final LoginBookkeepingBuffer loginBookkeeping;
+    private final LoginThrottle loginThrottle;
+    private final EmailAvailabilityIndex emailIndex;
+    private final AccessTokenRevocationPublisher accessTokenRevocation;
+    private final SessionService sessionService;
+    private final AuthMetrics metrics;
 
     @Value("${app.security.account.max-login-attempts:5}")
     private int maxLoginAttempts;
@@ -51,16 +58,28 @@ public class AuthService {
     public AuthService(AuthenticationManager authenticationManager,
             JwtService jwtService,
             UserRepository userRepository,
-            RefreshTokenRepository refreshTokenRepository,
+            RefreshTokenStore refreshTokenStore,
             PasswordEncoder passwordEncoder,
             CustomUserDetailsService userDetailsService,
+            LoginBookkeepingBuffer loginBookkeeping,
+            LoginThrottle loginThrottle,
+            EmailAvailabilityIndex emailIndex,
+            AccessTokenRevocationPublisher accessTokenRevocation,
+            SessionService sessionService,
+            AuthMetrics metrics,
             OpenTelemetry openTelemetry) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
         this.passwordEncoder = passwordEncoder;
         this.userDetailsService = userDetailsService;
+        this.loginBookkeeping = loginBookkeeping;
+        this.loginThrottle = loginThrottle;
+        this.emailIndex = emailIndex;
+        this.accessTokenRevocation = accessTokenRevocation;
+        this.sessionService = sessionService;
+        this.metrics = metrics;
         this.tracer = openTelemetry.getTracer(SERVICE_NAME, SERVICE_VERSION);
     }
 
@@ -68,76 +87,111 @@ public class AuthService {
      * Autenticar usuário e gerar tokens
      */
     public AuthDto.LoginResponse login(AuthDto.LoginRequest request) {
+        // Sem email no span: atributos do builder são montados antes da decisão de amostragem
         Span span = tracer.spanBuilder("auth.service.login")
                 .setAttribute("service.name", SERVICE_NAME)
                 .setAttribute("operation", "user.authentication")
-                .setAttribute("user.email", request.getEmail())
                 .startSpan();
+        // Eventos e atributos só são montados quando o span foi amostrado
+        boolean recording = span.isRecording();
 
-        try (Scope scope = span.makeCurrent()) {
-            span.addEvent("authentication.started");
+        long start = System.nanoTime();
+        SqlStatementCounter.begin();
+        boolean success = false;
+        AuthMetrics.LoginRejection rejection = null;
 
-            // Log estruturado
-            logger.info("Iniciando autenticação para usuário: {}", request.getEmail());
+        LoginPrecheck user = null;
+        try (Scope scope = span.makeCurrent()) {
+            // Limite por conta/IP antes de qualquer consulta ao banco ou BCrypt
+            long retryAfterMs = loginThrottle.check(request.getEmail(), request.getIpAddress());
+            if (retryAfterMs > 0) {
+                rejection = AuthMetrics.LoginRejection.THROTTLED;
+                if (recording) {
+                    span.addEvent("login.throttled");
+                }
+                throw new LoginThrottledException(retryAfterMs);
+            }
 
             // Verificar se o usuário existe e está ativo
-            span.addEvent("user.lookup.started");
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new RuntimeException("Credenciais inválidas"));
-
-            span.addEvent("user.validation.started")
-                    .setAttribute("user.id", user.getId())
-                    .setAttribute("user.active", user.getActive())
-                    .setAttribute("user.locked", !user.isAccountNonLocked());
-
-            // Verificar se a conta não está bloqueada
-            if (!user.isAccountNonLocked()) {
-                span.setStatus(StatusCode.ERROR, "Account locked")
-                        .addEvent("authentication.failed.account_locked");
+            if (recording) {
+                span.addEvent("user.lookup.started");
+            }
+            // Só as colunas da verificação prévia; a entidade completa é carregada uma vez na autenticação
+            user = userRepository.findLoginPrecheckByEmail(request.getEmail()).orElse(null);
+            if (user == null) {
+                rejection = AuthMetrics.LoginRejection.UNKNOWN_USER;
+                loginThrottle.recordFailure(request.getEmail(), request.getIpAddress());
+                throw new RuntimeException("Credenciais inválidas");
+            }
+
+            if (recording) {
+                span.addEvent("user.validation.started")
+                        .setAttribute("user.id", user.id())
+                        .setAttribute("user.active", user.isActive())
+                        .setAttribute("user.locked", user.isLocked());
+            }
+
+            // Verificar se a conta não está bloqueada (no banco ou pelo contador em memória)
+            if (user.isLocked() || loginBookkeeping.isLocked(user.id())) {
+                rejection = AuthMetrics.LoginRejection.ACCOUNT_LOCKED;
+                span.setStatus(StatusCode.ERROR, "Account locked");
+                if (recording) {
+                    span.addEvent("authentication.failed.account_locked");
+                }
                 throw new RuntimeException("Conta temporariamente bloqueada devido a muitas tentativas de login");
             }
 
             // Verificar se a conta está ativa
-            if (!user.getActive()) {
-                span.setStatus(StatusCode.ERROR, "Account inactive")
-                        .addEvent("authentication.failed.account_inactive");
+            if (!user.isActive()) {
+                rejection = AuthMetrics.LoginRejection.ACCOUNT_INACTIVE;
+                span.setStatus(StatusCode.ERROR, "Account inactive");
+                if (recording) {
+                    span.addEvent("authentication.failed.account_inactive");
+                }
                 throw new RuntimeException("Conta inativa");
             }
 
             // Tentar autenticar
-            span.addEvent("credential.validation.started");
+            if (recording) {
+                span.addEvent("credential.validation.started");
+            }
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             User authenticatedUser = (User) userDetails;
 
-            span.addEvent("authentication.successful")
-                    .setAttribute("user.role", authenticatedUser.getRole().toString());
-
-            // Reset tentativas de login após sucesso
-            if (authenticatedUser.getFailedLoginAttempts() > 0) {
-                span.addEvent("failed.attempts.reset")
-                        .setAttribute("previous.failed.attempts", authenticatedUser.getFailedLoginAttempts());
-                userRepository.resetFailedLoginAttempts(authenticatedUser.getId());
+            if (recording) {
+                span.addEvent("authentication.successful")
+                        .setAttribute("user.role", authenticatedUser.getRole().toString());
+                if (authenticatedUser.getFailedLoginAttempts() > 0) {
+                    span.addEvent("failed.attempts.reset")
+                            .setAttribute("previous.failed.attempts", authenticatedUser.getFailedLoginAttempts());
+                }
             }
 
-            // Atualizar último login
-            userRepository.updateLastLoginTime(authenticatedUser.getId(), LocalDateTime.now());
+            // Reset de tentativas e último login via write-behind (fora da transação)
+            loginBookkeeping.recordSuccessfulLogin(authenticatedUser.getId(), LocalDateTime.now());
+            loginThrottle.recordSuccess(request.getEmail(), request.getIpAddress());
 
             // Gerar tokens
-            span.addEvent("token.generation.started");
+            if (recording) {
+                span.addEvent("token.generation.started");
+            }
             String accessToken = jwtService.generateToken(userDetails);
             String refreshToken = jwtService.generateRefreshToken(userDetails);
 
             // Salvar refresh token
             saveRefreshToken(authenticatedUser, refreshToken, request.getDeviceInfo(), request.getIpAddress());
 
-            span.addEvent("login.completed")
-                    .setAttribute("result.status", "success");
+            if (recording) {
+                span.addEvent("login.completed")
+                        .setAttribute("result.status", "success");
+            }
             span.setStatus(StatusCode.OK);
+            success = true;
 
-            logger.info("Usuário autenticado com sucesso: {} (ID: {})", request.getEmail(), authenticatedUser.getId());
+            logger.debug("Usuário autenticado com sucesso (ID: {})", authenticatedUser.getId());
 
             // Criar resposta
             return AuthDto.LoginResponse.builder()
@@ -150,36 +204,53 @@ public class AuthService {
                     .build();
 
         } catch (AuthenticationException ex) {
-            span.recordException(ex)
-                    .setStatus(StatusCode.ERROR, "Authentication failed: " + ex.getMessage())
-                    .addEvent("authentication.failed.invalid_credentials")
-                    .setAttribute("error.type", ex.getClass().getSimpleName());
+            rejection = AuthMetrics.LoginRejection.BAD_CREDENTIALS;
+            loginThrottle.recordFailure(request.getEmail(), request.getIpAddress());
+            if (recording) {
+                span.recordException(ex)
+                        .setStatus(StatusCode.ERROR, "Authentication failed: " + ex.getMessage())
+                        .addEvent("authentication.failed.invalid_credentials")
+                        .setAttribute("error.type", ex.getClass().getSimpleName());
+            }
 
-            // Incrementar tentativas de login falhadas
-            userRepository.findByEmail(request.getEmail()).ifPresent(user -> {
-                userRepository.incrementFailedLoginAttempts(user.getId());
+            // Incrementar tentativas de login falhadas (contador em memória + write-behind)
+            if (user != null) {
+                int attempts = loginBookkeeping.recordFailedLogin(user.id(), user.failedAttempts());
 
                 // Verificar se deve bloquear a conta
-                if (user.getFailedLoginAttempts() + 1 >= maxLoginAttempts) {
-                    span.addEvent("account.locked")
-                            .setAttribute("failed.attempts", user.getFailedLoginAttempts() + 1);
-                    userRepository.lockAccount(user.getId(), LocalDateTime.now());
+                if (attempts >= maxLoginAttempts) {
+                    if (recording) {
+                        span.addEvent("account.locked")
+                                .setAttribute("failed.attempts", attempts);
+                    }
+                    loginBookkeeping.lockAccount(user.id(), LocalDateTime.now());
                 }
-            });
+            }
 
-            logger.warn("Falha na autenticação para usuário: {} - {}", request.getEmail(), ex.getMessage());
+            logger.warn("Falha na autenticação (ID: {}): {}", user != null ? user.id() : null, ex.getMessage());
             throw new RuntimeException("Credenciais inválidas");
 
         } catch (Exception e) {
-            span.recordException(e)
-                    .setStatus(StatusCode.ERROR, "Login failed: " + e.getMessage())
-                    .addEvent("login.failed.unexpected_error")
-                    .setAttribute("error.type", e.getClass().getSimpleName());
+            if (recording) {
+                span.recordException(e)
+                        .setStatus(StatusCode.ERROR, "Login failed: " + e.getMessage())
+                        .addEvent("login.failed.unexpected_error")
+                        .setAttribute("error.type", e.getClass().getSimpleName());
+            }
 
-            logger.error("Erro inesperado durante login para usuário: {}", request.getEmail(), e);
+            if (rejection == null) {
+                logger.error("Erro inesperado durante login", e);
+            } else {
+                logger.debug("Login recusado: {}", rejection);
+            }
             throw e;
 
         } finally {
+            metrics.recordLogin(start, success);
+            metrics.recordLoginDbStatements(SqlStatementCounter.end());
+            if (!success) {
+                metrics.recordLoginRejected(rejection != null ? rejection : AuthMetrics.LoginRejection.ERROR);
+            }
             span.end();
         }
     }
@@ -188,16 +259,15 @@ public class AuthService {
      * Registrar novo usuário
      */
     public AuthDto.UserInfo register(AuthDto.RegisterRequest request) {
-        logger.info("Iniciando processo de registro - Email: {}, Role: {}",
-                request.getEmail(), request.getRole());
+        logger.info("Iniciando processo de registro - Role: {}", request.getRole());
 
-        // Verificar se o email já existe
-        if (userRepository.existsByEmail(request.getEmail())) {
-            logger.warn("Tentativa de registro com email já existente: {}", request.getEmail());
-            throw new RuntimeException("Email já cadastrado");
+        // Verificar se o email já existe; o índice dispensa a consulta quando o email certamente é novo
+        if (emailIndex.mightContain(request.getEmail()) && userRepository.existsByEmail(request.getEmail())) {
+            logger.warn("Tentativa de registro com email já existente");
+            throw new EmailAlreadyRegisteredException();
         }
 
-        logger.debug("Email disponível para registro: {}", request.getEmail());
+        logger.debug("Email disponível para registro");
 
         // Criar novo usuário
         User user = User.builder()
@@ -215,11 +285,17 @@ public class AuthService {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        logger.debug("Salvando usuário no banco de dados: {}", request.getEmail());
-        user = userRepository.save(user);
+        logger.debug("Salvando usuário no banco de dados");
+        try {
+            // Flush imediato para a unique constraint de email falhar aqui, e não no commit
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            logger.warn("Registro concorrente com email já existente");
+            throw new EmailAlreadyRegisteredException();
+        }
+        emailIndex.put(user.getEmail());
 
-        logger.info("Usuário registrado com sucesso - ID: {}, Email: {}, UserType: {}",
-                user.getId(), user.getEmail(), user.getRole());
+        logger.info("Usuário registrado com sucesso - ID: {}, UserType: {}", user.getId(), user.getRole());
 
         return buildUserInfo(user);
     }
@@ -228,6 +304,18 @@ public class AuthService {
      * Renovar access token usando refresh token
      */
     public AuthDto.TokenResponse refreshToken(AuthDto.RefreshTokenRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            AuthDto.TokenResponse response = doRefreshToken(request);
+            success = true;
+            return response;
+        } finally {
+            metrics.recordRefresh(start, success);
+        }
+    }
+
+    private AuthDto.TokenResponse doRefreshToken(AuthDto.RefreshTokenRequest request) {
         String refreshTokenValue = request.getRefreshToken();
 
         // Validar refresh token
@@ -235,22 +323,23 @@ public class AuthService {
             throw new RuntimeException("Refresh token inválido");
         }
 
-        // Buscar refresh token no banco
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
+        // Buscar refresh token no store (JPA ou Redis)
+        RefreshTokenRecord refreshToken = refreshTokenStore.find(refreshTokenValue)
                 .orElseThrow(() -> new RuntimeException("Refresh token não encontrado"));
 
         // Verificar se não foi revogado
-        if (refreshToken.getRevoked()) {
+        if (refreshToken.revoked()) {
             throw new RuntimeException("Refresh token foi revogado");
         }
 
         // Verificar se não expirou
-        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (refreshToken.isExpired()) {
             throw new RuntimeException("Refresh token expirado");
         }
 
         // Buscar usuário
-        User user = refreshToken.getUser();
+        User user = userRepository.findById(refreshToken.userId())
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         if (!user.getActive()) {
             throw new RuntimeException("Usuário inativo");
         }
@@ -259,8 +348,7 @@ public class AuthService {
         String newAccessToken = jwtService.generateToken(user);
 
         // Marcar token como usado
-        refreshToken.markAsUsed();
-        refreshTokenRepository.save(refreshToken);
+        refreshTokenStore.markUsed(refreshTokenValue);
 
         return AuthDto.TokenResponse.builder()
                 .accessToken(newAccessToken)
@@ -275,8 +363,19 @@ public class AuthService {
      * Logout - revogar refresh token
      */
     public void logout(String refreshTokenValue) {
+        logout(refreshTokenValue, null);
+    }
+
+    /**
+     * Logout - revogar refresh token e o access token usado na requisição
+     */
+    public void logout(String refreshTokenValue, String accessTokenValue) {
         if (refreshTokenValue != null) {
-            refreshTokenRepository.revokeToken(refreshTokenValue, LocalDateTime.now());
+            refreshTokenStore.revoke(refreshTokenValue);
+            sessionService.invalidate(userIdOf(refreshTokenValue));
+        }
+        if (accessTokenValue != null) {
+            accessTokenRevocation.revokeAccessToken(accessTokenValue);
         }
     }
 
@@ -284,10 +383,13 @@ public class AuthService {
      * Logout de todos os dispositivos
      */
     public void logoutFromAllDevices(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
 
-        refreshTokenRepository.revokeAllUserTokens(user, LocalDateTime.now());
+        refreshTokenStore.revokeAllUserTokens(userId);
+        sessionService.invalidate(userId);
+        accessTokenRevocation.revokeUserTokens(userId);
     }
 
     /**
@@ -306,24 +408,30 @@ public class AuthService {
         userRepository.updatePassword(userId, passwordEncoder.encode(request.getNewPassword()), LocalDateTime.now());
 
         // Revogar todos os tokens do usuário
-        refreshTokenRepository.revokeAllUserTokens(user, LocalDateTime.now());
+        refreshTokenStore.revokeAllUserTokens(userId);
+        sessionService.invalidate(userId);
+        accessTokenRevocation.revokeUserTokens(userId);
     }
 
     /**
      * Salvar refresh token
      */
     private void saveRefreshToken(User user, String tokenValue, String deviceInfo, String ipAddress) {
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(tokenValue)
-                .user(user)
-                .deviceInfo(deviceInfo)
-                .ipAddress(ipAddress)
-                .expiresAt(LocalDateTime.now().plusNanos(jwtService.getRefreshExpirationTime() * 1_000_000))
-                .revoked(false)
-                .createdAt(LocalDateTime.now())
-                .build();
+        refreshTokenStore.save(user.getId(), tokenValue, deviceInfo, ipAddress,
+                LocalDateTime.now().plusNanos(jwtService.getRefreshExpirationTime() * 1_000_000));
+        sessionService.invalidate(user.getId());
+    }
 
-        refreshTokenRepository.save(refreshToken);
+    /**
+     * userId do claim do refresh token; null se o token não puder ser lido
+     * (a lista em cache expira pelo TTL)
+     */
+    private Long userIdOf(String refreshTokenValue) {
+        try {
+            return jwtService.extractUserId(refreshTokenValue);
+        } catch (RuntimeException ex) {
+            return null;
+        }
     }
 
     /**
@@ -347,32 +455,55 @@ public class AuthService {
                 .build();
     }
 
+    private AuthDto.UserInfo buildUserInfo(UserProfileView user) {
+        return AuthDto.UserInfo.builder()
+                .id(user.id())
+                .email(user.email())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .fullName(user.fullName())
+                .phone(user.phone())
+                .role(user.role())
+                .roleDisplayName(user.role().getDisplayName())
+                .emailVerified(user.emailVerified())
+                .phoneVerified(user.phoneVerified())
+                .active(user.active())
+                .lastLoginAt(user.lastLoginAt())
+                .createdAt(user.createdAt())
+                .build();
+    }
+
     /**
-     * Get user by ID
+     * Get user by ID (perfil): projeção em transação somente leitura
      */
+    @Transactional(readOnly = true)
     public AuthDto.UserInfo getUserById(Long userId) {
         Span span = tracer.spanBuilder("auth.getUserById")
                 .setAttribute("service.name", SERVICE_NAME)
                 .setAttribute("operation", "user.get_by_id")
-                .setAttribute("user.id", userId.toString())
+                .setAttribute("user.id", userId)
                 .startSpan();
+        boolean recording = span.isRecording();
 
         try (Scope scope = span.makeCurrent()) {
             logger.debug("Buscando usuário por ID: {}", userId);
 
-            User user = userRepository.findById(userId)
+            UserProfileView user = userRepository.findProfileById(userId)
                     .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-            span.addEvent("user.found")
-                    .setAttribute("user.email", user.getEmail())
-                    .setAttribute("user.role", user.getRole().toString());
+            if (recording) {
+                span.addEvent("user.found")
+                        .setAttribute("user.role", user.role().toString());
+            }
             span.setStatus(StatusCode.OK);
 
             return buildUserInfo(user);
 
         } catch (Exception ex) {
-            span.recordException(ex)
-                    .setStatus(StatusCode.ERROR, "Get user by ID failed: " + ex.getMessage());
+            if (recording) {
+                span.recordException(ex)
+                        .setStatus(StatusCode.ERROR, "Get user by ID failed: " + ex.getMessage());
+            }
             logger.error("Erro ao buscar usuário por ID: {}", userId, ex);
             throw ex;
         } finally {
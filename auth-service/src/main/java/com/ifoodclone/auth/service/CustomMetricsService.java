@@ -5,6 +5,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import io.micrometer.core.instrument.Counter;
@@ -14,7 +15,12 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.tracing.annotation.NewSpan;
 import io.micrometer.tracing.annotation.SpanTag;
 
+/**
+ * Métricas simuladas para demonstração (com Thread.sleep); só nos perfis
+ * dev/local. As métricas reais de autenticação estão em {@link AuthMetrics}.
+ */
 @Service
+@Profile({ "dev", "local" })
 public class CustomMetricsService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomMetricsService.class);
@@ -52,9 +58,8 @@ public class CustomMetricsService {
     }
 
     @NewSpan("metrics-validation")
-    public void recordValidation(@SpanTag("validation.result") boolean success,
-            @SpanTag("validation.email") String email) {
-        logger.info("Recording validation metric for email: {} with result: {}", email, success);
+    public void recordValidation(@SpanTag("validation.result") boolean success) {
+        logger.debug("Recording validation metric with result: {}", success);
 
         if (success) {
             validationSuccessCounter.increment();
@@ -123,7 +128,7 @@ public class CustomMetricsService {
         logger.info("Simulating high load scenario");
 
         for (int i = 0; i < 10; i++) {
-            recordValidation(ThreadLocalRandom.current().nextBoolean(), "load-test-" + i + "@example.com");
+            recordValidation(ThreadLocalRandom.current().nextBoolean());
             recordBusinessOperation("load-test-operation");
             trackConnection("open");
         }
@@ -134,7 +139,7 @@ public class CustomMetricsService {
         logger.info("Simulating error scenario");
 
         for (int i = 0; i < 5; i++) {
-            recordValidation(false, "error-test-" + i + "@example.com");
+            recordValidation(false);
             recordBusinessOperation("error-operation");
         }
     }
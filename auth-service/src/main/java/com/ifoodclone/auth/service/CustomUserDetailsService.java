@@ -4,6 +4,7 @@ import com.ifoodclone.auth.entity.User;
 import com.ifoodclone.auth.repository.UserRepository;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,7 +22,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
+        // Somente leitura: o User vira o principal e nunca é alterado via dirty checking
+        User user = userRepository.findReadOnlyByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format("Usuário com email '%s' não encontrado", username)));
 
@@ -64,4 +66,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return user;
     }
-}
\ No newline at end of file
+
+    /**
+     * Regrava o hash da senha com o encoder atual. Chamado pelo
+     * DaoAuthenticationProvider após um login bem-sucedido quando o hash
+     * armazenado usa custo/algoritmo desatualizado.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePasswordHash(user.getId(), newEncodedPassword);
+        user.setPassword(newEncodedPassword);
+        return user;
+    }
+}
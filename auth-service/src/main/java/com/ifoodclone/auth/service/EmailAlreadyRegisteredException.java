@@ -0,0 +1,11 @@
+package com.ifoodclone.auth.service;
+
+/**
+ * Email já usado por outro usuário (verificação prévia ou unique constraint)
+ */
+public class EmailAlreadyRegisteredException extends RuntimeException {
+
+    public EmailAlreadyRegisteredException() {
+        super("Email já cadastrado");
+    }
+}
@@ -0,0 +1,202 @@
+package com.ifoodclone.auth.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bloom filter dos emails cadastrados, usado no registro para evitar o
+ * existsByEmail quando o email certamente não existe.
+ *
+ * "Não contém" é definitivo apenas para o que este nó viu (carga inicial +
+ * registros locais); emails criados por outras instâncias depois da carga não
+ * aparecem aqui. Isso é aceitável porque a unique constraint de users.email
+ * continua sendo a garantia real: um falso negativo só troca a consulta prévia
+ * por uma violação de constraint, que vira 409.
+ *
+ * Enquanto a carga não terminou, mightContain responde true e o registro
+ * consulta o banco como antes.
+ */
+@Component
+public class EmailAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailAvailabilityIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int fetchSize;
+    private final Counter absentHits;
+    private final Counter fallbackQueries;
+
+    private volatile BloomBits bits;
+    private volatile boolean ready;
+
+    public EmailAvailabilityIndex(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.registration.email-index.enabled:true}") boolean enabled,
+            @Value("${app.registration.email-index.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${app.registration.email-index.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.registration.email-index.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.fetchSize = fetchSize;
+        this.bits = new BloomBits(expectedInsertions, falsePositiveRate);
+        this.absentHits = Counter.builder("auth.register.email.precheck")
+                .description("Verificações de email no registro por resultado")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.fallbackQueries = Counter.builder("auth.register.email.precheck")
+                .description("Verificações de email no registro por resultado")
+                .tag("result", "query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega os emails existentes em streaming, com o filtro dimensionado
+     * para o dobro da base atual
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            BloomBits fresh = new BloomBits(Math.max(expectedInsertions, (existing != null ? existing : 0) * 2),
+                    falsePositiveRate);
+            // Registros concorrentes passam a cair no filtro novo a partir daqui
+            bits = fresh;
+
+            // Cursor com fetch size só funciona no Postgres dentro de transação (autocommit off)
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streaming.setFetchSize(fetchSize);
+            readOnlyTx.executeWithoutResult(status -> streaming.query("SELECT email FROM users", rs -> {
+                fresh.put(normalize(rs.getString(1)));
+            }));
+            ready = true;
+            logger.info("Índice de emails carregado: {} emails em {} ms", existing, System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            logger.warn("Falha ao carregar índice de emails, registro seguirá consultando o banco: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Recarrega o índice do zero (restore de checkpoint); até terminar, o
+     * registro volta a consultar o banco, já que o filtro antigo não conhece
+     * os emails cadastrados depois da imagem
+     */
+    public void reload() {
+        ready = false;
+        warmUp();
+    }
+
+    /**
+     * false = email certamente não cadastrado (até onde este nó sabe);
+     * true = pode existir, consultar o banco
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !ready) {
+            fallbackQueries.increment();
+            return true;
+        }
+        if (bits.mightContain(normalize(email))) {
+            fallbackQueries.increment();
+            return true;
+        }
+        absentHits.increment();
+        return false;
+    }
+
+    public void put(String email) {
+        if (enabled) {
+            bits.put(normalize(email));
+        }
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Bit array thread-safe com k funções de hash derivadas de um hash de 64 bits
+     * (double hashing)
+     */
+    static final class BloomBits {
+
+        private final AtomicLongArray words;
+        private final long numBits;
+        private final int numHashes;
+
+        BloomBits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.numBits = Math.max(64, m);
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact((numBits + 63) >>> 6));
+        }
+
+        void put(String value) {
+            long hash = hash64(value);
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(hash + i * h2, numBits);
+                long mask = 1L << bit;
+                words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(hash + i * h2, numBits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * FNV-1a de 64 bits com finalização do MurmurHash3
+         */
+        private static long hash64(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53e87ffL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ifoodclone.auth.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Refresh tokens na tabela refresh_tokens (comportamento original)
+ */
+@Component
+@Transactional
+@ConditionalOnProperty(name = "app.refresh-token-store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void save(Long userId, String token, String deviceInfo, String ipAddress, LocalDateTime expiresAt) {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .token(token)
+                .user(userRepository.getReferenceById(userId))
+                .deviceInfo(deviceInfo)
+                .ipAddress(ipAddress)
+                .expiresAt(expiresAt)
+                .revoked(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshTokenRecord> find(String token) {
+        return refreshTokenRepository.findUnexpiredByToken(token, LocalDateTime.now())
+                .map(rt -> new RefreshTokenRecord(rt.getUser().getId(), rt.getDeviceInfo(), rt.getExpiresAt(),
+                        Boolean.TRUE.equals(rt.getRevoked())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionRecord> findActiveSessions(Long userId) {
+        return refreshTokenRepository.findActiveSessionsByUser(userRepository.getReferenceById(userId),
+                LocalDateTime.now()).stream()
+                .map(s -> new SessionRecord(s.id().toString(), s.userId(), s.deviceInfo(), s.ipAddress(),
+                        s.createdAt(), s.usedAt(), s.expiresAt()))
+                .toList();
+    }
+
+    @Override
+    public boolean revokeSession(Long userId, String sessionId) {
+        long id;
+        try {
+            id = Long.parseLong(sessionId);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        return refreshTokenRepository.revokeSession(userRepository.getReferenceById(userId), id,
+                LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public void markUsed(String token) {
+        refreshTokenRepository.updateLastUsedAtByToken(token, LocalDateTime.now());
+    }
+
+    @Override
+    public void revoke(String token) {
+        refreshTokenRepository.revokeToken(token, LocalDateTime.now());
+    }
+
+    @Override
+    public void revokeAllUserTokens(Long userId) {
+        refreshTokenRepository.revokeAllUserTokens(userRepository.getReferenceById(userId), LocalDateTime.now());
+    }
+
+    @Override
+    public void revokeTokensByDevice(Long userId, String deviceInfo) {
+        refreshTokenRepository.revokeTokensByDevice(userRepository.getReferenceById(userId), deviceInfo,
+                LocalDateTime.now());
+    }
+}
@@ -1,20 +1,33 @@
 package com.ifoodclone.auth.service;
 
+import java.security.Key;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
@@ -28,6 +41,46 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpirationMs;
 
+    // Com ES256 ativo, aceita ou não tokens HS256 emitidos antes da troca (só durante a migração)
+    @Value("${app.jwt.hmac-fallback.enabled:false}")
+    private boolean hmacFallbackEnabled;
+
+    // Instante da troca para ES256 (ISO-8601), obrigatório com o fallback ligado;
+    // tokens HS256 com iat posterior são rejeitados
+    @Value("${app.jwt.hmac-fallback.issued-before:}")
+    private String hmacFallbackIssuedBefore;
+
+    // Presente com app.jwt.signing.algorithm=ES256; sem ele os tokens usam HMAC
+    @Autowired(required = false)
+    private JwtSigningKeys signingKeys;
+
+    @Autowired(required = false)
+    private AuthMetrics metrics;
+
+    private volatile SecretKey hmacKey;
+    private volatile JwtParser parser;
+
+    /**
+     * Sem o instante da troca, o fallback aceitaria qualquer token assinado com
+     * o segredo HMAC, inclusive os emitidos depois da migração: recusa subir
+     */
+    @PostConstruct
+    void validateHmacFallback() {
+        if (signingKeys == null || !hmacFallbackEnabled) {
+            return;
+        }
+        if (hmacFallbackIssuedBefore == null || hmacFallbackIssuedBefore.isBlank()) {
+            throw new IllegalStateException("app.jwt.hmac-fallback.enabled exige "
+                    + "app.jwt.hmac-fallback.issued-before (JWT_HMAC_FALLBACK_ISSUED_BEFORE)");
+        }
+        try {
+            Instant.parse(hmacFallbackIssuedBefore);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalStateException("app.jwt.hmac-fallback.issued-before inválido: "
+                    + hmacFallbackIssuedBefore, ex);
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -36,6 +89,10 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     public String extractTokenType(String token) {
         return extractClaim(token, claims -> claims.get("type", String.class));
     }
@@ -48,18 +105,36 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
 
+    /**
+     * Valida assinatura e expiração e devolve todos os claims em um único
+     * parse; vazio se o token for inválido ou estiver expirado
+     */
+    public Optional<Claims> parseValidClaims(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (metrics == null) {
+            return verify(token);
+        }
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = verify(token);
+            valid = true;
+            return claims;
+        } finally {
+            metrics.recordTokenVerify(start, valid);
+        }
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -90,14 +165,13 @@ public class JwtService {
             extraClaims.put("emailVerified", user.getEmailVerified());
         }
 
-        return Jwts
+        return sign(Jwts
                 .builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey())
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expiration)));
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
@@ -135,9 +209,62 @@ public class JwtService {
         return refreshExpirationMs;
     }
 
+    private String sign(JwtBuilder builder) {
+        if (signingKeys != null) {
+            return builder
+                    .header().keyId(signingKeys.keyId()).and()
+                    .signWith(signingKeys.privateKey(), Jwts.SIG.ES256)
+                    .compact();
+        }
+        return builder.signWith(getSignKey()).compact();
+    }
+
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().keyLocator(this::verificationKey).build();
+            parser = current;
+        }
+        return current;
+    }
+
+    private Claims verify(String token) {
+        Jws<Claims> jws = parser().parseSignedClaims(token);
+        if (signingKeys != null && !JwtSigningKeys.ALGORITHM.equals(jws.getHeader().getAlgorithm())) {
+            Date issuedAt = jws.getPayload().getIssuedAt();
+            if (issuedAt == null || hmacFallbackIssuedBefore == null || hmacFallbackIssuedBefore.isBlank()
+                    || !issuedAt.toInstant().isBefore(Instant.parse(hmacFallbackIssuedBefore))) {
+                throw new UnsupportedJwtException("Token HS256 emitido depois da troca para ES256");
+            }
+        }
+        return jws.getPayload();
+    }
+
+    /**
+     * Chave de verificação pelo alg do header. Tokens HS256 emitidos antes da
+     * troca para ES256 só são aceitos com app.jwt.hmac-fallback.enabled e com
+     * iat anterior a app.jwt.hmac-fallback.issued-before.
+     */
+    private Key verificationKey(Header header) {
+        if (signingKeys == null) {
+            return getSignKey();
+        }
+        if (JwtSigningKeys.ALGORITHM.equals(header.getAlgorithm())) {
+            return signingKeys.publicKey();
+        }
+        if (!hmacFallbackEnabled) {
+            throw new UnsupportedJwtException("Tokens HS256 não são mais aceitos");
+        }
+        return getSignKey();
+    }
+
     private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey current = hmacKey;
+        if (current == null) {
+            current = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+            hmacKey = current;
+        }
+        return current;
     }
 
     /**
@@ -173,12 +300,10 @@ public class JwtService {
      * Gera token com expiração personalizada para desenvolvimento
      */
     public String generateLongLivedToken(Map<String, Object> extraClaims, int validityDays) {
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .claims(extraClaims)
                 .subject((String) extraClaims.get("sub"))
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + (validityDays * 24 * 60 * 60 * 1000L)))
-                .signWith(getSignKey())
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + (validityDays * 24 * 60 * 60 * 1000L))));
     }
 }
\ No newline at end of file
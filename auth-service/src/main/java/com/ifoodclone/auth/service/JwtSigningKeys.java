@@ -0,0 +1,124 @@
+package com.ifoodclone.auth.service;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Par de chaves EC P-256 usado para assinar os JWT com ES256.
+ *
+ * As chaves vêm de app.jwt.signing (PKCS#8 / X.509 em Base64). Sem chave
+ * configurada o serviço não sobe, a menos que app.jwt.signing.allow-ephemeral-key
+ * esteja ligado (perfis dev e test): nesse caso um par efêmero é gerado no
+ * startup, e cada instância teria uma chave diferente.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.signing.algorithm", havingValue = "ES256", matchIfMissing = true)
+public class JwtSigningKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final int COORDINATE_BYTES = 32;
+
+    private final String keyId;
+    private final PrivateKey privateKey;
+    private final ECPublicKey publicKey;
+    private final Map<String, Object> jwks;
+
+    public JwtSigningKeys(@Value("${app.jwt.signing.key-id:}") String keyId,
+            @Value("${app.jwt.signing.private-key:}") String privateKeyBase64,
+            @Value("${app.jwt.signing.public-key:}") String publicKeyBase64,
+            @Value("${app.jwt.signing.allow-ephemeral-key:false}") boolean allowEphemeralKey) {
+        if ((privateKeyBase64.isBlank() || publicKeyBase64.isBlank()) && !allowEphemeralKey) {
+            throw new IllegalStateException("Chave de assinatura JWT não configurada: defina JWT_SIGNING_PRIVATE_KEY "
+                    + "e JWT_SIGNING_PUBLIC_KEY (par efêmero só com app.jwt.signing.allow-ephemeral-key)");
+        }
+        try {
+            if (privateKeyBase64.isBlank() || publicKeyBase64.isBlank()) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                this.privateKey = keyPair.getPrivate();
+                this.publicKey = (ECPublicKey) keyPair.getPublic();
+                logger.warn("Nenhuma chave de assinatura JWT configurada; usando par ES256 efêmero");
+            } else {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                this.privateKey = keyFactory.generatePrivate(
+                        new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(privateKeyBase64)));
+                this.publicKey = (ECPublicKey) keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getMimeDecoder().decode(publicKeyBase64)));
+            }
+            this.keyId = keyId.isBlank() ? deriveKeyId(publicKey) : keyId;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Chave de assinatura JWT inválida", ex);
+        }
+        this.jwks = Map.of("keys", List.of(toJwk(keyId(), publicKey)));
+    }
+
+    public String keyId() {
+        return keyId;
+    }
+
+    public PrivateKey privateKey() {
+        return privateKey;
+    }
+
+    public ECPublicKey publicKey() {
+        return publicKey;
+    }
+
+    /**
+     * JWK Set com a chave pública atual, no formato de /.well-known/jwks.json
+     */
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    static Map<String, Object> toJwk(String keyId, ECPublicKey publicKey) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("kid", keyId);
+        jwk.put("x", encoder.encodeToString(coordinate(publicKey.getW().getAffineX())));
+        jwk.put("y", encoder.encodeToString(coordinate(publicKey.getW().getAffineY())));
+        return jwk;
+    }
+
+    // Coordenada sem sinal com tamanho fixo (RFC 7518, seção 6.2.1.2)
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return fixed;
+    }
+
+    // kid estável derivado da chave pública: mesma chave, mesmo kid em todas as instâncias
+    private static String deriveKeyId(ECPublicKey publicKey) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+}
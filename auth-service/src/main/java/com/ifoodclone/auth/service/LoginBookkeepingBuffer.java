@@ -0,0 +1,198 @@
+package com.ifoodclone.auth.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind das atualizações de login (lastLoginAt, tentativas falhadas,
+ * bloqueio). As mudanças são coalescidas por usuário em memória e gravadas em
+ * lote via JDBC a cada flush-interval-ms, fora da transação do request.
+ *
+ * A decisão de bloqueio usa o contador em memória, então não depende do flush.
+ */
+@Component
+public class LoginBookkeepingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginBookkeepingBuffer.class);
+
+    static final String FLUSH_SQL = "UPDATE users SET "
+            + "last_login_at = COALESCE(?, last_login_at), "
+            + "failed_login_attempts = CASE WHEN ? THEN 0 ELSE COALESCE(failed_login_attempts, 0) END + ?, "
+            + "account_locked = CASE WHEN ? THEN TRUE ELSE account_locked END, "
+            + "locked_at = COALESCE(?, locked_at) "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Cache<Long, Integer> failureCounts;
+    private final Cache<Long, LocalDateTime> lockedUsers;
+
+    public LoginBookkeepingBuffer(JdbcTemplate jdbcTemplate,
+            @Value("${app.security.account.lockout-duration:900000}") long lockoutDurationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        Duration window = Duration.ofMillis(lockoutDurationMs);
+        this.failureCounts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+        this.lockedUsers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Verifica se o usuário foi bloqueado por este nó e o bloqueio ainda não foi
+     * refletido na entidade carregada
+     */
+    public boolean isLocked(Long userId) {
+        return lockedUsers.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Registra login bem-sucedido: zera tentativas e atualiza lastLoginAt
+     */
+    public void recordSuccessfulLogin(Long userId, LocalDateTime loginTime) {
+        failureCounts.invalidate(userId);
+        pending.compute(userId, (id, update) -> {
+            PendingUpdate next = update != null ? update : new PendingUpdate();
+            next.lastLoginAt = loginTime;
+            next.resetFailures = true;
+            next.failedDelta = 0;
+            return next;
+        });
+    }
+
+    /**
+     * Registra tentativa falhada e retorna o total atual de falhas do usuário.
+     *
+     * @param persistedAttempts valor de failedLoginAttempts lido do banco, usado
+     *                          como base quando este nó ainda não tem contador
+     */
+    public int recordFailedLogin(Long userId, int persistedAttempts) {
+        int attempts = failureCounts.asMap().merge(userId, persistedAttempts + 1, (current, one) -> current + 1);
+        pending.compute(userId, (id, update) -> {
+            PendingUpdate next = update != null ? update : new PendingUpdate();
+            next.failedDelta++;
+            return next;
+        });
+        return attempts;
+    }
+
+    /**
+     * Bloqueia a conta imediatamente em memória e agenda a gravação
+     */
+    public void lockAccount(Long userId, LocalDateTime lockedAt) {
+        lockedUsers.put(userId, lockedAt);
+        pending.compute(userId, (id, update) -> {
+            PendingUpdate next = update != null ? update : new PendingUpdate();
+            next.lockedAt = lockedAt;
+            return next;
+        });
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Grava as atualizações pendentes em um único batch JDBC
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-bookkeeping.flush-interval-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, PendingUpdate>> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            PendingUpdate update = pending.remove(userId);
+            if (update != null) {
+                batch.add(Map.entry(userId, update));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Long userId = batch.get(i).getKey();
+                    PendingUpdate update = batch.get(i).getValue();
+                    setTimestamp(ps, 1, update.lastLoginAt);
+                    ps.setBoolean(2, update.resetFailures);
+                    ps.setInt(3, update.failedDelta);
+                    ps.setBoolean(4, update.lockedAt != null);
+                    setTimestamp(ps, 5, update.lockedAt);
+                    ps.setLong(6, userId);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            logger.debug("Flush de login bookkeeping: {} usuários", batch.size());
+        } catch (Exception ex) {
+            // Devolve ao buffer para a próxima rodada sem perder atualizações mais novas
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), PendingUpdate::mergeNewer));
+            logger.warn("Falha no flush de login bookkeeping ({} usuários): {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    /**
+     * Estado coalescido de um usuário entre dois flushes
+     */
+    static final class PendingUpdate {
+        LocalDateTime lastLoginAt;
+        boolean resetFailures;
+        int failedDelta;
+        LocalDateTime lockedAt;
+
+        /**
+         * Combina uma atualização que falhou no flush (older) com a que chegou
+         * depois (newer)
+         */
+        static PendingUpdate mergeNewer(PendingUpdate newer, PendingUpdate older) {
+            PendingUpdate merged = new PendingUpdate();
+            merged.lastLoginAt = newer.lastLoginAt != null ? newer.lastLoginAt : older.lastLoginAt;
+            merged.resetFailures = newer.resetFailures || older.resetFailures;
+            merged.failedDelta = newer.resetFailures ? newer.failedDelta : older.failedDelta + newer.failedDelta;
+            merged.lockedAt = newer.lockedAt != null ? newer.lockedAt : older.lockedAt;
+            return merged;
+        }
+    }
+}
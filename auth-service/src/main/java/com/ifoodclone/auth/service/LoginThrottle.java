@@ -0,0 +1,191 @@
+package com.ifoodclone.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limite de tentativas de login com janela deslizante no Redis, por conta,
+ * por IP e por par (conta, IP), compartilhado entre as instâncias.
+ *
+ * Cada escopo usa dois contadores de janela fixa (atual e anterior); a
+ * estimativa é anterior * (fração restante da janela) + atual. A verificação
+ * acontece antes de carregar o usuário e de rodar o PasswordEncoder, então um
+ * ataque bloqueado não consome BCrypt nem gera escrita na tabela users.
+ * Escopos bloqueados ficam em cache local por alguns segundos para que as
+ * tentativas seguintes nem cheguem ao Redis.
+ *
+ * Com o Redis indisponível o login segue liberado (fail-open); o bloqueio de
+ * conta do LoginBookkeepingBuffer continua valendo.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private static final String KEY_PREFIX = "lt:";
+
+    // KEYS: (atual, anterior) para conta, IP e par; ARGV[1] = peso da janela anterior, ARGV[2..4] = limites.
+    // Retorna o índice (1..3) do primeiro escopo acima do limite, ou 0.
+    private static final RedisScript<Long> CHECK_SCRIPT = new DefaultRedisScript<>("""
+            local weight = tonumber(ARGV[1])
+            for i = 1, 3 do
+                local current = tonumber(redis.call('GET', KEYS[2 * i - 1]) or '0')
+                local previous = tonumber(redis.call('GET', KEYS[2 * i]) or '0')
+                if previous * weight + current >= tonumber(ARGV[i + 1]) then
+                    return i
+                end
+            end
+            return 0
+            """, Long.class);
+
+    // Incrementa os contadores da janela atual e renova o TTL (duas janelas)
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #KEYS do
+                redis.call('INCR', KEYS[i])
+                redis.call('PEXPIRE', KEYS[i], ARGV[1])
+            end
+            return #KEYS
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final long windowMs;
+    private final String[] limits;
+    private final Cache<String, Long> blockedUntil;
+
+    Clock clock = Clock.systemUTC();
+
+    public LoginThrottle(StringRedisTemplate redisTemplate,
+            @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${app.security.login-throttle.window-ms:900000}") long windowMs,
+            @Value("${app.security.login-throttle.max-per-account:10}") int maxPerAccount,
+            @Value("${app.security.login-throttle.max-per-ip:100}") int maxPerIp,
+            @Value("${app.security.login-throttle.max-per-account-ip:5}") int maxPerAccountIp,
+            @Value("${app.security.login-throttle.local-block-ms:5000}") long localBlockMs) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.limits = new String[] {
+                Integer.toString(maxPerAccount), Integer.toString(maxPerIp), Integer.toString(maxPerAccountIp) };
+        this.blockedUntil = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(localBlockMs))
+                .build();
+    }
+
+    /**
+     * Retorna 0 se a tentativa pode prosseguir, ou quantos ms esperar
+     */
+    public long check(String email, String ipAddress) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = clock.millis();
+        String[] scopes = scopeKeys(email, ipAddress);
+
+        for (String scope : scopes) {
+            Long until = blockedUntil.getIfPresent(scope);
+            if (until != null && until > now) {
+                return until - now;
+            }
+        }
+
+        long bucket = now / windowMs;
+        double previousWeight = 1.0 - (double) (now % windowMs) / windowMs;
+        try {
+            Long exceeded = redisTemplate.execute(CHECK_SCRIPT, List.of(
+                    scopes[0] + ":" + bucket, scopes[0] + ":" + (bucket - 1),
+                    scopes[1] + ":" + bucket, scopes[1] + ":" + (bucket - 1),
+                    scopes[2] + ":" + bucket, scopes[2] + ":" + (bucket - 1)),
+                    Double.toString(previousWeight), limits[0], limits[1], limits[2]);
+            if (exceeded == null || exceeded == 0) {
+                return 0;
+            }
+            // A janela anterior deixa de pesar quando a atual termina
+            long retryAfterMs = windowMs - (now % windowMs);
+            blockedUntil.put(scopes[exceeded.intValue() - 1], now + retryAfterMs);
+            return retryAfterMs;
+        } catch (Exception ex) {
+            logger.warn("Login throttle indisponível, liberando tentativa: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Conta uma tentativa falhada (credenciais inválidas ou conta inexistente)
+     */
+    public void recordFailure(String email, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        String[] scopes = scopeKeys(email, ipAddress);
+        long bucket = clock.millis() / windowMs;
+        try {
+            redisTemplate.execute(RECORD_SCRIPT,
+                    List.of(scopes[0] + ":" + bucket, scopes[1] + ":" + bucket, scopes[2] + ":" + bucket),
+                    Long.toString(windowMs * 2));
+        } catch (Exception ex) {
+            logger.warn("Falha ao registrar tentativa no login throttle: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Login bem-sucedido zera os contadores da conta e do par; o do IP continua
+     */
+    public void recordSuccess(String email, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        String[] scopes = scopeKeys(email, ipAddress);
+        long bucket = clock.millis() / windowMs;
+        try {
+            redisTemplate.delete(List.of(
+                    scopes[0] + ":" + bucket, scopes[0] + ":" + (bucket - 1),
+                    scopes[2] + ":" + bucket, scopes[2] + ":" + (bucket - 1)));
+        } catch (Exception ex) {
+            logger.warn("Falha ao limpar contadores do login throttle: {}", ex.getMessage());
+        }
+        blockedUntil.invalidate(scopes[0]);
+        blockedUntil.invalidate(scopes[2]);
+    }
+
+    /**
+     * Chaves base de conta, IP e par. O email entra como hash para não ficar
+     * em claro nas chaves do Redis.
+     */
+    static String[] scopeKeys(String email, String ipAddress) {
+        String account = accountHash(email);
+        String ip = ipAddress != null ? ipAddress : "unknown";
+        return new String[] {
+                KEY_PREFIX + "a:" + account,
+                KEY_PREFIX + "i:" + ip,
+                KEY_PREFIX + "ai:" + account + ":" + ip };
+    }
+
+    private static String accountHash(String email) {
+        String normalized = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+}
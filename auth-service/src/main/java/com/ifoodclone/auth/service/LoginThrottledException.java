@@ -0,0 +1,18 @@
+package com.ifoodclone.auth.service;
+
+/**
+ * Login recusado pelo {@link LoginThrottle} antes de verificar a senha
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterMs) {
+        super("Muitas tentativas de login. Tente novamente mais tarde");
+        this.retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ifoodclone.auth.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Eleição de líder simples para jobs agendados: um lease no Redis (SET NX PX)
+ * por nome de job. Só a instância que detém o lease executa a rodada.
+ */
+@Component
+public class RedisLeaderLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisLeaderLock.class);
+    private static final String KEY_PREFIX = "leader:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RedisLeaderLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Tenta obter o lease; retorna false se outra instância já o detém ou se o
+     * Redis estiver indisponível
+     */
+    public boolean tryAcquire(String jobName, Duration lease) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(KEY_PREFIX + jobName, instanceId, lease));
+        } catch (Exception ex) {
+            logger.warn("Não foi possível obter lease do job {}: {}", jobName, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Libera o lease somente se ainda pertencer a esta instância
+     */
+    public void release(String jobName) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + jobName), instanceId);
+        } catch (Exception ex) {
+            logger.warn("Falha ao liberar lease do job {}: {}", jobName, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.ifoodclone.auth.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refresh tokens no Redis, chaveados pelo SHA-256 do token.
+ *
+ * Layout:
+ * - rt:{hash} -> hash {u: userId, d: device, i: ip, c: criação epoch ms, e: expiry epoch ms,
+ *   r: 0|1, t: último uso epoch ms}, TTL até a expiração
+ * - rt:user:{userId} -> set de hashes, usado para listar sessões e revogar por usuário/device
+ *
+ * Os scripts de revogação acessam chaves rt:{hash} derivadas do set, portanto
+ * assumem Redis standalone/sentinel (não cluster).
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-token-store.type", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    static final String TOKEN_KEY_PREFIX = "rt:";
+    static final String USER_KEY_PREFIX = "rt:user:";
+
+    private static final String FIELD_USER = "u";
+    private static final String FIELD_DEVICE = "d";
+    private static final String FIELD_EXPIRES = "e";
+    private static final String FIELD_REVOKED = "r";
+    private static final String FIELD_USED = "t";
+    private static final String FIELD_IP = "i";
+    private static final String FIELD_CREATED = "c";
+
+    private static final String[] SESSION_FIELDS = { FIELD_DEVICE, FIELD_IP, FIELD_CREATED, FIELD_USED,
+            FIELD_EXPIRES, FIELD_REVOKED };
+
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "redis.call('HSET', KEYS[1], 'r', '1') return 1 end return 0",
+            Long.class);
+
+    // Só grava se a chave existe: um HSET depois da expiração criaria um hash sem TTL
+    private static final RedisScript<Long> MARK_USED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "redis.call('HSET', KEYS[1], 't', ARGV[1]) return 1 end return 0",
+            Long.class);
+
+    // ARGV[1] = prefixo das chaves de token, ARGV[2] = "1" para filtrar por device, ARGV[3] = device
+    private static final RedisScript<Long> REVOKE_USER_SCRIPT = new DefaultRedisScript<>(
+            "local n = 0 "
+                    + "for _, h in ipairs(redis.call('SMEMBERS', KEYS[1])) do "
+                    + "  local k = ARGV[1] .. h "
+                    + "  if redis.call('EXISTS', k) == 1 then "
+                    + "    if ARGV[2] ~= '1' or redis.call('HGET', k, 'd') == ARGV[3] then "
+                    + "      redis.call('HSET', k, 'r', '1') n = n + 1 "
+                    + "    end "
+                    + "  else redis.call('SREM', KEYS[1], h) end "
+                    + "end return n",
+            Long.class);
+
+    // KEYS[1] = set do usuário, KEYS[2] = chave do token; só revoga se o hash pertence ao usuário
+    private static final RedisScript<Long> REVOKE_SESSION_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 and redis.call('EXISTS', KEYS[2]) == 1 "
+                    + "and redis.call('HGET', KEYS[2], 'r') ~= '1' then "
+                    + "redis.call('HSET', KEYS[2], 'r', '1') return 1 end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<RefreshTokenAuditSink> auditSink;
+    private final long refreshExpirationMs;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate,
+            ObjectProvider<RefreshTokenAuditSink> auditSink,
+            @Value("${app.jwt.refresh-expiration}") long refreshExpirationMs) {
+        this.redisTemplate = redisTemplate;
+        this.auditSink = auditSink;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    @Override
+    public void save(Long userId, String token, String deviceInfo, String ipAddress, LocalDateTime expiresAt) {
+        String hash = RefreshTokenStore.hash(token);
+        String tokenKey = TOKEN_KEY_PREFIX + hash;
+        String userKey = USER_KEY_PREFIX + userId;
+        long expiresAtMs = toEpochMillis(expiresAt);
+        long ttlMs = Math.max(1, expiresAtMs - System.currentTimeMillis());
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_USER, userId.toString());
+        fields.put(FIELD_EXPIRES, Long.toString(expiresAtMs));
+        fields.put(FIELD_REVOKED, "0");
+        fields.put(FIELD_CREATED, Long.toString(System.currentTimeMillis()));
+        if (ipAddress != null) {
+            fields.put(FIELD_IP, ipAddress);
+        }
+        if (deviceInfo != null) {
+            fields.put(FIELD_DEVICE, deviceInfo);
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            conn.hMSet(tokenKey, fields);
+            conn.pExpire(tokenKey, ttlMs);
+            conn.sAdd(userKey, hash);
+            conn.pExpire(userKey, refreshExpirationMs);
+            return null;
+        });
+
+        auditSink.ifAvailable(sink -> sink.recordIssued(userId, hash, deviceInfo, ipAddress, expiresAt));
+    }
+
+    @Override
+    public Optional<RefreshTokenRecord> find(String token) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(TOKEN_KEY_PREFIX + RefreshTokenStore.hash(token),
+                List.of(FIELD_USER, FIELD_DEVICE, FIELD_EXPIRES, FIELD_REVOKED));
+
+        if (values == null || values.get(0) == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new RefreshTokenRecord(
+                Long.valueOf((String) values.get(0)),
+                (String) values.get(1),
+                toLocalDateTime((String) values.get(2)),
+                "1".equals(values.get(3))));
+    }
+
+    @Override
+    public List<SessionRecord> findActiveSessions(Long userId) {
+        Set<String> hashes = redisTemplate.opsForSet().members(USER_KEY_PREFIX + userId);
+        if (hashes == null || hashes.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> orderedHashes = new ArrayList<>(hashes);
+        List<Object> rows = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (String hash : orderedHashes) {
+                conn.hMGet(TOKEN_KEY_PREFIX + hash, SESSION_FIELDS);
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        List<SessionRecord> sessions = new ArrayList<>(orderedHashes.size());
+        for (int i = 0; i < orderedHashes.size(); i++) {
+            @SuppressWarnings("unchecked")
+            List<String> values = (List<String>) rows.get(i);
+            // Chave expirada (hash ainda no set) ou token revogado
+            if (values == null || values.get(4) == null || "1".equals(values.get(5))
+                    || Long.parseLong(values.get(4)) <= now) {
+                continue;
+            }
+            sessions.add(new SessionRecord(orderedHashes.get(i), userId, values.get(0), values.get(1),
+                    toLocalDateTime(values.get(2)), toLocalDateTime(values.get(3)), toLocalDateTime(values.get(4))));
+        }
+        sessions.sort(Comparator.comparing(SessionRecord::createdAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return sessions;
+    }
+
+    @Override
+    public boolean revokeSession(Long userId, String sessionId) {
+        Long revoked = redisTemplate.execute(REVOKE_SESSION_SCRIPT,
+                List.of(USER_KEY_PREFIX + userId, TOKEN_KEY_PREFIX + sessionId), sessionId);
+        if (revoked == null || revoked == 0) {
+            return false;
+        }
+        auditSink.ifAvailable(sink -> sink.recordRevoked(sessionId));
+        return true;
+    }
+
+    @Override
+    public void markUsed(String token) {
+        redisTemplate.execute(MARK_USED_SCRIPT, List.of(TOKEN_KEY_PREFIX + RefreshTokenStore.hash(token)),
+                Long.toString(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void revoke(String token) {
+        String hash = RefreshTokenStore.hash(token);
+        redisTemplate.execute(REVOKE_SCRIPT, List.of(TOKEN_KEY_PREFIX + hash));
+        auditSink.ifAvailable(sink -> sink.recordRevoked(hash));
+    }
+
+    @Override
+    public void revokeAllUserTokens(Long userId) {
+        redisTemplate.execute(REVOKE_USER_SCRIPT, List.of(USER_KEY_PREFIX + userId), TOKEN_KEY_PREFIX, "0", "");
+        auditSink.ifAvailable(sink -> sink.recordUserRevoked(userId, null));
+    }
+
+    @Override
+    public void revokeTokensByDevice(Long userId, String deviceInfo) {
+        if (deviceInfo == null) {
+            return;
+        }
+        redisTemplate.execute(REVOKE_USER_SCRIPT, List.of(USER_KEY_PREFIX + userId), TOKEN_KEY_PREFIX, "1",
+                deviceInfo);
+        auditSink.ifAvailable(sink -> sink.recordUserRevoked(userId, deviceInfo));
+    }
+
+    private static LocalDateTime toLocalDateTime(String epochMillis) {
+        if (epochMillis == null) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(epochMillis)), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
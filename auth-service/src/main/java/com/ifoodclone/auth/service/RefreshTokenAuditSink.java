@@ -0,0 +1,63 @@
+package com.ifoodclone.auth.service;
+
+import java.time.LocalDateTime;
+
+import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Trilha de auditoria opcional dos refresh tokens emitidos pelo
+ * {@link RedisRefreshTokenStore}. Grava de forma assíncrona na tabela
+ * refresh_tokens usando o hash do token (nunca o valor original), fora do
+ * caminho do request. Falhas são registradas pelo handler padrão de @Async.
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-token-store.audit-enabled", havingValue = "true")
+public class RefreshTokenAuditSink {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    public RefreshTokenAuditSink(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Async
+    @Transactional
+    public void recordIssued(Long userId, String tokenHash, String deviceInfo, String ipAddress,
+            LocalDateTime expiresAt) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .token(tokenHash)
+                .user(userRepository.getReferenceById(userId))
+                .deviceInfo(deviceInfo)
+                .ipAddress(ipAddress)
+                .expiresAt(expiresAt)
+                .revoked(false)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Async
+    @Transactional
+    public void recordRevoked(String tokenHash) {
+        refreshTokenRepository.revokeToken(tokenHash, LocalDateTime.now());
+    }
+
+    @Async
+    @Transactional
+    public void recordUserRevoked(Long userId, String deviceInfo) {
+        if (deviceInfo == null) {
+            refreshTokenRepository.revokeAllUserTokens(userRepository.getReferenceById(userId), LocalDateTime.now());
+        } else {
+            refreshTokenRepository.revokeTokensByDevice(userRepository.getReferenceById(userId), deviceInfo,
+                    LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ifoodclone.auth.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Manutenção das partições semanais de refresh_tokens (RANGE por expires_at).
+ *
+ * Cria com antecedência as partições das próximas premake-weeks semanas e
+ * remove inteiras as partições cujo fim já passou há mais de retention-weeks
+ * semanas. A tabela precisa ter sido convertida com
+ * db/partitioning/refresh_tokens_partitioned.sql.
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-token-partitioning.enabled", havingValue = "true")
+public class RefreshTokenPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPartitionMaintainer.class);
+
+    static final String JOB_NAME = "refresh-token-partitions";
+    static final String PARTITION_PREFIX = "refresh_tokens_p";
+    static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String IS_PARTITIONED_SQL = """
+            SELECT COUNT(*) FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            WHERE c.relname = 'refresh_tokens' AND pg_table_is_visible(c.oid)
+            """;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname FROM pg_inherits i
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            JOIN pg_class child ON child.oid = i.inhrelid
+            WHERE parent.relname = 'refresh_tokens' AND pg_table_is_visible(parent.oid)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLeaderLock leaderLock;
+    private final Counter partitionsCreated;
+    private final Counter partitionsDropped;
+
+    @Value("${app.refresh-token-partitioning.premake-weeks:4}")
+    private int premakeWeeks;
+
+    @Value("${app.refresh-token-partitioning.retention-weeks:1}")
+    private int retentionWeeks;
+
+    public RefreshTokenPartitionMaintainer(JdbcTemplate jdbcTemplate, RedisLeaderLock leaderLock,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderLock = leaderLock;
+        this.partitionsCreated = Counter.builder("auth.refresh_tokens.partitions")
+                .description("Refresh token partitions changed by the maintainer")
+                .tag("action", "created")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder("auth.refresh_tokens.partitions")
+                .description("Refresh token partitions changed by the maintainer")
+                .tag("action", "dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Garante as partições futuras já no startup, antes dos primeiros logins
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.refresh-token-partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!leaderLock.tryAcquire(JOB_NAME, Duration.ofMinutes(5))) {
+            return;
+        }
+
+        try {
+            Integer partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class);
+            if (partitioned == null || partitioned == 0) {
+                logger.warn("refresh_tokens não é particionada; rode db/partitioning/refresh_tokens_partitioned.sql");
+                return;
+            }
+
+            LocalDate currentWeek = weekStart(LocalDate.now());
+            List<String> existing = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+
+            for (int i = 0; i <= premakeWeeks; i++) {
+                LocalDate start = currentWeek.plusWeeks(i);
+                String name = partitionName(start);
+                if (!existing.contains(name)) {
+                    jdbcTemplate.execute(String.format(
+                            "CREATE TABLE IF NOT EXISTS %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')",
+                            name, start, start.plusWeeks(1)));
+                    partitionsCreated.increment();
+                    logger.info("Partição {} criada", name);
+                }
+            }
+
+            LocalDate dropBefore = currentWeek.minusWeeks(retentionWeeks);
+            for (String name : existing) {
+                LocalDate start = partitionStart(name);
+                // Fim da partição (start + 1 semana) anterior ao limite de retenção
+                if (start != null && !start.plusWeeks(1).isAfter(dropBefore)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                    partitionsDropped.increment();
+                    logger.info("Partição {} removida", name);
+                }
+            }
+        } catch (Exception ex) {
+            logger.error("Falha na manutenção das partições de refresh_tokens: {}", ex.getMessage());
+        } finally {
+            leaderLock.release(JOB_NAME);
+        }
+    }
+
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    static String partitionName(LocalDate weekStart) {
+        return PARTITION_PREFIX + weekStart.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Data inicial codificada no nome da partição, ou null se o nome não segue
+     * o padrão (partições criadas manualmente não são removidas)
+     */
+    static LocalDate partitionStart(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.ifoodclone.auth.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Expurgo incremental de refresh tokens expirados e revogados.
+ *
+ * Em vez de um único DELETE, apaga em blocos de chunk-size linhas (uma
+ * transação por bloco), paginando por keyset e pausando throttle-ms entre os
+ * blocos. O cursor é salvo no Redis a cada bloco, então uma rodada
+ * interrompida continua de onde parou. Só a instância líder executa.
+ *
+ * Com app.refresh-token-partitioning.enabled os expirados saem com o DROP da
+ * partição inteira, e aqui só os revogados são removidos.
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-token-purge.enabled", havingValue = "true")
+public class RefreshTokenPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    static final String JOB_NAME = "refresh-token-purge";
+    static final String CHECKPOINT_KEY = "rt:purge:checkpoint";
+
+    private static final String FIELD_EXPIRED_AT = "expiredAt";
+    private static final String FIELD_EXPIRED_ID = "expiredId";
+    private static final String FIELD_REVOKED_ID = "revokedId";
+
+    // Keyset por (expires_at, id): linhas que passam a ser elegíveis sempre
+    // ficam depois do cursor, então ele nunca precisa voltar ao início.
+    private static final String DELETE_EXPIRED_CHUNK_SQL = """
+            WITH doomed AS (
+                SELECT id, expires_at FROM refresh_tokens
+                WHERE expires_at < ? AND (expires_at, id) > (?, ?)
+                ORDER BY expires_at, id
+                LIMIT ?
+            ), deleted AS (
+                DELETE FROM refresh_tokens rt USING doomed d
+                WHERE rt.id = d.id
+                RETURNING d.expires_at, d.id
+            )
+            SELECT COUNT(*) OVER () AS purged, expires_at, id
+            FROM deleted
+            ORDER BY expires_at DESC, id DESC
+            LIMIT 1
+            """;
+
+    // Revogados paginam por id; o cursor volta a zero ao fim de cada passada
+    private static final String DELETE_REVOKED_CHUNK_SQL = """
+            WITH doomed AS (
+                SELECT id FROM refresh_tokens
+                WHERE revoked = true AND revoked_at < ? AND id > ?
+                ORDER BY id
+                LIMIT ?
+            ), deleted AS (
+                DELETE FROM refresh_tokens rt USING doomed d
+                WHERE rt.id = d.id
+                RETURNING d.id
+            )
+            SELECT COUNT(*) AS purged, MAX(id) AS id FROM deleted
+            """;
+
+    private static final String OLDEST_EXPIRED_SQL = "SELECT MIN(expires_at) FROM refresh_tokens";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisLeaderLock leaderLock;
+
+    private final Counter expiredPurged;
+    private final Counter revokedPurged;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${app.refresh-token-purge.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.refresh-token-purge.throttle-ms:200}")
+    private long throttleMs;
+
+    @Value("${app.refresh-token-purge.max-run-ms:300000}")
+    private long maxRunMs;
+
+    @Value("${app.refresh-token-purge.expired-retention-ms:86400000}")
+    private long expiredRetentionMs;
+
+    @Value("${app.refresh-token-purge.revoked-retention-ms:86400000}")
+    private long revokedRetentionMs;
+
+    @Value("${app.refresh-token-partitioning.enabled:false}")
+    private boolean partitioned;
+
+    public RefreshTokenPurgeJob(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            StringRedisTemplate redisTemplate,
+            RedisLeaderLock leaderLock,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.leaderLock = leaderLock;
+
+        this.expiredPurged = Counter.builder("auth.refresh_tokens.purged")
+                .description("Refresh tokens removed by the purge job")
+                .tag("kind", "expired")
+                .register(meterRegistry);
+        this.revokedPurged = Counter.builder("auth.refresh_tokens.purged")
+                .description("Refresh tokens removed by the purge job")
+                .tag("kind", "revoked")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("auth.refresh_tokens.purge.duration")
+                .description("Duration of a purge run")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_tokens.purge.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest refresh token already eligible for purge")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.refresh-token-purge.cron:0 */15 * * * *}")
+    public void run() {
+        if (!leaderLock.tryAcquire(JOB_NAME, Duration.ofMillis(maxRunMs + 60_000))) {
+            logger.debug("Expurgo de refresh tokens em execução em outra instância");
+            return;
+        }
+
+        try {
+            runTimer.record(this::purge);
+        } finally {
+            leaderLock.release(JOB_NAME);
+        }
+    }
+
+    private void purge() {
+        long deadline = System.currentTimeMillis() + maxRunMs;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiredCutoff = now.minusNanos(expiredRetentionMs * 1_000_000);
+        LocalDateTime revokedCutoff = now.minusNanos(revokedRetentionMs * 1_000_000);
+
+        Map<Object, Object> checkpoint = new HashMap<>(redisTemplate.opsForHash().entries(CHECKPOINT_KEY));
+        LocalDateTime lastExpiresAt = checkpoint.containsKey(FIELD_EXPIRED_AT)
+                ? LocalDateTime.parse((String) checkpoint.get(FIELD_EXPIRED_AT))
+                : EPOCH;
+        long lastExpiredId = parseLong(checkpoint.get(FIELD_EXPIRED_ID));
+        long lastRevokedId = parseLong(checkpoint.get(FIELD_REVOKED_ID));
+
+        long totalExpired = 0;
+        boolean expiredDone = partitioned;
+        while (!expiredDone && System.currentTimeMillis() < deadline) {
+            final LocalDateTime fromExpiresAt = lastExpiresAt;
+            final long fromId = lastExpiredId;
+            ChunkResult chunk = transactionTemplate.execute(status -> jdbcTemplate.query(DELETE_EXPIRED_CHUNK_SQL,
+                    rs -> rs.next()
+                            ? new ChunkResult(rs.getLong("purged"), rs.getTimestamp("expires_at").toLocalDateTime(),
+                                    rs.getLong("id"))
+                            : ChunkResult.EMPTY,
+                    Timestamp.valueOf(expiredCutoff), Timestamp.valueOf(fromExpiresAt), fromId, chunkSize));
+
+            if (chunk.purged() > 0) {
+                lastExpiresAt = chunk.lastExpiresAt();
+                lastExpiredId = chunk.lastId();
+                totalExpired += chunk.purged();
+                expiredPurged.increment(chunk.purged());
+                saveCheckpoint(FIELD_EXPIRED_AT, lastExpiresAt.toString(), FIELD_EXPIRED_ID, lastExpiredId);
+            }
+            expiredDone = chunk.purged() < chunkSize;
+            throttle(expiredDone);
+        }
+
+        long totalRevoked = 0;
+        boolean revokedDone = false;
+        while (!revokedDone && System.currentTimeMillis() < deadline) {
+            final long fromId = lastRevokedId;
+            ChunkResult chunk = transactionTemplate.execute(status -> jdbcTemplate.query(DELETE_REVOKED_CHUNK_SQL,
+                    rs -> rs.next() ? new ChunkResult(rs.getLong("purged"), null, rs.getLong("id")) : ChunkResult.EMPTY,
+                    Timestamp.valueOf(revokedCutoff), fromId, chunkSize));
+
+            if (chunk.purged() > 0) {
+                lastRevokedId = chunk.lastId();
+                totalRevoked += chunk.purged();
+                revokedPurged.increment(chunk.purged());
+            }
+            revokedDone = chunk.purged() < chunkSize;
+            // Passada completa: próximas revogações podem ter ids menores que o cursor
+            lastRevokedId = revokedDone ? 0 : lastRevokedId;
+            redisTemplate.opsForHash().put(CHECKPOINT_KEY, FIELD_REVOKED_ID, Long.toString(lastRevokedId));
+            throttle(revokedDone);
+        }
+
+        updateLag(expiredCutoff);
+        logger.info("Expurgo de refresh tokens: {} expirados, {} revogados removidos{}",
+                totalExpired, totalRevoked, expiredDone && revokedDone ? "" : " (interrompido por max-run-ms)");
+    }
+
+    private void saveCheckpoint(String atField, String atValue, String idField, long idValue) {
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, Map.of(atField, atValue, idField, Long.toString(idValue)));
+    }
+
+    private void updateLag(LocalDateTime expiredCutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_EXPIRED_SQL, Timestamp.class);
+        long lag = oldest == null ? 0
+                : Math.max(0, Duration.between(oldest.toLocalDateTime(), expiredCutoff).getSeconds());
+        lagSeconds.set(lag);
+    }
+
+    private void throttle(boolean done) {
+        if (done || throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long parseLong(Object value) {
+        return value == null ? 0L : Long.parseLong((String) value);
+    }
+
+    private record ChunkResult(long purged, LocalDateTime lastExpiresAt, long lastId) {
+        static final ChunkResult EMPTY = new ChunkResult(0, null, 0);
+    }
+}
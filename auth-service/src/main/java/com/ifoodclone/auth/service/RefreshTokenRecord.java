@@ -0,0 +1,13 @@
+package com.ifoodclone.auth.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Visão compacta de um refresh token, independente do armazenamento
+ */
+public record RefreshTokenRecord(Long userId, String deviceInfo, LocalDateTime expiresAt, boolean revoked) {
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
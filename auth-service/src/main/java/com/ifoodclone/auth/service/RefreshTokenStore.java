@@ -0,0 +1,52 @@
+package com.ifoodclone.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento de refresh tokens emitidos.
+ *
+ * Implementações: {@link JpaRefreshTokenStore} (tabela refresh_tokens, padrão)
+ * e {@link RedisRefreshTokenStore} (app.refresh-token-store.type=redis).
+ */
+public interface RefreshTokenStore {
+
+    void save(Long userId, String token, String deviceInfo, String ipAddress, LocalDateTime expiresAt);
+
+    Optional<RefreshTokenRecord> find(String token);
+
+    void markUsed(String token);
+
+    void revoke(String token);
+
+    void revokeAllUserTokens(Long userId);
+
+    void revokeTokensByDevice(Long userId, String deviceInfo);
+
+    /**
+     * Sessões ativas do usuário, mais recentes primeiro
+     */
+    List<SessionRecord> findActiveSessions(Long userId);
+
+    /**
+     * Revoga uma sessão do usuário; false se não existe, é de outro usuário ou já foi revogada
+     */
+    boolean revokeSession(Long userId, String sessionId);
+
+    /**
+     * SHA-256 (hex) do token, usado como chave para não armazenar o valor original
+     */
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
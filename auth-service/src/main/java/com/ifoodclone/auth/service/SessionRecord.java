@@ -0,0 +1,11 @@
+package com.ifoodclone.auth.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sessão ativa (refresh token não revogado), independente do armazenamento.
+ * O id é o id da linha no JPA e o hash do token no Redis.
+ */
+public record SessionRecord(String id, Long userId, String deviceInfo, String ipAddress, LocalDateTime createdAt,
+        LocalDateTime lastUsedAt, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,169 @@
+package com.ifoodclone.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ifoodclone.auth.dto.ActiveSessionView;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Gestão de sessões (refresh tokens ativos): listagem, revogação de uma
+ * sessão e de um device.
+ *
+ * A lista do usuário fica em cache local por userId. Login, logout, troca de
+ * senha e revogações desta instância invalidam a entrada; nas demais
+ * instâncias ela expira pelo TTL (app.sessions.cache-ttl-seconds, curto de
+ * propósito). A revogação em si é sempre imediata no store.
+ *
+ * Revogar uma sessão revoga o refresh token; o access token já emitido para
+ * ela continua válido até expirar (JWT sem id de sessão).
+ */
+@Service
+public class SessionService {
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Cache<Long, List<SessionRecord>> cache;
+    private final int maxPageSize;
+
+    public SessionService(RefreshTokenStore refreshTokenStore, RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.sessions.cache-size:100000}") long cacheSize,
+            @Value("${app.sessions.cache-ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.sessions.max-page-size:200}") int maxPageSize) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.maxPageSize = maxPageSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "activeSessions");
+    }
+
+    /**
+     * Sessões ativas do usuário, mais recentes primeiro
+     */
+    public List<AuthDto.SessionInfo> listSessions(Long userId) {
+        return cache.get(userId, refreshTokenStore::findActiveSessions).stream()
+                .map(SessionService::toSessionInfo)
+                .toList();
+    }
+
+    /**
+     * Revoga uma sessão do próprio usuário
+     */
+    public void revokeSession(Long userId, String sessionId) {
+        boolean revoked = refreshTokenStore.revokeSession(userId, sessionId);
+        invalidate(userId);
+        if (!revoked) {
+            throw new RuntimeException("Sessão não encontrada");
+        }
+    }
+
+    /**
+     * Revoga todas as sessões do usuário no device informado
+     */
+    public void revokeDevice(Long userId, String deviceInfo) {
+        refreshTokenStore.revokeTokensByDevice(userId, deviceInfo);
+        invalidate(userId);
+    }
+
+    /**
+     * Remove a lista do usuário do cache após emissão ou revogação de tokens
+     */
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Esvazia o cache de todos os usuários (restore de checkpoint)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Todas as sessões ativas (painel de segurança), paginadas por keyset sobre
+     * o índice parcial de tokens ativos. Lê a tabela refresh_tokens: com
+     * app.refresh-token-store.type=redis só há dados se a auditoria estiver ligada.
+     */
+    @Transactional(readOnly = true)
+    public AuthDto.SessionPage listAllSessions(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        PageRequest page = PageRequest.of(0, pageSize);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ActiveSessionView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = refreshTokenRepository.findActiveSessions(now, page);
+        } else {
+            Cursor position = decodeCursor(cursor);
+            rows = refreshTokenRepository.findActiveSessionsBefore(now, position.createdAt(), position.id(), page);
+        }
+
+        List<AuthDto.SessionInfo> sessions = rows.stream()
+                .map(row -> toSessionInfo(new SessionRecord(row.id().toString(), row.userId(), row.deviceInfo(),
+                        row.ipAddress(), row.createdAt(), row.usedAt(), row.expiresAt())))
+                .toList();
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            ActiveSessionView last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.createdAt(), last.id());
+        }
+
+        return AuthDto.SessionPage.builder()
+                .sessions(sessions)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
+
+    private static AuthDto.SessionInfo toSessionInfo(SessionRecord session) {
+        return AuthDto.SessionInfo.builder()
+                .id(session.id())
+                .userId(session.userId())
+                .deviceInfo(session.deviceInfo())
+                .ipAddress(session.ipAddress())
+                .createdAt(session.createdAt())
+                .lastUsedAt(session.lastUsedAt())
+                .expiresAt(session.expiresAt())
+                .build();
+    }
+
+    record Cursor(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.ifoodclone.auth.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual entre
+ * {@link #begin()} e {@link #end()}. Fora de uma contagem ativa o custo é uma
+ * leitura de ThreadLocal por comando.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem e retorna o total de comandos desde o begin()
+     */
+    public static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,252 @@
+package com.ifoodclone.auth.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Warm-up antes do readiness: ApplicationRunners rodam depois do Tomcat subir
+ * e antes do ReadinessState.ACCEPTING_TRAFFIC, então o pod só entra no Service
+ * (probe /actuator/health/readiness) com os caminhos quentes já compilados
+ * pelo JIT e o cache de snapshots carregado.
+ *
+ * Fases, todas com dados sintéticos e limitadas por app.warm-up.max-duration:
+ * <ul>
+ * <li>jwt: emite e verifica access tokens de um usuário fictício (mesmas
+ * chamadas do JwtAuthenticationFilter);</li>
+ * <li>json: serializa a resposta de login (ApiResponse com LoginResponse);</li>
+ * <li>password: alguns encode/matches no PasswordEncoder da aplicação;</li>
+ * <li>http: GET /api/v1/auth/health pela porta local (Tomcat, filtros de
+ * segurança, MVC, Jackson);</li>
+ * <li>user-snapshots: carrega no UserSnapshotCache os usuários com login
+ * mais recente.</li>
+ * </ul>
+ *
+ * Métricas: auth.warmup.duration (timer por fase), auth.warmup.speedup (razão
+ * entre a latência média das primeiras e das últimas iterações de cada fase) e
+ * auth.warmup.preloaded.users. As chamadas do warm-up também entram nos timers
+ * de JwtService e do PasswordEncoder.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    private static final String SYNTHETIC_PASSWORD = "WarmUp#Synthetic1";
+
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final int iterations;
+    private final int passwordIterations;
+    private final int httpIterations;
+    private final int preloadUsers;
+    private final Duration preloadWindow;
+    private final Duration maxDuration;
+    private final AtomicInteger preloadedUsers = new AtomicInteger();
+
+    public StartupWarmUp(JwtService jwtService, PasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+            UserRepository userRepository, UserSnapshotCache userSnapshotCache, MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.warm-up.iterations:5000}") int iterations,
+            @Value("${app.warm-up.password-iterations:4}") int passwordIterations,
+            @Value("${app.warm-up.http-iterations:500}") int httpIterations,
+            @Value("${app.warm-up.preload-users:5000}") int preloadUsers,
+            @Value("${app.warm-up.preload-window:24h}") Duration preloadWindow,
+            @Value("${app.warm-up.max-duration:30s}") Duration maxDuration) {
+        this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.userSnapshotCache = userSnapshotCache;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.passwordIterations = passwordIterations;
+        this.httpIterations = httpIterations;
+        this.preloadUsers = preloadUsers;
+        this.preloadWindow = preloadWindow;
+        this.maxDuration = maxDuration;
+
+        Gauge.builder("auth.warmup.preloaded.users", preloadedUsers, AtomicInteger::get)
+                .description("Usuários carregados no cache de snapshots durante o warm-up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        User user = syntheticUser();
+
+        runPhase("jwt", iterations, deadline, () -> {
+            String token = jwtService.generateToken(user);
+            jwtService.parseValidClaims(token);
+            jwtService.isTokenValid(token, user);
+        });
+
+        AuthDto.ApiResponse<AuthDto.LoginResponse> response = AuthDto.ApiResponse
+                .success("Login realizado com sucesso", syntheticResponse(user));
+        runPhase("json", iterations, deadline, () -> objectMapper.writeValueAsBytes(response));
+
+        runPhase("password", passwordIterations, deadline, () -> {
+            passwordEncoder.matches(SYNTHETIC_PASSWORD, passwordEncoder.encode(SYNTHETIC_PASSWORD));
+        });
+
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null && port > 0) {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/health"))
+                    .timeout(Duration.ofSeconds(2))
+                    .build();
+            runPhase("http", httpIterations, deadline,
+                    () -> client.send(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        preloadUserSnapshots(deadline);
+
+        logger.info("Warm-up concluído em {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Roda até {@code count} iterações ou até o prazo; registra a duração da
+     * fase e a razão entre a latência média do início e do fim
+     */
+    void runPhase(String phase, int count, long deadline, WarmUpStep step) {
+        if (count <= 0) {
+            return;
+        }
+        int window = Math.max(1, count / 20);
+        long[] durations = new long[count];
+        int done = 0;
+        long phaseStart = System.nanoTime();
+        try {
+            while (done < count && System.nanoTime() < deadline) {
+                long iterationStart = System.nanoTime();
+                step.run();
+                durations[done++] = System.nanoTime() - iterationStart;
+            }
+        } catch (Exception ex) {
+            logger.warn("Falha no warm-up ({}): {}", phase, ex.getMessage());
+        }
+
+        Timer.builder("auth.warmup.duration")
+                .description("Duração de cada fase do warm-up")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(System.nanoTime() - phaseStart, TimeUnit.NANOSECONDS);
+
+        if (done >= 2 * window) {
+            double first = mean(durations, 0, window);
+            double last = mean(durations, done - window, done);
+            double speedup = last > 0 ? first / last : 1.0;
+            Gauge.builder("auth.warmup.speedup", () -> speedup)
+                    .description("Latência média das primeiras iterações dividida pela das últimas")
+                    .tag("phase", phase)
+                    .register(meterRegistry);
+            logger.info("Warm-up {}: {} iterações, {}x mais rápido no fim", phase, done,
+                    String.format("%.1f", speedup));
+        }
+    }
+
+    private void preloadUserSnapshots(long deadline) {
+        if (preloadUsers <= 0 || System.nanoTime() >= deadline) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Long> ids = userRepository.findRecentlyActiveUserIds(LocalDateTime.now().minus(preloadWindow),
+                    PageRequest.of(0, preloadUsers));
+            preloadedUsers.set(userSnapshotCache.preload(ids));
+        } catch (Exception ex) {
+            logger.warn("Falha ao pré-carregar snapshots de usuários: {}", ex.getMessage());
+        }
+        Timer.builder("auth.warmup.duration")
+                .description("Duração de cada fase do warm-up")
+                .tag("phase", "user-snapshots")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static double mean(long[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return (double) sum / (to - from);
+    }
+
+    private static User syntheticUser() {
+        return User.builder()
+                .id(-1L)
+                .email("warm-up@ifoodclone.invalid")
+                .password(SYNTHETIC_PASSWORD)
+                .firstName("Warm")
+                .lastName("Up")
+                .role(User.UserRole.CUSTOMER)
+                .emailVerified(true)
+                .active(true)
+                .build();
+    }
+
+    private static AuthDto.LoginResponse syntheticResponse(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        return AuthDto.LoginResponse.builder()
+                .accessToken("synthetic.access.token")
+                .refreshToken("synthetic.refresh.token")
+                .expiresIn(900L)
+                .issuedAt(now)
+                .expiresAt(now.plusMinutes(15))
+                .user(AuthDto.UserInfo.builder()
+                        .id(user.getId())
+                        .email(user.getEmail())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .fullName(user.getFirstName() + " " + user.getLastName())
+                        .role(user.getRole())
+                        .roleDisplayName(user.getRole().name())
+                        .emailVerified(true)
+                        .phoneVerified(false)
+                        .active(true)
+                        .createdAt(now)
+                        .build())
+                .build();
+    }
+
+    @FunctionalInterface
+    interface WarmUpStep {
+        void run() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ifoodclone.auth.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ifoodclone.auth.dto.TokenIntrospection;
+import com.ifoodclone.auth.dto.UserSnapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Introspecção de access tokens (RFC 7662) para serviços internos.
+ *
+ * Cada token é parseado uma única vez; o status do usuário vem do
+ * {@link UserSnapshotCache} (uma consulta IN para os ausentes do lote) e a
+ * revogação de todos os tokens do lote é verificada em um único pipeline no
+ * Redis. Refresh tokens respondem como inativos.
+ *
+ * O max-age sugerido ao chamador é o menor entre app.introspection.max-age-seconds
+ * e a vida restante dos tokens ativos do lote; se o Redis falhar, a resposta
+ * não pode ser guardada (max-age 0).
+ *
+ * O TTL do cache de snapshots não pode passar do max-age: assim um usuário
+ * desativado deixa de ser aceito pelos serviços em no máximo 2 × max-age.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    private static final String ACCESS_TOKEN_TYPE = "ACCESS";
+
+    private final JwtService jwtService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final AccessTokenRevocationPublisher revocations;
+    private final int maxBatchSize;
+    private final long maxAgeSeconds;
+
+    public TokenIntrospectionService(JwtService jwtService, UserSnapshotCache userSnapshotCache,
+            AccessTokenRevocationPublisher revocations,
+            @Value("${app.introspection.max-batch-size:100}") int maxBatchSize,
+            @Value("${app.introspection.max-age-seconds:30}") long maxAgeSeconds) {
+        this.jwtService = jwtService;
+        this.userSnapshotCache = userSnapshotCache;
+        this.revocations = revocations;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAgeSeconds = maxAgeSeconds;
+        if (userSnapshotCache.ttlSeconds() > maxAgeSeconds) {
+            throw new IllegalStateException(String.format(
+                    "app.user-snapshot.ttl-seconds (%d) não pode passar de app.introspection.max-age-seconds (%d)",
+                    userSnapshotCache.ttlSeconds(), maxAgeSeconds));
+        }
+    }
+
+    public Result introspect(String token) {
+        return introspect(Collections.singletonList(token));
+    }
+
+    /**
+     * Resultados na ordem dos tokens recebidos; IllegalArgumentException se o
+     * lote passar de max-batch-size
+     */
+    public Result introspect(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new IllegalArgumentException(String.format("Máximo de %d tokens por introspecção", maxBatchSize));
+        }
+
+        long nowMs = System.currentTimeMillis();
+        List<Claims> parsed = new ArrayList<>(tokens.size());
+        List<Integer> positions = new ArrayList<>(tokens.size());
+        List<AccessTokenRevocationPublisher.RevocationCheck> checks = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Claims claims = parseAccessToken(tokens.get(i));
+            if (claims != null) {
+                parsed.add(claims);
+                positions.add(i);
+                checks.add(new AccessTokenRevocationPublisher.RevocationCheck(claims.getId(),
+                        claims.get("userId", Long.class), claims.getIssuedAt().getTime()));
+            }
+        }
+
+        List<TokenIntrospection> results = new ArrayList<>(Collections.nCopies(tokens.size(),
+                TokenIntrospection.INACTIVE));
+        if (parsed.isEmpty()) {
+            return new Result(results, maxAgeSeconds);
+        }
+
+        Map<Long, UserSnapshot> users = new HashMap<>();
+        for (UserSnapshot user : userSnapshotCache.getAll(checks.stream()
+                .map(AccessTokenRevocationPublisher.RevocationCheck::userId)
+                .toList())) {
+            users.put(user.id(), user);
+        }
+
+        long maxAge = maxAgeSeconds;
+        boolean[] revoked;
+        try {
+            revoked = revocations.findRevoked(checks);
+        } catch (Exception ex) {
+            // Sem a lista de revogação a resposta vale só para esta chamada
+            logger.warn("Falha ao consultar revogações na introspecção: {}", ex.getMessage());
+            revoked = new boolean[checks.size()];
+            maxAge = 0;
+        }
+
+        for (int k = 0; k < parsed.size(); k++) {
+            Claims claims = parsed.get(k);
+            UserSnapshot user = users.get(checks.get(k).userId());
+            if (revoked[k] || user == null || !Boolean.TRUE.equals(user.active())) {
+                continue;
+            }
+
+            Date expiration = claims.getExpiration();
+            results.set(positions.get(k), new TokenIntrospection(
+                    true,
+                    claims.getSubject(),
+                    "Bearer",
+                    expiration.getTime() / 1000,
+                    claims.getIssuedAt().getTime() / 1000,
+                    claims.getId(),
+                    user.id(),
+                    user.role().name(),
+                    claims.get("emailVerified", Boolean.class)));
+            maxAge = Math.min(maxAge, Math.max(0, (expiration.getTime() - nowMs) / 1000));
+        }
+
+        return new Result(results, maxAge);
+    }
+
+    /**
+     * Claims de um access token válido com jti, iat e userId; null para o resto
+     */
+    private Claims parseAccessToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        Claims claims = jwtService.parseValidClaims(token).orElse(null);
+        if (claims == null || !ACCESS_TOKEN_TYPE.equals(claims.get("type", String.class))
+                || claims.getId() == null || claims.getIssuedAt() == null || claims.get("userId", Long.class) == null) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Resultados e o max-age (segundos) que o chamador pode usar para guardá-los
+     */
+    public record Result(List<TokenIntrospection> results, long maxAgeSeconds) {
+    }
+}
@@ -8,6 +8,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import io.micrometer.tracing.annotation.NewSpan;
@@ -17,6 +18,7 @@ import io.micrometer.tracing.annotation.SpanTag;
  * Service para demonstrar custom spans e anotações de tracing
  */
 @Service
+@Profile({ "dev", "local" })
 public class TracingDemoService {
 
     private static final Logger logger = LoggerFactory.getLogger(TracingDemoService.class);
@@ -0,0 +1,554 @@
+package com.ifoodclone.auth.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.entity.UserImportJob;
+import com.ifoodclone.auth.repository.UserImportJobRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Importação em massa de usuários a partir de NDJSON ou CSV, lida em streaming
+ * e processada em chunks:
+ * 1. parse e validação de cada linha (erros por linha, sem abortar o arquivo)
+ * 2. uma consulta IN por chunk para descartar emails já cadastrados
+ * 3. BCrypt em paralelo num pool limitado (hash-threads), só para linhas com
+ *    senha em texto; linhas com passwordHash BCrypt pronto (migração) pulam o hash
+ * 4. INSERT em batch JDBC + checkpoint na mesma transação
+ *
+ * Com reWriteBatchedInserts no driver do Postgres cada batch vira poucos
+ * INSERT multi-valores. O checkpoint permite retomar reenviando o mesmo
+ * arquivo com o mesmo jobId: as linhas já processadas são puladas.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    static final String INSERT_SQL = "INSERT INTO users (id, email, password, first_name, last_name, phone, role, "
+            + "active, email_verified, phone_verified, failed_login_attempts, account_locked, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, FALSE, FALSE, 0, FALSE, ?, ?) "
+            + "ON CONFLICT (email) DO NOTHING";
+
+    // Um nextval por bloco de User.ID_ALLOCATION_SIZE ids, como o otimizador pooled do Hibernate
+    static final String ALLOCATE_IDS_SQL = "SELECT nextval('users_seq') FROM generate_series(1, ?)";
+
+    static final String CHECKPOINT_SQL = "UPDATE user_import_jobs SET processed_lines = ?, "
+            + "imported_count = imported_count + ?, failed_count = failed_count + ?, updated_at = ? WHERE id = ?";
+
+    private static final String STATUS_SQL = "UPDATE user_import_jobs SET status = ?, updated_at = ? WHERE id = ?";
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserImportJobRepository jobRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailAvailabilityIndex emailIndex;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor hashPool;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            UserImportJobRepository jobRepository,
+            PasswordEncoder passwordEncoder,
+            EmailAvailabilityIndex emailIndex,
+            ObjectMapper objectMapper,
+            @Value("${app.user-import.chunk-size:1000}") int chunkSize,
+            @Value("${app.user-import.hash-threads:0}") int hashThreads,
+            @Value("${app.user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRepository = jobRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailIndex = emailIndex;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        // Metade dos cores por padrão: o restante fica para os logins, que também usam BCrypt
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                Thread.ofPlatform().name("user-import-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Importa o arquivo inteiro (ou o restante dele, se o job já tem checkpoint)
+     */
+    public AuthDto.UserImportResult importUsers(InputStream input, Format format, String jobId) throws IOException {
+        if (!activeJobs.add(jobId)) {
+            throw new RuntimeException("Importação já em andamento para o job " + jobId);
+        }
+
+        try {
+            UserImportJob job = jobRepository.findById(jobId).orElse(null);
+            if (job != null && job.getStatus() == UserImportJob.Status.COMPLETED) {
+                return toResult(job, job.getProcessedLines(), new ErrorCollector(0));
+            }
+            if (job == null) {
+                LocalDateTime now = LocalDateTime.now();
+                job = jobRepository.save(UserImportJob.builder()
+                        .id(jobId)
+                        .status(UserImportJob.Status.RUNNING)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            } else {
+                updateStatus(jobId, UserImportJob.Status.RUNNING);
+            }
+
+            long resumeFrom = job.getProcessedLines();
+            if (resumeFrom > 0) {
+                logger.info("Retomando importação {} a partir da linha {}", jobId, resumeFrom + 1);
+            }
+
+            ErrorCollector errors = new ErrorCollector(maxReportedErrors);
+            long start = System.currentTimeMillis();
+            try {
+                readAndProcess(input, format, jobId, resumeFrom, errors);
+            } catch (IOException | RuntimeException ex) {
+                updateStatus(jobId, UserImportJob.Status.FAILED);
+                logger.error("Importação {} interrompida: {}", jobId, ex.getMessage());
+                throw ex;
+            }
+            updateStatus(jobId, UserImportJob.Status.COMPLETED);
+
+            UserImportJob finished = jobRepository.findById(jobId).orElseThrow();
+            logger.info("Importação {} concluída em {} ms: {} importados, {} recusados",
+                    jobId, System.currentTimeMillis() - start, finished.getImportedCount(), finished.getFailedCount());
+            return toResult(finished, resumeFrom, errors);
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    public UserImportJob getJob(String jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Importação não encontrada"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private void readAndProcess(InputStream input, Format format, String jobId, long resumeFrom,
+            ErrorCollector errors) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvHeader = null;
+            if (format == Format.CSV) {
+                String headerLine = reader.readLine();
+                if (headerLine == null) {
+                    return;
+                }
+                csvHeader = parseCsvHeader(headerLine);
+            }
+
+            List<RawLine> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeFrom) {
+                    continue;
+                }
+                chunk.add(new RawLine(lineNumber, line));
+                if (chunk.size() >= chunkSize) {
+                    processChunk(jobId, chunk, format, csvHeader, errors);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(jobId, chunk, format, csvHeader, errors);
+            }
+        }
+    }
+
+    void processChunk(String jobId, List<RawLine> lines, Format format, Map<String, Integer> csvHeader,
+            ErrorCollector errors) {
+        long lastLine = lines.get(lines.size() - 1).number();
+        int failed = 0;
+
+        // 1. Parse, validação e duplicados dentro do chunk
+        Map<String, ValidRow> candidates = new LinkedHashMap<>();
+        for (RawLine raw : lines) {
+            if (raw.content().isBlank()) {
+                continue;
+            }
+            ValidRow row;
+            try {
+                row = validate(raw.number(), parse(raw.content(), format, csvHeader));
+            } catch (InvalidRowException ex) {
+                errors.add(raw.number(), ex.email, ex.getMessage());
+                failed++;
+                continue;
+            }
+            if (candidates.putIfAbsent(row.email(), row) != null) {
+                errors.add(raw.number(), row.email(), "Email duplicado no arquivo");
+                failed++;
+            }
+        }
+
+        // 2. Emails já cadastrados, em uma consulta
+        if (!candidates.isEmpty()) {
+            for (String existing : findExistingEmails(candidates.keySet())) {
+                ValidRow row = candidates.remove(existing);
+                if (row != null) {
+                    errors.add(row.line(), existing, "Email já cadastrado");
+                    failed++;
+                }
+            }
+        }
+
+        // 3. Hash das senhas em paralelo
+        List<ValidRow> rows = hashPasswords(new ArrayList<>(candidates.values()));
+
+        // 4. INSERT em batch + checkpoint na mesma transação
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int previouslyFailed = failed;
+        List<String> inserted = transactionTemplate.execute(status -> {
+            List<String> emails = new ArrayList<>(rows.size());
+            int conflicts = 0;
+            if (!rows.isEmpty()) {
+                List<PendingInsert> inserts = withAllocatedIds(rows);
+                int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, insert) -> {
+                    ValidRow row = insert.row();
+                    ps.setLong(1, insert.id());
+                    ps.setString(2, row.email());
+                    ps.setString(3, row.passwordHash());
+                    ps.setString(4, row.firstName());
+                    ps.setString(5, row.lastName());
+                    ps.setString(6, row.phone());
+                    ps.setString(7, row.role().name());
+                    ps.setTimestamp(8, timestamp);
+                    ps.setTimestamp(9, timestamp);
+                });
+                int index = 0;
+                for (int[] batch : results) {
+                    for (int count : batch) {
+                        ValidRow row = rows.get(index++);
+                        // Com reWriteBatchedInserts o driver devolve SUCCESS_NO_INFO para o batch inteiro
+                        if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                            emails.add(row.email());
+                        } else {
+                            // Cadastrado por outro request entre a consulta e o INSERT
+                            errors.add(row.line(), row.email(), "Email já cadastrado");
+                            conflicts++;
+                        }
+                    }
+                }
+            }
+            jdbcTemplate.update(CHECKPOINT_SQL, lastLine, emails.size(), previouslyFailed + conflicts,
+                    timestamp, jobId);
+            return emails;
+        });
+
+        if (inserted != null) {
+            inserted.forEach(emailIndex::put);
+        }
+        logger.debug("Importação {}: chunk até a linha {} gravado", jobId, lastLine);
+    }
+
+    private ImportRow parse(String content, Format format, Map<String, Integer> csvHeader) {
+        if (format == Format.NDJSON) {
+            try {
+                return objectMapper.readValue(content, ImportRow.class);
+            } catch (IOException ex) {
+                throw new InvalidRowException(null, "JSON inválido");
+            }
+        }
+
+        List<String> fields = parseCsvLine(content);
+        if (fields.size() != csvHeader.size()) {
+            throw new InvalidRowException(null, "Número de colunas diferente do cabeçalho");
+        }
+        return new ImportRow(
+                csvField(fields, csvHeader, "email"),
+                csvField(fields, csvHeader, "password"),
+                csvField(fields, csvHeader, "passwordhash"),
+                csvField(fields, csvHeader, "firstname"),
+                csvField(fields, csvHeader, "lastname"),
+                csvField(fields, csvHeader, "phone"),
+                csvField(fields, csvHeader, "role"));
+    }
+
+    static ValidRow validate(long line, ImportRow row) {
+        String email = row.email() != null ? row.email().trim() : null;
+        if (email == null || email.isEmpty()) {
+            throw new InvalidRowException(null, "Email é obrigatório");
+        }
+        if (email.length() > 100 || !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new InvalidRowException(email, "Formato de email inválido");
+        }
+
+        String passwordHash = null;
+        String password = null;
+        if (row.passwordHash() != null && !row.passwordHash().isBlank()) {
+            String hash = row.passwordHash().trim();
+            if (hash.startsWith("{bcrypt}")) {
+                hash = hash.substring("{bcrypt}".length());
+            }
+            if (!hash.startsWith("$2") || hash.length() != 60) {
+                throw new InvalidRowException(email, "Hash de senha inválido (esperado BCrypt)");
+            }
+            passwordHash = "{bcrypt}" + hash;
+        } else if (row.password() == null || row.password().length() < 8) {
+            throw new InvalidRowException(email, "Senha deve ter pelo menos 8 caracteres");
+        } else {
+            password = row.password();
+        }
+
+        User.UserRole role = User.UserRole.CUSTOMER;
+        if (row.role() != null && !row.role().isBlank()) {
+            try {
+                role = User.UserRole.valueOf(row.role().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRowException(email, "Tipo de usuário inválido");
+            }
+        }
+        if (role == User.UserRole.ADMIN) {
+            throw new InvalidRowException(email, "Importação de usuários ADMIN não é permitida");
+        }
+
+        if (length(row.firstName()) > 50 || length(row.lastName()) > 50 || length(row.phone()) > 20) {
+            throw new InvalidRowException(email, "Campo excede o tamanho máximo");
+        }
+
+        return new ValidRow(line, email, password, passwordHash, row.firstName(), row.lastName(), row.phone(), role);
+    }
+
+    private List<String> findExistingEmails(Set<String> emails) {
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT email FROM users WHERE email IN (" + placeholders + ")",
+                String.class, emails.toArray());
+    }
+
+    /**
+     * Reserva ids na mesma sequence da entidade User: cada nextval é o topo de um
+     * bloco de ID_ALLOCATION_SIZE ids (top - ID_ALLOCATION_SIZE + 1 .. top) que o
+     * Hibernate não vai usar
+     */
+    List<PendingInsert> withAllocatedIds(List<ValidRow> rows) {
+        int blockSize = User.ID_ALLOCATION_SIZE;
+        int blocks = (rows.size() + blockSize - 1) / blockSize;
+        List<Long> tops = allocateBlockTops(blocks);
+
+        List<PendingInsert> inserts = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            long top = tops.get(i / blockSize);
+            inserts.add(new PendingInsert(top - blockSize + 1 + (i % blockSize), rows.get(i)));
+        }
+        return inserts;
+    }
+
+    /**
+     * Numa sequence recém-criada pelo Hibernate (START 1) o primeiro nextval
+     * devolve o valor inicial, que não fecha um bloco acima de zero: o otimizador
+     * pooled usa esse valor como início (1 .. próximo nextval). Aqui ele é
+     * descartado e outro nextval é pedido, senão o bloco seria -48 .. 1.
+     */
+    private List<Long> allocateBlockTops(int blocks) {
+        List<Long> tops = new ArrayList<>(blocks);
+        while (tops.size() < blocks) {
+            for (Long top : jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks - tops.size())) {
+                if (top >= User.ID_ALLOCATION_SIZE) {
+                    tops.add(top);
+                }
+            }
+        }
+        return tops;
+    }
+
+    private List<ValidRow> hashPasswords(List<ValidRow> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (ValidRow row : rows) {
+            hashes.add(row.passwordHash() != null ? null : hashPool.submit(() -> passwordEncoder.encode(row.password())));
+        }
+
+        List<ValidRow> hashed = new ArrayList<>(rows.size());
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                ValidRow row = rows.get(i);
+                Future<String> hash = hashes.get(i);
+                hashed.add(hash == null ? row : row.withPasswordHash(hash.get()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Importação interrompida", ex);
+        } catch (ExecutionException ex) {
+            throw new RuntimeException("Falha ao gerar hash de senha", ex.getCause());
+        }
+        return hashed;
+    }
+
+    private void updateStatus(String jobId, UserImportJob.Status status) {
+        jdbcTemplate.update(STATUS_SQL, status.name(), Timestamp.valueOf(LocalDateTime.now()), jobId);
+    }
+
+    private static AuthDto.UserImportResult toResult(UserImportJob job, long resumedFrom, ErrorCollector errors) {
+        return AuthDto.UserImportResult.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .resumedFromLine(resumedFrom)
+                .processedLines(job.getProcessedLines())
+                .imported(job.getImportedCount())
+                .failed(job.getFailedCount())
+                .errors(errors.errors)
+                .errorsTruncated(errors.truncated)
+                .build();
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String headerLine) {
+        List<String> columns = parseCsvLine(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        if (!header.containsKey("email")) {
+            throw new RuntimeException("Cabeçalho CSV sem a coluna email");
+        }
+        return header;
+    }
+
+    private static String csvField(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split de uma linha CSV (RFC 4180, sem quebras de linha dentro de campos)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    record RawLine(long number, String content) {
+    }
+
+    /**
+     * Linha como veio do arquivo; passwordHash é opcional e dispensa o BCrypt
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ImportRow(String email, String password, String passwordHash, String firstName, String lastName,
+            String phone, String role) {
+    }
+
+    record ValidRow(long line, String email, String password, String passwordHash, String firstName,
+            String lastName, String phone, User.UserRole role) {
+
+        ValidRow withPasswordHash(String hash) {
+            return new ValidRow(line, email, null, hash, firstName, lastName, phone, role);
+        }
+    }
+
+    record PendingInsert(long id, ValidRow row) {
+    }
+
+    /**
+     * Erros por linha para a resposta, limitados a max-reported-errors
+     */
+    static final class ErrorCollector {
+        private final int limit;
+        final List<AuthDto.UserImportError> errors = new ArrayList<>();
+        boolean truncated;
+
+        ErrorCollector(int limit) {
+            this.limit = limit;
+        }
+
+        void add(long line, String email, String reason) {
+            if (errors.size() < limit) {
+                errors.add(AuthDto.UserImportError.builder().line(line).email(email).reason(reason).build());
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    static final class InvalidRowException extends RuntimeException {
+        private final String email;
+
+        InvalidRowException(String email, String message) {
+            super(message);
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ifoodclone.auth.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ifoodclone.auth.dto.UserSnapshot;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache de {@link UserSnapshot} por ID. Os IDs ausentes do cache são
+ * carregados juntos em uma única consulta IN, então uma listagem com dezenas
+ * de autores custa no máximo uma ida ao banco.
+ *
+ * Entradas expiram em app.user-snapshot.ttl-seconds; quem alterar papel ou
+ * status de um usuário neste processo deve chamar {@link #invalidate(Long)}.
+ */
+@Service
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserSnapshot> cache;
+    private final int maxBatchSize;
+    private final long ttlSeconds;
+
+    public UserSnapshotCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.user-snapshot.max-batch-size:100}") int maxBatchSize,
+            @Value("${app.user-snapshot.cache-size:50000}") long cacheSize,
+            @Value("${app.user-snapshot.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.ttlSeconds = ttlSeconds;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userSnapshots");
+    }
+
+    /**
+     * Retorna os usuários encontrados na ordem dos IDs pedidos, sem repetição;
+     * IDs inexistentes são omitidos
+     */
+    public List<UserSnapshot> getAll(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > maxBatchSize) {
+            throw new RuntimeException(
+                    String.format("Máximo de %d IDs por consulta em lote", maxBatchSize));
+        }
+
+        Map<Long, UserSnapshot> found = cache.getAll(distinctIds, this::loadMissing);
+
+        List<UserSnapshot> result = new ArrayList<>(found.size());
+        for (Long id : distinctIds) {
+            UserSnapshot snapshot = found.get(id);
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Por quanto tempo (segundos) um snapshot pode ficar desatualizado
+     */
+    public long ttlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Remove o usuário do cache após alterações de perfil, papel ou status
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Carrega os usuários no cache em lotes de max-batch-size; retorna quantos
+     * foram encontrados
+     */
+    public int preload(List<Long> ids) {
+        int loaded = 0;
+        for (int from = 0; from < ids.size(); from += maxBatchSize) {
+            loaded += getAll(ids.subList(from, Math.min(from + maxBatchSize, ids.size()))).size();
+        }
+        return loaded;
+    }
+
+    /**
+     * Esvazia o cache (restore de checkpoint: os dados podem ter mudado desde a imagem)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Map<Long, UserSnapshot> loadMissing(Set<? extends Long> missingIds) {
+        Map<Long, UserSnapshot> loaded = new HashMap<>(missingIds.size() * 2);
+        for (UserSnapshot snapshot : userRepository.findSnapshotsByIdIn(new ArrayList<>(missingIds))) {
+            loaded.put(snapshot.id(), snapshot);
+        }
+        return loaded;
+    }
+}
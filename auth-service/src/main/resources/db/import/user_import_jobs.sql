@@ -0,0 +1,15 @@
+-- Tabela de checkpoints da importação em massa de usuários (UserImportService).
+--
+-- Em dev/local o Hibernate cria a tabela (ddl-auto: update); em produção
+-- (ddl-auto: validate) rodar este script antes de subir a versão com
+-- POST /api/v1/auth/admin/users:import.
+
+CREATE TABLE IF NOT EXISTS user_import_jobs (
+    id              VARCHAR(64)  PRIMARY KEY,
+    status          VARCHAR(20)  NOT NULL,
+    processed_lines BIGINT       NOT NULL,
+    imported_count  BIGINT       NOT NULL,
+    failed_count    BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,83 @@
+-- Converte refresh_tokens em tabela particionada por semana de expires_at (PostgreSQL 15).
+--
+-- Rodar uma vez, em janela de manutenção, antes de subir o auth-service com
+-- app.refresh-token-partitioning.enabled=true. Tokens já expirados não são
+-- copiados. A partir daí o RefreshTokenPartitionMaintainer cria as partições
+-- futuras e remove as vencidas com DROP TABLE, sem DELETE linha a linha.
+--
+-- Em tabela particionada toda PK/UNIQUE precisa incluir a chave de partição,
+-- por isso id e token passam a ser únicos junto com expires_at.
+
+BEGIN;
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_legacy;
+
+-- Índices e constraints mantêm o nome no RENAME; libera os nomes para a tabela nova
+DO $$
+DECLARE
+    idx RECORD;
+BEGIN
+    FOR idx IN SELECT indexname FROM pg_indexes
+            WHERE schemaname = current_schema() AND tablename = 'refresh_tokens_legacy' LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.indexname, left(idx.indexname, 56) || '_legacy');
+    END LOOP;
+END $$;
+
+-- Mesma sequence pooled da entidade (INCREMENT BY 50, ver db/sequences/pooled_id_sequences.sql)
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_seq', COALESCE((SELECT MAX(id) FROM refresh_tokens_legacy), 0) + 50, false);
+
+CREATE TABLE refresh_tokens (
+    id          BIGINT       NOT NULL,
+    token       VARCHAR(500) NOT NULL,
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    expires_at  TIMESTAMP(6) NOT NULL,
+    used_at     TIMESTAMP(6),
+    revoked     BOOLEAN      NOT NULL DEFAULT FALSE,
+    revoked_at  TIMESTAMP(6),
+    device_info VARCHAR(255),
+    ip_address  VARCHAR(45),
+    created_at  TIMESTAMP(6),
+    PRIMARY KEY (id, expires_at),
+    -- Mesmo nome do @UniqueConstraint da entidade RefreshToken
+    CONSTRAINT uk_refresh_tokens_token_expires UNIQUE (token, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Índices declarados no pai são criados em cada partição
+CREATE INDEX idx_refresh_token_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_token_expires ON refresh_tokens (expires_at);
+
+-- Índices parciais de tokens ativos (ver db/sessions/refresh_tokens_active_indexes.sql)
+CREATE INDEX idx_refresh_token_user_active ON refresh_tokens (user_id, created_at DESC, id DESC)
+    INCLUDE (expires_at) WHERE revoked = false;
+CREATE INDEX idx_refresh_token_user_device_active ON refresh_tokens (user_id, device_info)
+    INCLUDE (expires_at) WHERE revoked = false;
+CREATE INDEX idx_refresh_token_ip_active ON refresh_tokens (ip_address)
+    INCLUDE (expires_at) WHERE revoked = false;
+CREATE INDEX idx_refresh_token_active_created ON refresh_tokens (created_at DESC, id DESC)
+    INCLUDE (expires_at) WHERE revoked = false;
+
+-- Partições semanais (segunda a segunda) cobrindo os tokens ainda válidos
+DO $$
+DECLARE
+    week_start DATE := date_trunc('week', now())::date;
+    last_start DATE := date_trunc('week', COALESCE((SELECT MAX(expires_at) FROM refresh_tokens_legacy), now()))::date
+            + 28;
+BEGIN
+    WHILE week_start <= last_start LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                'refresh_tokens_p' || to_char(week_start, 'YYYYMMDD'), week_start, week_start + 7);
+        week_start := week_start + 7;
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens (id, token, user_id, expires_at, used_at, revoked, revoked_at, device_info, ip_address,
+        created_at)
+SELECT id, token, user_id, expires_at, used_at, revoked, revoked_at, device_info, ip_address, created_at
+FROM refresh_tokens_legacy
+WHERE expires_at >= date_trunc('week', now());
+
+COMMIT;
+
+-- Depois de validar o serviço: DROP TABLE refresh_tokens_legacy;
@@ -0,0 +1,28 @@
+-- Troca IDENTITY/serial de users e refresh_tokens por sequences pooled
+-- (INCREMENT BY 50, igual ao allocationSize das entidades), para o Hibernate
+-- reservar ids em bloco e agrupar INSERTs em batch (PostgreSQL 15).
+--
+-- Rodar uma vez antes de subir a versão com @SequenceGenerator. Em dev o
+-- Hibernate cria as sequences (ddl-auto: update), mas não remove o IDENTITY
+-- de tabelas já existentes; em produção (ddl-auto: validate) o script é
+-- obrigatório. Se refresh_tokens já foi particionada, rodar depois de
+-- db/partitioning/refresh_tokens_partitioned.sql.
+--
+-- Com o otimizador pooled o valor devolvido por nextval é o topo do bloco
+-- (ids de valor - 49 até valor): o próximo nextval precisa ser maior id + 50.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_seq', COALESCE((SELECT MAX(id) FROM refresh_tokens), 0) + 50, false);
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP DEFAULT;
+
+COMMIT;
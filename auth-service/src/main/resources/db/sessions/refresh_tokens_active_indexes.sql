@@ -0,0 +1,35 @@
+-- Índices parciais só com refresh tokens ativos (revoked = false) para a API
+-- de sessões e o painel de segurança (PostgreSQL 15).
+--
+-- Os índices de coluna única (user_id, expires_at) obrigam o Postgres a ler
+-- também os tokens revogados e filtrar revoked/expires_at linha a linha. Com
+-- o predicado parcial, os revogados nem entram no índice; expires_at vai em
+-- INCLUDE para o filtro "expires_at > now()" ser resolvido no próprio índice
+-- (now() não é IMMUTABLE, então não pode fazer parte do predicado).
+--
+-- CONCURRENTLY não bloqueia escritas, mas não roda dentro de transação: rodar
+-- com psql sem BEGIN/COMMIT. Em refresh_tokens particionada (ver
+-- db/partitioning/refresh_tokens_partitioned.sql) os índices já são criados
+-- pelo script de particionamento.
+
+-- GET /api/v1/auth/sessions e contagem de sessões por usuário
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_user_active
+    ON refresh_tokens (user_id, created_at DESC, id DESC) INCLUDE (expires_at)
+    WHERE revoked = false;
+
+-- POST /api/v1/auth/sessions/revoke-device
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_user_device_active
+    ON refresh_tokens (user_id, device_info) INCLUDE (expires_at)
+    WHERE revoked = false;
+
+-- Sessões ativas por IP (investigação de abuso)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_ip_active
+    ON refresh_tokens (ip_address) INCLUDE (expires_at)
+    WHERE revoked = false;
+
+-- GET /api/v1/auth/admin/sessions: paginação por keyset (created_at, id) sem varrer a tabela
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_active_created
+    ON refresh_tokens (created_at DESC, id DESC) INCLUDE (expires_at)
+    WHERE revoked = false;
+
+ANALYZE refresh_tokens;
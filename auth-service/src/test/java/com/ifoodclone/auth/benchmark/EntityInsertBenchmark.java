@@ -0,0 +1,263 @@
+package com.ifoodclone.auth.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.entity.User;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Vazão de INSERT de usuários (registro em massa) e refresh tokens (login)
+ * com o mapeamento antigo (IDENTITY, sem batch possível) e o atual (sequence
+ * pooled + hibernate.jdbc.batch_size=50 + order_inserts). O modo "identity"
+ * usa cópias das entidades com @GeneratedValue(IDENTITY); o modo "pooled" usa
+ * User e RefreshToken reais.
+ *
+ * Sobe um PostgreSQL 15 via Testcontainers (precisa de Docker).
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.include=EntityInsertBenchmark
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 100;
+
+    @Param({ "identity", "pooled" })
+    private String idStrategy;
+
+    private PostgreSQLContainer<?> postgres;
+    private SessionFactory sessionFactory;
+    private Object tokenOwner;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, postgres.getJdbcUrl() + "&reWriteBatchedInserts=true")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, postgres.getUsername())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, postgres.getPassword())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                // Mesmas configurações do application.yml nos dois modos: com IDENTITY o batch é ignorado
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.ORDER_UPDATES, true)
+                .build();
+
+        MetadataSources sources = new MetadataSources(registry);
+        if (pooled()) {
+            sources.addAnnotatedClass(User.class).addAnnotatedClass(RefreshToken.class);
+        } else {
+            sources.addAnnotatedClass(IdentityUser.class).addAnnotatedClass(IdentityRefreshToken.class);
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        tokenOwner = newUser();
+        sessionFactory.inTransaction(session -> session.persist(tokenOwner));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        postgres.stop();
+    }
+
+    /**
+     * Registro em massa: 100 usuários por transação
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void registerUsers() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                session.persist(newUser());
+            }
+        });
+    }
+
+    /**
+     * Refresh tokens emitidos em lote (ex.: reemissão após rotação de chave)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void createRefreshTokens() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                session.persist(newRefreshToken());
+            }
+        });
+    }
+
+    /**
+     * Um login: um refresh token por transação
+     */
+    @Benchmark
+    public void loginTokenInsert() {
+        sessionFactory.inTransaction(session -> session.persist(newRefreshToken()));
+    }
+
+    private boolean pooled() {
+        return "pooled".equals(idStrategy);
+    }
+
+    private Object newUser() {
+        String email = "bench" + counter.incrementAndGet() + "@example.com";
+        LocalDateTime now = LocalDateTime.now();
+        if (pooled()) {
+            return User.builder()
+                    .email(email)
+                    .password("{bcrypt}$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm")
+                    .firstName("Bench")
+                    .lastName("User")
+                    .role(User.UserRole.CUSTOMER)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+        }
+        IdentityUser user = new IdentityUser();
+        user.email = email;
+        user.password = "{bcrypt}$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm";
+        user.firstName = "Bench";
+        user.lastName = "User";
+        user.role = User.UserRole.CUSTOMER;
+        user.active = true;
+        user.createdAt = now;
+        user.updatedAt = now;
+        return user;
+    }
+
+    private Object newRefreshToken() {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (pooled()) {
+            return RefreshToken.builder()
+                    .token(token)
+                    .user((User) tokenOwner)
+                    .expiresAt(now.plusDays(7))
+                    .deviceInfo("JMH")
+                    .ipAddress("10.0.0.1")
+                    .createdAt(now)
+                    .build();
+        }
+        IdentityRefreshToken refreshToken = new IdentityRefreshToken();
+        refreshToken.token = token;
+        refreshToken.user = (IdentityUser) tokenOwner;
+        refreshToken.expiresAt = now.plusDays(7);
+        refreshToken.revoked = false;
+        refreshToken.deviceInfo = "JMH";
+        refreshToken.ipAddress = "10.0.0.1";
+        refreshToken.createdAt = now;
+        return refreshToken;
+    }
+
+    /**
+     * Colunas principais de users com o mapeamento anterior (IDENTITY)
+     */
+    @Entity
+    @Table(name = "bench_identity_users")
+    public static class IdentityUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(unique = true, nullable = false, length = 100)
+        String email;
+
+        @Column(nullable = false)
+        String password;
+
+        @Column(name = "first_name", length = 50)
+        String firstName;
+
+        @Column(name = "last_name", length = 50)
+        String lastName;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        User.UserRole role;
+
+        @Column(nullable = false)
+        Boolean active;
+
+        @Column(name = "created_at")
+        LocalDateTime createdAt;
+
+        @Column(name = "updated_at")
+        LocalDateTime updatedAt;
+    }
+
+    /**
+     * refresh_tokens com o mapeamento anterior (IDENTITY)
+     */
+    @Entity
+    @Table(name = "bench_identity_refresh_tokens")
+    public static class IdentityRefreshToken {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(nullable = false, unique = true, length = 500)
+        String token;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        IdentityUser user;
+
+        @Column(name = "expires_at", nullable = false)
+        LocalDateTime expiresAt;
+
+        @Column(nullable = false)
+        Boolean revoked;
+
+        @Column(name = "device_info")
+        String deviceInfo;
+
+        @Column(name = "ip_address", length = 45)
+        String ipAddress;
+
+        @Column(name = "created_at")
+        LocalDateTime createdAt;
+    }
+}
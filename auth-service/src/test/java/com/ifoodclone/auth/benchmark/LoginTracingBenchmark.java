@@ -0,0 +1,140 @@
+package com.ifoodclone.auth.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Custo da instrumentação de um login (span do controller + span do serviço,
+ * com os mesmos eventos e atributos do AuthService) por taxa de amostragem,
+ * com e sem a guarda span.isRecording(). Não inclui banco nem BCrypt: mede só
+ * o que o tracing acrescenta a cada chamada.
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.include=LoginTracingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginTracingBenchmark {
+
+    @Param({ "0.0", "0.01", "0.1", "1.0" })
+    private double samplingProbability;
+
+    @Param({ "true", "false" })
+    private boolean guarded;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingProbability)))
+                .addSpanProcessor(BatchSpanProcessor.builder(new DiscardingExporter()).build())
+                .build();
+        tracer = tracerProvider.get("auth-service", "1.0.0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void login() {
+        Span controllerSpan = tracer.spanBuilder("auth.login")
+                .setAttribute("service.name", "auth-service")
+                .setAttribute("operation", "user.login")
+                .startSpan();
+        boolean recording = !guarded || controllerSpan.isRecording();
+        try (io.opentelemetry.context.Scope scope = controllerSpan.makeCurrent()) {
+            if (recording) {
+                controllerSpan.addEvent("login.started")
+                        .setAttribute("client.ip", "10.0.0.1")
+                        .setAttribute("client.user_agent", "Mozilla/5.0");
+            }
+            serviceLogin();
+            if (recording) {
+                controllerSpan.addEvent("login.completed")
+                        .setAttribute("result.status", "success")
+                        .setAttribute("user.role", "CUSTOMER");
+            }
+            controllerSpan.setStatus(StatusCode.OK);
+        } finally {
+            controllerSpan.end();
+        }
+    }
+
+    private void serviceLogin() {
+        Span span = tracer.spanBuilder("auth.service.login")
+                .setAttribute("service.name", "auth-service")
+                .setAttribute("operation", "user.authentication")
+                .startSpan();
+        boolean recording = !guarded || span.isRecording();
+        try (io.opentelemetry.context.Scope scope = span.makeCurrent()) {
+            if (recording) {
+                span.addEvent("user.lookup.started");
+                span.addEvent("user.validation.started")
+                        .setAttribute("user.id", 42L)
+                        .setAttribute("user.active", true)
+                        .setAttribute("user.locked", false);
+                span.addEvent("credential.validation.started");
+                span.addEvent("authentication.successful")
+                        .setAttribute("user.role", "CUSTOMER");
+                span.addEvent("token.generation.started");
+                span.addEvent("login.completed")
+                        .setAttribute("result.status", "success");
+            }
+            span.setStatus(StatusCode.OK);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Exporter que descarta os spans, para medir só o custo de produzi-los
+     */
+    private static final class DiscardingExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ifoodclone.auth.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Tempo de hash (registro/troca de senha) e de verificação (login) do BCrypt
+ * em cada custo suportado por app.security.password.hash.
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.include=PasswordEncoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Benchmark#Password1";
+
+    @Param({ "10", "11", "12", "13", "14" })
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        encodedPassword = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,153 @@
+package com.ifoodclone.auth.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.ifoodclone.auth.AuthServiceApplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Tempo até a primeira requisição: do início do SpringApplication até a
+ * resposta de GET /api/v1/auth/health, com e sem o perfil fast-startup. Cada
+ * fork mede uma única inicialização (JVM nova), então o resultado inclui o
+ * carregamento de classes, como em um pod recém-criado.
+ *
+ * O archive AppCDS não entra aqui (depende das flags da JVM); compare com
+ * docker run das imagens auth-service/Dockerfile e Dockerfile.fast-startup.
+ *
+ * Sobe PostgreSQL 15 e Redis via Testcontainers (precisa de Docker); o schema é
+ * criado antes da medição por outra JVM, para não aquecer a do fork.
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.include=StartupTimeBenchmark
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupTimeBenchmark {
+
+    @Param({ "baseline", "fast-startup" })
+    private String mode;
+
+    private PostgreSQLContainer<?> postgres;
+    private GenericContainer<?> redis;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+        redis.start();
+        createSchema();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redis.stop();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        List<String> args = commonArgs();
+        args.add("--spring.profiles.active=" + profiles());
+        context = new SpringApplicationBuilder(AuthServiceApplication.class)
+                // Default properties: o perfil fast-startup sobrescreve o ddl-auto
+                .properties("spring.jpa.hibernate.ddl-auto=validate")
+                .run(args.toArray(String[]::new));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/health")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Health check respondeu " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private String profiles() {
+        return "fast-startup".equals(mode) ? "prod,fast-startup" : "prod";
+    }
+
+    /**
+     * Mesma configuração nos dois modos; só o perfil muda
+     */
+    private List<String> commonArgs() {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--spring.cloud.config.enabled=false");
+        args.add("--spring.config.import=");
+        args.add("--eureka.client.enabled=false");
+        args.add("--management.tracing.enabled=false");
+        args.add("--app.registration.email-index.enabled=false");
+        args.add("--app.warm-up.enabled=false");
+        args.add("--app.jwt.signing.allow-ephemeral-key=true");
+        args.add("--DATABASE_URL=" + postgres.getJdbcUrl());
+        args.add("--DATABASE_USERNAME=" + postgres.getUsername());
+        args.add("--DATABASE_PASSWORD=" + postgres.getPassword());
+        args.add("--REDIS_HOST=" + redis.getHost());
+        args.add("--REDIS_PORT=" + redis.getMappedPort(6379));
+        args.add("--REDIS_PASSWORD=");
+        args.add("--MAIL_HOST=localhost");
+        args.add("--MAIL_PORT=25");
+        args.add("--MAIL_USERNAME=");
+        args.add("--MAIL_PASSWORD=");
+        args.add("--JWT_SECRET=YWxsYW5lc3BlcmF2YW1vc3F1ZXNlamlhZm9yZXRlc29tcGVzc29hbHZhcnJhem9hYmVsZGFzaXZh");
+        args.add("--INTROSPECTION_CLIENT_SECRET=startup-benchmark");
+        return args;
+    }
+
+    /**
+     * Cria o schema em uma JVM separada (ddl-auto=create, sai após o refresh)
+     */
+    private void createSchema() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add(AuthServiceApplication.class.getName());
+        command.add("--spring.profiles.active=prod");
+        command.add("--spring.jpa.hibernate.ddl-auto=create");
+        command.addAll(commonArgs());
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Falha ao criar o schema do benchmark");
+        }
+    }
+}
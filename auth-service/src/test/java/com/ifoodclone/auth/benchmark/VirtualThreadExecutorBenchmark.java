@@ -0,0 +1,182 @@
+package com.ifoodclone.auth.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.service.AccessTokenRevocationPublisher;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Vazão de requests no pool padrão do Tomcat (200 platform threads) contra
+ * virtual threads (spring.threads.virtual.enabled), no caminho real de um
+ * request autenticado: busca do usuário por e-mail via Hibernate sobre um pool
+ * Hikari do tamanho de DB_POOL_SIZE, e consulta do corte de revogação do
+ * usuário no Redis via Lettuce (StringRedisTemplate). O resultado é rajadas
+ * de concurrentRequests requests por segundo.
+ *
+ * Sobe PostgreSQL 15 e Redis 7.2 via Testcontainers (precisa de Docker). O fork
+ * roda com -Djdk.tracePinnedThreads=full: uma virtual thread que bloqueia
+ * segurando um monitor imprime a stack no stdout. O modo "virtual" tem que
+ * terminar sem nenhuma stack impressa.
+ *
+ * Auditoria de pinning (Java 21; versões gerenciadas pelo Spring Boot 3.2):
+ * - Código do auth-service: nenhum bloco synchronized; os callbacks de compute
+ *   de ConcurrentHashMap/Caffeine não fazem I/O.
+ * - PostgreSQL JDBC 42.6: o I/O do QueryExecutorImpl é feito sob ResourceLock
+ *   (ReentrantLock); os monitores restantes só protegem os conjuntos de OIDs binários.
+ * - HikariCP 5.0: a espera por conexão (ConcurrentBag) não usa monitor. Os
+ *   synchronized de ProxyConnection só mexem na lista de statements; fillPool
+ *   roda na thread de housekeeping. O getConnection do HikariDataSource criado
+ *   pelo Spring Boot inicializa o pool sob monitor só na primeira chamada, no startup.
+ * - Lettuce 6.3 / Spring Data Redis 3.2: sem monitores no envio de comandos; o
+ *   cliente síncrono espera em CompletableFuture.
+ * - Hibernate 6.4: coberto só por este benchmark (trace em runtime).
+ *
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark.include=VirtualThreadExecutorBenchmark
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=full")
+public class VirtualThreadExecutorBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int USERS = 1000;
+
+    @Param({ "platform", "virtual" })
+    private String mode;
+
+    @Param({ "200", "2000" })
+    private int concurrentRequests;
+
+    // Padrão de DB_POOL_SIZE no application.yml
+    @Param({ "10" })
+    private int dbPoolSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private GenericContainer<?> redis;
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private LettuceConnectionFactory redisConnectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+        postgres.start();
+        redis.start();
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(postgres.getJdbcUrl());
+        hikariConfig.setUsername(postgres.getUsername());
+        hikariConfig.setPassword(postgres.getPassword());
+        hikariConfig.setMaximumPoolSize(dbPoolSize);
+        dataSource = new HikariDataSource(hikariConfig);
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .build();
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(User.class)
+                .buildMetadata().buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < USERS; i++) {
+                session.persist(User.builder()
+                        .email(email(i))
+                        .password("{bcrypt}$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm")
+                        .firstName("Bench")
+                        .lastName("User")
+                        .role(User.UserRole.CUSTOMER)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+        });
+
+        redisConnectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        redisConnectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        redisConnectionFactory.destroy();
+        sessionFactory.close();
+        dataSource.close();
+        redis.stop();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            String email = email(i % USERS);
+            futures.add(executor.submit(() -> request(email)));
+        }
+
+        int completed = 0;
+        for (Future<Integer> future : futures) {
+            completed += future.get();
+        }
+        return completed;
+    }
+
+    /**
+     * Um request: carrega o usuário (JPA/JDBC) e consulta o corte de revogação (Redis)
+     */
+    private int request(String email) {
+        User user = sessionFactory.fromSession(session -> session
+                .createSelectionQuery("from User where email = :email", User.class)
+                .setParameter("email", email)
+                .getSingleResult());
+        redisTemplate.opsForValue().get(AccessTokenRevocationPublisher.USER_NOT_BEFORE_PREFIX + user.getId());
+        return 1;
+    }
+
+    private static String email(int index) {
+        return "bench" + index + "@example.com";
+    }
+}
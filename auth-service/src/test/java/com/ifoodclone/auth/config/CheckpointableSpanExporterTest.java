@@ -0,0 +1,42 @@
+package com.ifoodclone.auth.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+@DisplayName("Checkpointable Span Exporter Tests")
+class CheckpointableSpanExporterTest {
+
+    @Test
+    @DisplayName("Should close the delegate on suspend and export through a fresh one on resume")
+    void shouldSwapDelegateAroundCheckpoint() {
+        // Given
+        SpanExporter original = mock(SpanExporter.class);
+        SpanExporter reopened = mock(SpanExporter.class);
+        when(original.shutdown()).thenReturn(CompletableResultCode.ofSuccess());
+        when(reopened.export(List.of())).thenReturn(CompletableResultCode.ofSuccess());
+        CheckpointableSpanExporter exporter = new CheckpointableSpanExporter(original, () -> reopened);
+
+        // When
+        exporter.suspend();
+        CompletableResultCode whileSuspended = exporter.export(List.of());
+        exporter.resume();
+        CompletableResultCode afterRestore = exporter.export(List.of());
+
+        // Then
+        verify(original).shutdown();
+        verify(original, never()).export(List.of());
+        assertThat(whileSuspended.isSuccess()).isFalse();
+        assertThat(afterRestore.isSuccess()).isTrue();
+    }
+}
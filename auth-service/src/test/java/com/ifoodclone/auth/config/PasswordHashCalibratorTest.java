@@ -0,0 +1,29 @@
+package com.ifoodclone.auth.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Password Hash Calibrator Tests")
+class PasswordHashCalibratorTest {
+
+    @Test
+    @DisplayName("Should add one cost step per doubling of the target time")
+    void shouldAddOneCostStepPerDoubling() {
+        assertThat(PasswordHashCalibrator.costForTarget(50.0, 250, 10, 16)).isEqualTo(12);
+        assertThat(PasswordHashCalibrator.costForTarget(50.0, 450, 10, 16)).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Should keep the minimum cost when the machine is already slower than the target")
+    void shouldKeepMinimumCostWhenSlowerThanTarget() {
+        assertThat(PasswordHashCalibrator.costForTarget(300.0, 250, 12, 15)).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should clamp the cost to the configured maximum")
+    void shouldClampToMaximumCost() {
+        assertThat(PasswordHashCalibrator.costForTarget(1.0, 10_000, 10, 14)).isEqualTo(14);
+    }
+}
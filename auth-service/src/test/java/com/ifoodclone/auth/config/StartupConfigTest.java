@@ -0,0 +1,38 @@
+package com.ifoodclone.auth.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+@DisplayName("Startup Config Tests")
+class StartupConfigTest {
+
+    @Test
+    @DisplayName("Should mark only beans from the configured prefixes as lazy")
+    void shouldMarkMatchingBeansLazy() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("openApiConfig", new RootBeanDefinition(OpenApiConfig.class));
+        beanFactory.registerBeanDefinition("correlationIdInterceptor",
+                new RootBeanDefinition(CorrelationIdInterceptor.class));
+        GenericBeanDefinition openApi = new GenericBeanDefinition();
+        openApi.setFactoryBeanName("openApiConfig");
+        openApi.setFactoryMethodName("authServiceOpenAPI");
+        beanFactory.registerBeanDefinition("authServiceOpenAPI", openApi);
+
+        // When
+        int count = StartupConfig.markLazy(beanFactory, List.of("com.ifoodclone.auth.config.OpenApiConfig"));
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(beanFactory.getBeanDefinition("openApiConfig").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("authServiceOpenAPI").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("correlationIdInterceptor").isLazyInit()).isFalse();
+    }
+}
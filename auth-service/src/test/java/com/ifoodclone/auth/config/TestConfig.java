@@ -46,6 +46,7 @@ public class TestConfig {
         when(span.setAttribute(anyString(), any(Integer.class))).thenReturn(span);
         when(span.setStatus(any(StatusCode.class), anyString())).thenReturn(span);
         when(span.setStatus(any(StatusCode.class))).thenReturn(span);
+        when(span.recordException(any(Throwable.class))).thenReturn(span);
 
         return openTelemetry;
     }
@@ -55,4 +56,12 @@ public class TestConfig {
     public Tracer tracer() {
         return Mockito.mock(Tracer.class);
     }
+
+    /**
+     * Tracer do Micrometer (CorrelationIdInterceptor), ausente nos testes de fatia web
+     */
+    @Bean
+    public io.micrometer.tracing.Tracer micrometerTracer() {
+        return io.micrometer.tracing.Tracer.NOOP;
+    }
 }
\ No newline at end of file
@@ -1,36 +1,46 @@
 package com.ifoodclone.auth.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifoodclone.auth.config.JwtAuthenticationEntryPoint;
+import com.ifoodclone.auth.config.SecurityConfig;
 import com.ifoodclone.auth.config.TestConfig;
 import com.ifoodclone.auth.dto.AuthDto;
 import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.service.AuthMetrics;
 import com.ifoodclone.auth.service.AuthService;
+import com.ifoodclone.auth.service.EmailAlreadyRegisteredException;
+import com.ifoodclone.auth.service.JwtService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(controllers = AuthController.class)
 @ActiveProfiles("test")
-@Import(TestConfig.class)
+@Import({ TestConfig.class, SecurityConfig.class, JwtAuthenticationEntryPoint.class })
 @DisplayName("AuthController Unit Tests")
 class AuthControllerTest {
 
@@ -43,6 +53,16 @@ class AuthControllerTest {
     @MockBean
     private AuthService authService;
 
+    // Dependências do SecurityConfig e do JwtAuthenticationFilter, fora da fatia @WebMvcTest
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private AuthMetrics authMetrics;
+
     private AuthDto.LoginResponse loginResponse;
     private AuthDto.UserInfo userInfo;
     private AuthDto.TokenResponse tokenResponse;
@@ -127,6 +147,30 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.message").value("Falha no registro"));
         }
 
+        @Test
+        @DisplayName("Should return conflict when email is already registered")
+        void shouldReturnConflictWhenEmailAlreadyRegistered() throws Exception {
+            // Given
+            AuthDto.RegisterRequest request = AuthDto.RegisterRequest.builder()
+                    .email("test@example.com")
+                    .password("password123")
+                    .firstName("Test")
+                    .lastName("User")
+                    .role(User.UserRole.CUSTOMER)
+                    .build();
+
+            when(authService.register(any(AuthDto.RegisterRequest.class)))
+                    .thenThrow(new EmailAlreadyRegisteredException());
+
+            // When & Then
+            mockMvc.perform(post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.error").value("Email já cadastrado"));
+        }
+
         @Test
         @DisplayName("Should return validation error for invalid request")
         void shouldReturnValidationErrorForInvalidRequest() throws Exception {
@@ -191,6 +235,36 @@ class AuthControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Falha no login"));
         }
+
+        @Test
+        @DisplayName("Should key login throttling on the remote address, not on a spoofed X-Forwarded-For")
+        void shouldIgnoreSpoofedForwardedFor() throws Exception {
+            // Given
+            AuthDto.LoginRequest request = AuthDto.LoginRequest.builder()
+                    .email("test@example.com")
+                    .password("password123")
+                    .build();
+
+            when(authService.login(any(AuthDto.LoginRequest.class)))
+                    .thenReturn(loginResponse);
+
+            // When
+            mockMvc.perform(post("/api/v1/auth/login")
+                    .with(httpRequest -> {
+                        httpRequest.setRemoteAddr("198.51.100.7");
+                        return httpRequest;
+                    })
+                    .header("X-Forwarded-For", "203.0.113.99, 198.51.100.7")
+                    .header("X-Real-IP", "203.0.113.99")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            // Then
+            ArgumentCaptor<AuthDto.LoginRequest> captor = ArgumentCaptor.forClass(AuthDto.LoginRequest.class);
+            verify(authService).login(captor.capture());
+            assertThat(captor.getValue().getIpAddress()).isEqualTo("198.51.100.7");
+        }
     }
 
     @Nested
@@ -245,13 +319,19 @@ class AuthControllerTest {
 
         @Test
         @DisplayName("Should get user profile successfully")
-        @WithMockUser(username = "test@example.com", roles = "CUSTOMER")
         void shouldGetUserProfileSuccessfully() throws Exception {
             // Given
-            when(authService.getUserById(anyLong())).thenReturn(userInfo);
+            when(authService.getUserById(1L)).thenReturn(userInfo);
+            User principal = User.builder()
+                    .id(1L)
+                    .email("test@example.com")
+                    .password("encoded-password")
+                    .role(User.UserRole.CUSTOMER)
+                    .build();
 
             // When & Then
             mockMvc.perform(get("/api/v1/auth/profile")
+                    .with(user(principal))
                     .header("Authorization", "Bearer valid-token"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
@@ -308,7 +388,7 @@ class AuthControllerTest {
                     .build();
 
             doThrow(new RuntimeException("Token inválido"))
-                    .when(authService).logout(any());
+                    .when(authService).logout(any(), any());
 
             // When & Then
             mockMvc.perform(post("/api/v1/auth/logout")
@@ -327,6 +407,7 @@ class AuthControllerTest {
 
         @Test
         @DisplayName("Should return health status")
+        @WithMockUser
         void shouldReturnHealthStatus() throws Exception {
             // When & Then
             mockMvc.perform(get("/api/v1/auth/health"))
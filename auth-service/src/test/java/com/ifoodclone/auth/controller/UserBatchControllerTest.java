@@ -0,0 +1,97 @@
+package com.ifoodclone.auth.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import com.ifoodclone.auth.config.InternalClientKey;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.dto.UserSnapshot;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.service.UserSnapshotCache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(UserBatchControllerTest.Config.class)
+@DisplayName("User Batch Controller Tests")
+class UserBatchControllerTest {
+
+    private static final String CLIENT_SECRET = "internal-secret";
+
+    @Autowired
+    private UserBatchController controller;
+
+    @Autowired
+    private UserSnapshotCache userSnapshotCache;
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    @DisplayName("Should deny an authenticated customer without the internal key")
+    void shouldDenyCustomers() {
+        assertThatThrownBy(() -> controller.batchGet(null, request()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> controller.batchGet("wrong-secret", request()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should allow admins")
+    void shouldAllowAdmins() {
+        // Given
+        when(userSnapshotCache.getAll(List.of(1L))).thenReturn(List.of(snapshot()));
+
+        // When / Then
+        assertThat(controller.batchGet(null, request()).getBody().getData()).containsExactly(snapshot());
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    @DisplayName("Should allow internal services that send the shared key")
+    void shouldAllowInternalClients() {
+        // Given
+        when(userSnapshotCache.getAll(List.of(1L))).thenReturn(List.of(snapshot()));
+
+        // When / Then
+        assertThat(controller.batchGet(CLIENT_SECRET, request()).getBody().getData()).containsExactly(snapshot());
+    }
+
+    private static AuthDto.BatchGetUsersRequest request() {
+        return AuthDto.BatchGetUsersRequest.builder().ids(List.of(1L)).build();
+    }
+
+    private static UserSnapshot snapshot() {
+        return new UserSnapshot(1L, "Ana", "Silva", User.UserRole.CUSTOMER, true);
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        UserSnapshotCache userSnapshotCache() {
+            return mock(UserSnapshotCache.class);
+        }
+
+        @Bean
+        InternalClientKey internalClientKey() {
+            return new InternalClientKey(CLIENT_SECRET);
+        }
+
+        @Bean
+        UserBatchController userBatchController(UserSnapshotCache userSnapshotCache) {
+            return new UserBatchController(userSnapshotCache);
+        }
+    }
+}
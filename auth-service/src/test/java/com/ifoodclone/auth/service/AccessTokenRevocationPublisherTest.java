@@ -0,0 +1,88 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Access Token Revocation Publisher Tests")
+class AccessTokenRevocationPublisherTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private JwtService jwtService;
+
+    private AccessTokenRevocationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new AccessTokenRevocationPublisher(redisTemplate, jwtService);
+        ReflectionTestUtils.setField(publisher, "accessExpirationMs", 900_000L);
+    }
+
+    @Test
+    @DisplayName("Should round the user cutoff up to the next second")
+    void shouldRoundNotBeforeUp() {
+        assertThat(AccessTokenRevocationPublisher.notBeforeMs(1_767_225_600_400L)).isEqualTo(1_767_225_601_000L);
+        assertThat(AccessTokenRevocationPublisher.notBeforeMs(1_767_225_600_000L)).isEqualTo(1_767_225_601_000L);
+    }
+
+    @Test
+    @DisplayName("Should revoke a token issued earlier in the same second as logout-all")
+    @SuppressWarnings("unchecked")
+    void shouldRevokeTokenIssuedInSameSecond() {
+        // Given: token emitido antes da revogação, iat truncado para o segundo (como no JWT)
+        long issuedAtMs = System.currentTimeMillis() / 1000 * 1000;
+        publisher.revokeUserTokens(1L);
+
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(AccessTokenRevocationPublisher.REVOKED_KEY,
+                AccessTokenRevocationPublisher.USER_NOT_BEFORE_PREFIX + 1)),
+                args.capture(), args.capture(), args.capture(), args.capture(), args.capture(), args.capture());
+        String notBefore = (String) args.getAllValues().get(4);
+        assertThat(args.getAllValues().get(1)).isEqualTo("user|1|" + notBefore);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList(null, notBefore));
+
+        // When
+        boolean[] revoked = publisher.findRevoked(
+                List.of(new AccessTokenRevocationPublisher.RevocationCheck("jti-1", 1L, issuedAtMs)));
+
+        // Then
+        assertThat(revoked).containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("Should keep tokens issued after the cutoff second valid")
+    @SuppressWarnings("unchecked")
+    void shouldKeepLaterTokensValid() {
+        // Given
+        long notBefore = AccessTokenRevocationPublisher.notBeforeMs(System.currentTimeMillis());
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList(null, Long.toString(notBefore)));
+
+        // When
+        boolean[] revoked = publisher.findRevoked(
+                List.of(new AccessTokenRevocationPublisher.RevocationCheck("jti-2", 1L, notBefore)));
+
+        // Then
+        assertThat(revoked).containsExactly(false);
+    }
+}
@@ -3,6 +3,7 @@ package com.ifoodclone.auth.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -14,9 +15,9 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import com.ifoodclone.auth.dto.AuthDto;
-import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.dto.LoginPrecheck;
+import com.ifoodclone.auth.dto.UserProfileView;
 import com.ifoodclone.auth.entity.User;
-import com.ifoodclone.auth.repository.RefreshTokenRepository;
 import com.ifoodclone.auth.repository.UserRepository;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +29,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,6 +37,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
@@ -52,23 +55,35 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private CustomUserDetailsService userDetailsService;
     @Mock
+    private LoginBookkeepingBuffer loginBookkeeping;
+    @Mock
+    private LoginThrottle loginThrottle;
+    @Mock
+    private EmailAvailabilityIndex emailIndex;
+    @Mock
+    private AccessTokenRevocationPublisher accessTokenRevocation;
+    @Mock
+    private SessionService sessionService;
+    @Mock
     private OpenTelemetry openTelemetry;
     @Mock
     private Tracer tracer;
 
     private AuthService authService;
+    private SimpleMeterRegistry meterRegistry;
     private User testUser;
 
     @BeforeEach
     void setUp() {
         // Configure OpenTelemetry mock chain
-        var spanBuilder = mock(SpanBuilder.class);
+        // RETURNS_SELF cobre todas as sobrecargas de setAttribute (String, long, boolean...)
+        var spanBuilder = mock(SpanBuilder.class, Mockito.RETURNS_SELF);
         var span = mock(Span.class);
         var scope = mock(Scope.class);
 
@@ -76,7 +91,6 @@ class AuthServiceTest {
         // tracing
         Mockito.lenient().when(openTelemetry.getTracer(anyString(), anyString())).thenReturn(tracer);
         Mockito.lenient().when(tracer.spanBuilder(anyString())).thenReturn(spanBuilder);
-        Mockito.lenient().when(spanBuilder.setAttribute(anyString(), anyString())).thenReturn(spanBuilder);
         Mockito.lenient().when(spanBuilder.startSpan()).thenReturn(span);
         Mockito.lenient().when(span.makeCurrent()).thenReturn(scope);
         Mockito.lenient().when(span.recordException(any(Throwable.class))).thenReturn(span);
@@ -85,13 +99,20 @@ class AuthServiceTest {
         Mockito.lenient().when(span.setAttribute(anyString(), anyString())).thenReturn(span);
         Mockito.lenient().when(span.setAttribute(anyString(), any(Long.class))).thenReturn(span);
         Mockito.lenient().when(span.setAttribute(anyString(), any(Boolean.class))).thenReturn(span);
+        meterRegistry = new SimpleMeterRegistry();
         authService = new AuthService(
                 authenticationManager,
                 jwtService,
                 userRepository,
-                refreshTokenRepository,
+                refreshTokenStore,
                 passwordEncoder,
                 userDetailsService,
+                loginBookkeeping,
+                loginThrottle,
+                emailIndex,
+                accessTokenRevocation,
+                sessionService,
+                new AuthMetrics(meterRegistry),
                 openTelemetry);
 
         // Set test configurations
@@ -135,8 +156,8 @@ class AuthServiceTest {
             Authentication mockAuth = mock(Authentication.class);
             when(mockAuth.getPrincipal()).thenReturn(testUser);
 
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenReturn(mockAuth);
             when(jwtService.generateToken(any(User.class))).thenReturn("access-token");
@@ -152,8 +173,10 @@ class AuthServiceTest {
             assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
             assertThat(response.getUser().getEmail()).isEqualTo("test@example.com");
 
-            verify(refreshTokenRepository).save(any(RefreshToken.class));
-            verify(userRepository).updateLastLoginTime(eq(1L), any(LocalDateTime.class));
+            verify(refreshTokenStore).save(eq(1L), eq("refresh-token"), eq("Test Device"), eq("192.168.1.1"),
+                    any(LocalDateTime.class));
+            verify(loginBookkeeping).recordSuccessfulLogin(eq(1L), any(LocalDateTime.class));
+            verify(userRepository, never()).updateLastLoginTime(any(), any());
         }
 
         @Test
@@ -164,8 +187,8 @@ class AuthServiceTest {
             Authentication mockAuth = mock(Authentication.class);
             when(mockAuth.getPrincipal()).thenReturn(testUser);
 
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenReturn(mockAuth);
             when(jwtService.generateToken(any(User.class))).thenReturn("access-token");
@@ -176,14 +199,15 @@ class AuthServiceTest {
             authService.login(validLoginRequest);
 
             // Then
-            verify(userRepository).resetFailedLoginAttempts(1L);
+            verify(loginBookkeeping).recordSuccessfulLogin(eq(1L), any(LocalDateTime.class));
+            verify(userRepository, never()).resetFailedLoginAttempts(any());
         }
 
         @Test
         @DisplayName("Should throw exception for non-existent user")
         void shouldThrowExceptionForNonExistentUser() {
             // Given
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
                     .thenReturn(Optional.empty());
 
             // When & Then
@@ -199,13 +223,43 @@ class AuthServiceTest {
             testUser.setAccountLocked(true);
             testUser.setAccountLockedUntil(LocalDateTime.now().plusMinutes(30));
 
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
+
+            // When & Then
+            assertThatThrownBy(() -> authService.login(validLoginRequest))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Conta temporariamente bloqueada devido a muitas tentativas de login");
+        }
+
+        @Test
+        @DisplayName("Should allow login precheck once the lock has expired")
+        void shouldTreatExpiredLockAsUnlocked() {
+            // Given
+            testUser.setAccountLocked(false);
+            testUser.setAccountLockedUntil(LocalDateTime.now().minusMinutes(1));
+
+            // When
+            LoginPrecheck precheck = precheckOf(testUser).orElseThrow();
+
+            // Then
+            assertThat(precheck.isLocked()).isEqualTo(!testUser.isAccountNonLocked()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should throw exception for account locked by the in-memory counter")
+        void shouldThrowExceptionForAccountLockedInMemory() {
+            // Given
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
+            when(loginBookkeeping.isLocked(1L)).thenReturn(true);
 
             // When & Then
             assertThatThrownBy(() -> authService.login(validLoginRequest))
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("Conta temporariamente bloqueada devido a muitas tentativas de login");
+
+            verify(authenticationManager, never()).authenticate(any());
         }
 
         @Test
@@ -214,8 +268,8 @@ class AuthServiceTest {
             // Given
             testUser.setActive(false);
 
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
 
             // When & Then
             assertThatThrownBy(() -> authService.login(validLoginRequest))
@@ -227,17 +281,20 @@ class AuthServiceTest {
         @DisplayName("Should increment failed attempts on authentication failure")
         void shouldIncrementFailedAttemptsOnAuthenticationFailure() {
             // Given
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenThrow(new BadCredentialsException("Invalid credentials"));
+            when(loginBookkeeping.recordFailedLogin(1L, 0)).thenReturn(1);
 
             // When & Then
             assertThatThrownBy(() -> authService.login(validLoginRequest))
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("Credenciais inválidas");
 
-            verify(userRepository).incrementFailedLoginAttempts(1L);
+            verify(loginBookkeeping).recordFailedLogin(1L, 0);
+            verify(loginBookkeeping, never()).lockAccount(any(), any());
+            verify(userRepository, never()).incrementFailedLoginAttempts(any());
         }
 
         @Test
@@ -246,17 +303,55 @@ class AuthServiceTest {
             // Given
             testUser.setFailedLoginAttempts(4); // Next failure will reach max (5)
 
-            when(userRepository.findByEmail(validLoginRequest.getEmail()))
-                    .thenReturn(Optional.of(testUser));
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenThrow(new BadCredentialsException("Invalid credentials"));
+            when(loginBookkeeping.recordFailedLogin(eq(1L), anyInt())).thenReturn(5);
 
             // When & Then
             assertThatThrownBy(() -> authService.login(validLoginRequest))
                     .isInstanceOf(RuntimeException.class);
 
-            verify(userRepository).incrementFailedLoginAttempts(1L);
-            verify(userRepository).lockAccount(eq(1L), any(LocalDateTime.class));
+            verify(loginBookkeeping).recordFailedLogin(1L, 4);
+            verify(loginBookkeeping).lockAccount(eq(1L), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should count rejected logins by reason")
+        void shouldCountRejectedLoginsByReason() {
+            // Given
+            testUser.setActive(false);
+            when(userRepository.findLoginPrecheckByEmail(validLoginRequest.getEmail()))
+                    .thenReturn(precheckOf(testUser));
+
+            // When
+            assertThatThrownBy(() -> authService.login(validLoginRequest))
+                    .isInstanceOf(RuntimeException.class);
+
+            // Then
+            assertThat(meterRegistry.get("auth.login.rejected").tag("reason", "account_inactive").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("auth.login.duration").tag("outcome", "failure").timer().count())
+                    .isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should reject throttled login before loading the user")
+        void shouldRejectThrottledLoginBeforeLoadingUser() {
+            // Given
+            when(loginThrottle.check(validLoginRequest.getEmail(), validLoginRequest.getIpAddress()))
+                    .thenReturn(30_000L);
+
+            // When & Then
+            assertThatThrownBy(() -> authService.login(validLoginRequest))
+                    .isInstanceOf(LoginThrottledException.class)
+                    .satisfies(ex -> assertThat(((LoginThrottledException) ex).getRetryAfterSeconds()).isEqualTo(30L));
+
+            verify(userRepository, never()).findLoginPrecheckByEmail(anyString());
+            verify(authenticationManager, never()).authenticate(any());
+            assertThat(meterRegistry.get("auth.login.rejected").tag("reason", "throttled").counter().count())
+                    .isEqualTo(1.0);
         }
     }
 
@@ -291,11 +386,13 @@ class AuthServiceTest {
                     .active(true)
                     .emailVerified(false)
                     .build();
+            when(emailIndex.mightContain(validRegisterRequest.getEmail()))
+                    .thenReturn(true);
             when(userRepository.existsByEmail(validRegisterRequest.getEmail()))
                     .thenReturn(false);
             when(passwordEncoder.encode(validRegisterRequest.getPassword()))
                     .thenReturn("encoded-password");
-            when(userRepository.save(any(User.class)))
+            when(userRepository.saveAndFlush(any(User.class)))
                     .thenReturn(savedUser);
 
             // When
@@ -311,7 +408,8 @@ class AuthServiceTest {
             assertThat(userInfo.getEmailVerified()).isFalse();
 
             ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-            verify(userRepository).save(userCaptor.capture());
+            verify(userRepository).saveAndFlush(userCaptor.capture());
+            verify(emailIndex).put("newuser@example.com");
 
             User capturedUser = userCaptor.getValue();
             assertThat(capturedUser.getEmail()).isEqualTo("newuser@example.com");
@@ -324,15 +422,36 @@ class AuthServiceTest {
         @DisplayName("Should throw exception for existing email")
         void shouldThrowExceptionForExistingEmail() {
             // Given
+            when(emailIndex.mightContain(validRegisterRequest.getEmail()))
+                    .thenReturn(true);
             when(userRepository.existsByEmail(validRegisterRequest.getEmail()))
                     .thenReturn(true);
 
             // When & Then
             assertThatThrownBy(() -> authService.register(validRegisterRequest))
-                    .isInstanceOf(RuntimeException.class)
+                    .isInstanceOf(EmailAlreadyRegisteredException.class)
                     .hasMessage("Email já cadastrado");
 
-            verify(userRepository, never()).save(any(User.class));
+            verify(userRepository, never()).saveAndFlush(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should skip the email query when the index rules the email out")
+        void shouldSkipEmailQueryWhenIndexRulesItOut() {
+            // Given
+            when(emailIndex.mightContain(validRegisterRequest.getEmail()))
+                    .thenReturn(false);
+            when(passwordEncoder.encode(validRegisterRequest.getPassword()))
+                    .thenReturn("encoded-password");
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+            // When & Then
+            assertThatThrownBy(() -> authService.register(validRegisterRequest))
+                    .isInstanceOf(EmailAlreadyRegisteredException.class);
+
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(emailIndex, never()).put(anyString());
         }
     }
 
@@ -341,7 +460,7 @@ class AuthServiceTest {
     class RefreshTokenTests {
 
         private AuthDto.RefreshTokenRequest validRefreshRequest;
-        private RefreshToken validRefreshToken;
+        private RefreshTokenRecord validRefreshToken;
 
         @BeforeEach
         void setUp() {
@@ -349,13 +468,7 @@ class AuthServiceTest {
                     .refreshToken("valid-refresh-token")
                     .build();
 
-            validRefreshToken = RefreshToken.builder()
-                    .id(1L)
-                    .token("valid-refresh-token")
-                    .user(testUser)
-                    .expiresAt(LocalDateTime.now().plusDays(1))
-                    .revoked(false)
-                    .build();
+            validRefreshToken = new RefreshTokenRecord(1L, "Test Device", LocalDateTime.now().plusDays(1), false);
         }
 
         @Test
@@ -364,8 +477,9 @@ class AuthServiceTest {
             // Given
             when(jwtService.isTokenValid("valid-refresh-token")).thenReturn(true);
             when(jwtService.isRefreshToken("valid-refresh-token")).thenReturn(true);
-            when(refreshTokenRepository.findByToken("valid-refresh-token"))
+            when(refreshTokenStore.find("valid-refresh-token"))
                     .thenReturn(Optional.of(validRefreshToken));
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
             when(jwtService.generateToken(testUser)).thenReturn("new-access-token");
             when(jwtService.getExpirationTime()).thenReturn(60000L);
 
@@ -378,8 +492,7 @@ class AuthServiceTest {
             assertThat(response.getRefreshToken()).isEqualTo("valid-refresh-token");
             assertThat(response.getExpiresIn()).isEqualTo(60L);
 
-            verify(refreshTokenRepository).save(validRefreshToken);
-            assertThat(validRefreshToken.isUsed()).isTrue();
+            verify(refreshTokenStore).markUsed("valid-refresh-token");
         }
 
         @Test
@@ -402,11 +515,11 @@ class AuthServiceTest {
         @DisplayName("Should throw exception for revoked refresh token")
         void shouldThrowExceptionForRevokedRefreshToken() {
             // Given
-            validRefreshToken.setRevoked(true);
+            validRefreshToken = new RefreshTokenRecord(1L, "Test Device", LocalDateTime.now().plusDays(1), true);
 
             when(jwtService.isTokenValid("valid-refresh-token")).thenReturn(true);
             when(jwtService.isRefreshToken("valid-refresh-token")).thenReturn(true);
-            when(refreshTokenRepository.findByToken("valid-refresh-token"))
+            when(refreshTokenStore.find("valid-refresh-token"))
                     .thenReturn(Optional.of(validRefreshToken));
 
             // When & Then
@@ -419,11 +532,11 @@ class AuthServiceTest {
         @DisplayName("Should throw exception for expired refresh token")
         void shouldThrowExceptionForExpiredRefreshToken() {
             // Given
-            validRefreshToken.setExpiresAt(LocalDateTime.now().minusDays(1));
+            validRefreshToken = new RefreshTokenRecord(1L, "Test Device", LocalDateTime.now().minusDays(1), false);
 
             when(jwtService.isTokenValid("valid-refresh-token")).thenReturn(true);
             when(jwtService.isRefreshToken("valid-refresh-token")).thenReturn(true);
-            when(refreshTokenRepository.findByToken("valid-refresh-token"))
+            when(refreshTokenStore.find("valid-refresh-token"))
                     .thenReturn(Optional.of(validRefreshToken));
 
             // When & Then
@@ -442,12 +555,26 @@ class AuthServiceTest {
         void shouldLogoutSuccessfully() {
             // Given
             String refreshToken = "valid-refresh-token";
+            when(jwtService.extractUserId(refreshToken)).thenReturn(1L);
 
             // When
             authService.logout(refreshToken);
 
             // Then
-            verify(refreshTokenRepository).revokeToken(eq(refreshToken), any(LocalDateTime.class));
+            verify(refreshTokenStore).revoke(refreshToken);
+            verify(sessionService).invalidate(1L);
+            verify(accessTokenRevocation, never()).revokeAccessToken(any());
+        }
+
+        @Test
+        @DisplayName("Should revoke the access token used to logout")
+        void shouldRevokeAccessTokenOnLogout() {
+            // When
+            authService.logout("valid-refresh-token", "access-token");
+
+            // Then
+            verify(refreshTokenStore).revoke("valid-refresh-token");
+            verify(accessTokenRevocation).revokeAccessToken("access-token");
         }
 
         @Test
@@ -457,27 +584,29 @@ class AuthServiceTest {
             authService.logout(null);
 
             // Then
-            verify(refreshTokenRepository, never()).revokeToken(any(), any());
+            verify(refreshTokenStore, never()).revoke(any());
         }
 
         @Test
         @DisplayName("Should logout from all devices")
         void shouldLogoutFromAllDevices() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.existsById(1L)).thenReturn(true);
 
             // When
             authService.logoutFromAllDevices(1L);
 
             // Then
-            verify(refreshTokenRepository).revokeAllUserTokens(eq(testUser), any(LocalDateTime.class));
+            verify(refreshTokenStore).revokeAllUserTokens(1L);
+            verify(sessionService).invalidate(1L);
+            verify(accessTokenRevocation).revokeUserTokens(1L);
         }
 
         @Test
         @DisplayName("Should throw exception for non-existent user in logout all")
         void shouldThrowExceptionForNonExistentUserInLogoutAll() {
             // Given
-            when(userRepository.findById(1L)).thenReturn(Optional.empty());
+            when(userRepository.existsById(1L)).thenReturn(false);
 
             // When & Then
             assertThatThrownBy(() -> authService.logoutFromAllDevices(1L))
@@ -514,7 +643,8 @@ class AuthServiceTest {
 
             // Then
             verify(userRepository).updatePassword(eq(1L), eq("new-encoded-password"), any(LocalDateTime.class));
-            verify(refreshTokenRepository).revokeAllUserTokens(eq(testUser), any(LocalDateTime.class));
+            verify(refreshTokenStore).revokeAllUserTokens(1L);
+            verify(accessTokenRevocation).revokeUserTokens(1L);
         }
 
         @Test
@@ -531,7 +661,7 @@ class AuthServiceTest {
                     .hasMessage("Senha atual incorreta");
 
             verify(userRepository, never()).updatePassword(any(), any(), any());
-            verify(refreshTokenRepository, never()).revokeAllUserTokens(any(), any());
+            verify(refreshTokenStore, never()).revokeAllUserTokens(any());
         }
 
         @Test
@@ -546,4 +676,43 @@ class AuthServiceTest {
                     .hasMessage("Usuário não encontrado");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Get User Tests")
+    class GetUserTests {
+
+        @Test
+        @DisplayName("Should build user info from the profile projection")
+        void shouldBuildUserInfoFromProfileProjection() {
+            // Given
+            when(userRepository.findProfileById(1L)).thenReturn(Optional.of(new UserProfileView(
+                    1L, "test@example.com", "Test", "User", "11999999999", User.UserRole.CUSTOMER,
+                    true, false, true, null, LocalDateTime.now())));
+
+            // When
+            AuthDto.UserInfo info = authService.getUserById(1L);
+
+            // Then
+            assertThat(info.getFullName()).isEqualTo("Test User");
+            assertThat(info.getRoleDisplayName()).isEqualTo(User.UserRole.CUSTOMER.getDisplayName());
+            verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when user not found")
+        void shouldThrowExceptionWhenUserNotFound() {
+            // Given
+            when(userRepository.findProfileById(99L)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> authService.getUserById(99L))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Usuário não encontrado");
+        }
+    }
+
+    private static Optional<LoginPrecheck> precheckOf(User user) {
+        return Optional.of(new LoginPrecheck(user.getId(), user.getActive(), user.getAccountLocked(),
+                user.getAccountLockedUntil(), user.getFailedLoginAttempts()));
+    }
+}
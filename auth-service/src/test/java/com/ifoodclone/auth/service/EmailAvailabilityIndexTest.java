@@ -0,0 +1,72 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Email Availability Index Tests")
+class EmailAvailabilityIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should never report an inserted email as absent")
+    void shouldNeverReportInsertedEmailAsAbsent() {
+        // Given
+        EmailAvailabilityIndex.BloomBits bits = new EmailAvailabilityIndex.BloomBits(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bits.put("user" + i + "@example.com");
+        }
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(bits.mightContain("user" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void shouldKeepFalsePositivesNearConfiguredRate() {
+        // Given
+        EmailAvailabilityIndex.BloomBits bits = new EmailAvailabilityIndex.BloomBits(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bits.put("user" + i + "@example.com");
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bits.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database until warmed up")
+    void shouldFallBackUntilWarmedUp() {
+        // Given
+        EmailAvailabilityIndex index = new EmailAvailabilityIndex(jdbcTemplate, transactionManager,
+                new SimpleMeterRegistry(), true, 1000, 0.01, 1000);
+
+        // When & Then
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.mightContain("new@example.com")).isTrue();
+    }
+}
@@ -0,0 +1,144 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@Import(JpaRefreshTokenStore.class)
+@ActiveProfiles("test")
+@DisplayName("JPA Refresh Token Store Tests")
+class JpaRefreshTokenStoreTest {
+
+    @Autowired
+    private JpaRefreshTokenStore store;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User ana;
+    private User bia;
+
+    @BeforeEach
+    void setUp() {
+        ana = entityManager.persist(user("ana@example.com"));
+        bia = entityManager.persist(user("bia@example.com"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should find a saved token until it expires")
+    void shouldFindUnexpiredTokens() {
+        // Given
+        store.save(ana.getId(), "token-a", "iPhone", "10.0.0.1", LocalDateTime.now().plusMinutes(30));
+        store.save(ana.getId(), "token-old", "iPhone", "10.0.0.1", LocalDateTime.now().minusMinutes(1));
+
+        // When
+        RefreshTokenRecord record = store.find("token-a").orElseThrow();
+
+        // Then
+        assertThat(record.userId()).isEqualTo(ana.getId());
+        assertThat(record.deviceInfo()).isEqualTo("iPhone");
+        assertThat(record.revoked()).isFalse();
+        assertThat(store.find("token-old")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should revoke only the tokens of the given device")
+    void shouldRevokeTokensByDevice() {
+        // Given
+        store.save(ana.getId(), "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        store.save(ana.getId(), "token-b", "Android", null, LocalDateTime.now().plusMinutes(30));
+
+        // When
+        store.revokeTokensByDevice(ana.getId(), "iPhone");
+        entityManager.clear();
+
+        // Then
+        assertThat(store.find("token-a").orElseThrow().revoked()).isTrue();
+        assertThat(store.find("token-b").orElseThrow().revoked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke all tokens of the user and keep other users' tokens")
+    void shouldRevokeAllUserTokens() {
+        // Given
+        store.save(ana.getId(), "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        store.save(bia.getId(), "token-b", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+
+        // When
+        store.revokeAllUserTokens(ana.getId());
+        entityManager.clear();
+
+        // Then
+        assertThat(store.find("token-a").orElseThrow().revoked()).isTrue();
+        assertThat(store.find("token-b").orElseThrow().revoked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke a session only for its owner and only once")
+    void shouldRevokeSessionOfOwner() {
+        // Given
+        store.save(ana.getId(), "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        String sessionId = refreshTokenRepository.findByToken("token-a").map(RefreshToken::getId)
+                .orElseThrow().toString();
+
+        // When
+        boolean byOtherUser = store.revokeSession(bia.getId(), sessionId);
+        boolean byOwner = store.revokeSession(ana.getId(), sessionId);
+        boolean again = store.revokeSession(ana.getId(), sessionId);
+        boolean malformed = store.revokeSession(ana.getId(), "not-a-number");
+
+        // Then
+        assertThat(byOtherUser).isFalse();
+        assertThat(byOwner).isTrue();
+        assertThat(again).isFalse();
+        assertThat(malformed).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should list active sessions newest first, skipping revoked tokens")
+    void shouldListActiveSessions() {
+        // Given
+        store.save(ana.getId(), "token-a", "iPhone", "10.0.0.1", LocalDateTime.now().plusMinutes(30));
+        store.save(ana.getId(), "token-b", "Android", "10.0.0.2", LocalDateTime.now().plusMinutes(30));
+        store.save(ana.getId(), "token-c", "Web", "10.0.0.3", LocalDateTime.now().plusMinutes(30));
+        store.revoke("token-c");
+        entityManager.clear();
+
+        // When
+        List<SessionRecord> sessions = store.findActiveSessions(ana.getId());
+
+        // Then
+        assertThat(sessions).extracting(SessionRecord::deviceInfo).containsExactly("Android", "iPhone");
+        assertThat(sessions).extracting(SessionRecord::userId).containsOnly(ana.getId());
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .email(email)
+                .password("encoded-password")
+                .firstName("Test")
+                .lastName("User")
+                .role(User.UserRole.CUSTOMER)
+                .active(true)
+                .build();
+    }
+}
@@ -137,6 +137,18 @@ class JwtServiceTest {
             assertThat(jwtService.extractUsername(token1)).isEqualTo("test@example.com");
             assertThat(jwtService.extractUsername(token2)).isEqualTo("another@example.com");
         }
+
+        @Test
+        @DisplayName("Should assign a unique token id to every token")
+        void shouldAssignUniqueTokenId() {
+            // When
+            String token1 = jwtService.generateToken(userDetails);
+            String token2 = jwtService.generateToken(userDetails);
+
+            // Then
+            assertThat(jwtService.extractTokenId(token1)).isNotBlank();
+            assertThat(jwtService.extractTokenId(token1)).isNotEqualTo(jwtService.extractTokenId(token2));
+        }
     }
 
     @Nested
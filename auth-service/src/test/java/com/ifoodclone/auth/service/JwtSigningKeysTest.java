@@ -0,0 +1,152 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import com.ifoodclone.auth.entity.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+
+@DisplayName("JWT Signing Keys Tests")
+class JwtSigningKeysTest {
+
+    private static final String TEST_SECRET = "dGVzdFNlY3JldEtleUZvckpXVFRlc3RpbmdQdXJwb3Nlc1dpdGhNaW5pbXVtTGVuZ3RoUmVxdWlyZWQ=";
+
+    private JwtSigningKeys signingKeys;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        signingKeys = new JwtSigningKeys("", "", "", true);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", TEST_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 60000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", 300000L);
+        ReflectionTestUtils.setField(jwtService, "signingKeys", signingKeys);
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackEnabled", true);
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackIssuedBefore", Instant.now().plusSeconds(60).toString());
+
+        user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .password("password")
+                .role(User.UserRole.CUSTOMER)
+                .emailVerified(true)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should sign tokens with ES256 and the key id in the header")
+    void shouldSignWithEs256AndKeyId() {
+        // When
+        String token = jwtService.generateToken(user);
+
+        // Then
+        var header = Jwts.parser().verifyWith(signingKeys.publicKey()).build().parseSignedClaims(token).getHeader();
+        assertThat(header.getAlgorithm()).isEqualTo("ES256");
+        assertThat(header.getKeyId()).isEqualTo(signingKeys.keyId());
+        assertThat(jwtService.extractUsername(token)).isEqualTo("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should still accept HMAC tokens issued before the switch")
+    void shouldAcceptLegacyHmacTokens() {
+        // Given
+        String legacyToken = legacyToken();
+
+        // Then
+        assertThat(jwtService.isTokenValid(legacyToken)).isTrue();
+        assertThat(jwtService.extractUsername(legacyToken)).isEqualTo("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject HMAC tokens once the fallback is disabled")
+    void shouldRejectLegacyHmacTokensWhenFallbackDisabled() {
+        // Given
+        String legacyToken = legacyToken();
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackEnabled", false);
+
+        // Then
+        assertThat(jwtService.isTokenValid(legacyToken)).isFalse();
+        assertThat(jwtService.parseValidClaims(legacyToken)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject HMAC tokens issued after the ES256 switch")
+    void shouldRejectHmacTokensIssuedAfterCutoff() {
+        // Given
+        String legacyToken = legacyToken();
+
+        // When
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackIssuedBefore", Instant.now().minusSeconds(60).toString());
+        boolean acceptedAfterCutoff = jwtService.parseValidClaims(legacyToken).isPresent();
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackIssuedBefore", Instant.now().plusSeconds(60).toString());
+        boolean acceptedBeforeCutoff = jwtService.parseValidClaims(legacyToken).isPresent();
+
+        // Then
+        assertThat(acceptedAfterCutoff).isFalse();
+        assertThat(acceptedBeforeCutoff).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with the HMAC fallback on and no issued-before cutoff")
+    void shouldRequireCutoffWhenFallbackEnabled() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackIssuedBefore", "");
+
+        // Then
+        assertThatThrownBy(jwtService::validateHmacFallback)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JWT_HMAC_FALLBACK_ISSUED_BEFORE");
+
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackIssuedBefore", "2026-10-01");
+        assertThatThrownBy(jwtService::validateHmacFallback).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(jwtService, "hmacFallbackEnabled", false);
+        jwtService.validateHmacFallback();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a configured key unless ephemeral keys are allowed")
+    void shouldRequireConfiguredKey() {
+        assertThatThrownBy(() -> new JwtSigningKeys("", "", "", false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JWT_SIGNING_PRIVATE_KEY");
+    }
+
+    @Test
+    @DisplayName("Should publish the public key as a P-256 JWK")
+    @SuppressWarnings("unchecked")
+    void shouldPublishPublicKeyAsJwk() {
+        // When
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) signingKeys.jwks().get("keys");
+
+        // Then
+        assertThat(keys).hasSize(1);
+        Map<String, Object> jwk = keys.get(0);
+        assertThat(jwk).containsEntry("kty", "EC").containsEntry("crv", "P-256").containsEntry("alg", "ES256")
+                .containsEntry("kid", signingKeys.keyId());
+        assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(32);
+        assertThat(Base64.getUrlDecoder().decode((String) jwk.get("y"))).hasSize(32);
+    }
+
+    private String legacyToken() {
+        JwtService legacyService = new JwtService();
+        ReflectionTestUtils.setField(legacyService, "jwtSecret", TEST_SECRET);
+        ReflectionTestUtils.setField(legacyService, "jwtExpirationMs", 60000L);
+        return legacyService.generateToken(user);
+    }
+}
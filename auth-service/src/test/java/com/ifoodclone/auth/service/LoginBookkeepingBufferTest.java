@@ -0,0 +1,95 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Bookkeeping Buffer Tests")
+class LoginBookkeepingBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LoginBookkeepingBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new LoginBookkeepingBuffer(jdbcTemplate, 900000L);
+    }
+
+    @Test
+    @DisplayName("Should count failures on top of the persisted attempts")
+    void shouldCountFailuresOnTopOfPersistedAttempts() {
+        assertThat(buffer.recordFailedLogin(1L, 3)).isEqualTo(4);
+        assertThat(buffer.recordFailedLogin(1L, 3)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reset the failure counter after a successful login")
+    void shouldResetFailureCounterAfterSuccess() {
+        buffer.recordFailedLogin(1L, 0);
+        buffer.recordFailedLogin(1L, 0);
+
+        buffer.recordSuccessfulLogin(1L, LocalDateTime.now());
+
+        assertThat(buffer.recordFailedLogin(1L, 0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report locked accounts before any flush")
+    void shouldReportLockedAccountsBeforeFlush() {
+        buffer.lockAccount(7L, LocalDateTime.now());
+
+        assertThat(buffer.isLocked(7L)).isTrue();
+        assertThat(buffer.isLocked(8L)).isFalse();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should coalesce updates per user into one batch row")
+    void shouldCoalesceUpdatesPerUser() {
+        buffer.recordFailedLogin(1L, 0);
+        buffer.recordFailedLogin(1L, 0);
+        buffer.recordSuccessfulLogin(1L, LocalDateTime.now());
+        buffer.recordFailedLogin(2L, 0);
+
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+
+        buffer.flush();
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(LoginBookkeepingBuffer.FLUSH_SQL), setter.capture());
+        assertThat(setter.getValue().getBatchSize()).isEqualTo(2);
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep pending updates when the flush fails")
+    void shouldKeepPendingUpdatesWhenFlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        buffer.recordSuccessfulLogin(1L, LocalDateTime.now());
+
+        buffer.flush();
+
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+    }
+}
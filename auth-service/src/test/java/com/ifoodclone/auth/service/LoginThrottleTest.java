@@ -0,0 +1,119 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Throttle Tests")
+class LoginThrottleTest {
+
+    private static final long WINDOW_MS = 900_000L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = newThrottle(true);
+    }
+
+    private LoginThrottle newThrottle(boolean enabled) {
+        LoginThrottle created = new LoginThrottle(redisTemplate, enabled, WINDOW_MS, 10, 100, 5, 5000L);
+        // 10 minutos dentro da janela atual: faltam 5 minutos para virar
+        created.clock = Clock.fixed(Instant.ofEpochMilli(WINDOW_MS * 1000 + 600_000L), ZoneOffset.UTC);
+        return created;
+    }
+
+    private void stubCheckResult(Long exceededScope) {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class)))
+                .thenReturn(exceededScope);
+    }
+
+    @Test
+    @DisplayName("Should allow the attempt when no scope is over its limit")
+    void shouldAllowWhenUnderLimit() {
+        // Given
+        stubCheckResult(0L);
+
+        // When
+        long retryAfterMs = throttle.check("user@example.com", "10.0.0.1");
+
+        // Then
+        assertThat(retryAfterMs).isZero();
+    }
+
+    @Test
+    @DisplayName("Should block until the current window ends and cache the block locally")
+    void shouldBlockAndCacheLocally() {
+        // Given
+        stubCheckResult(3L);
+
+        // When
+        long first = throttle.check("User@Example.com", "10.0.0.1");
+        long second = throttle.check("user@example.com", "10.0.0.1");
+
+        // Then
+        assertThat(first).isEqualTo(300_000L);
+        assertThat(second).isEqualTo(300_000L);
+        verify(redisTemplate, times(1))
+                .execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should fail open when Redis is unavailable")
+    void shouldFailOpenWhenRedisUnavailable() {
+        // Given
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        // When & Then
+        assertThat(throttle.check("user@example.com", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not touch Redis when disabled")
+    void shouldNotTouchRedisWhenDisabled() {
+        // Given
+        LoginThrottle disabled = newThrottle(false);
+
+        // When
+        long retryAfterMs = disabled.check("user@example.com", "10.0.0.1");
+        disabled.recordFailure("user@example.com", "10.0.0.1");
+
+        // Then
+        assertThat(retryAfterMs).isZero();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should key accounts by a case-insensitive hash instead of the email")
+    void shouldKeyAccountsByHash() {
+        String[] keys = LoginThrottle.scopeKeys("User@Example.com", null);
+
+        assertThat(keys[0]).isEqualTo(LoginThrottle.scopeKeys("user@example.com", "10.0.0.1")[0]);
+        assertThat(keys[0]).doesNotContain("example");
+        assertThat(keys[1]).isEqualTo("lt:i:unknown");
+    }
+}
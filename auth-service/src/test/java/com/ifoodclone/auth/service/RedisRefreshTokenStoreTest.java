@@ -0,0 +1,202 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@DisplayName("Redis Refresh Token Store Tests")
+class RedisRefreshTokenStoreTest {
+
+    private static final long REFRESH_EXPIRATION_MS = 3_600_000;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7.2-alpine")
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RefreshTokenAuditSink auditSink;
+    private RedisRefreshTokenStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        auditSink = mock(RefreshTokenAuditSink.class);
+        store = new RedisRefreshTokenStore(redisTemplate,
+                new StaticListableBeanFactory(Map.of("auditSink", auditSink))
+                        .getBeanProvider(RefreshTokenAuditSink.class),
+                REFRESH_EXPIRATION_MS);
+    }
+
+    @Test
+    @DisplayName("Should store the token under its SHA-256 hash with a TTL and index it in the user set")
+    void shouldSaveUnderHashWithTtl() {
+        // Given
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(30);
+
+        // When
+        store.save(1L, "refresh-token", "iPhone", "10.0.0.1", expiresAt);
+
+        // Then
+        String hash = RefreshTokenStore.hash("refresh-token");
+        assertThat(hash).hasSize(64).isNotEqualTo("refresh-token");
+        assertThat(redisTemplate.hasKey("rt:refresh-token")).isFalse();
+        assertThat(redisTemplate.getExpire("rt:" + hash)).isBetween(1L, 1800L);
+        assertThat(redisTemplate.opsForSet().members("rt:user:1")).containsExactly(hash);
+        assertThat(redisTemplate.getExpire("rt:user:1")).isPositive();
+
+        Optional<RefreshTokenRecord> record = store.find("refresh-token");
+        assertThat(record).isPresent();
+        assertThat(record.get().userId()).isEqualTo(1L);
+        assertThat(record.get().deviceInfo()).isEqualTo("iPhone");
+        assertThat(record.get().revoked()).isFalse();
+        verify(auditSink).recordIssued(eq(1L), eq(hash), eq("iPhone"), eq("10.0.0.1"), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke a single token without touching the others")
+    void shouldRevokeSingleToken() {
+        // Given
+        store.save(1L, "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        store.save(1L, "token-b", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+
+        // When
+        store.revoke("token-a");
+        store.revoke("unknown-token");
+
+        // Then
+        assertThat(store.find("token-a").orElseThrow().revoked()).isTrue();
+        assertThat(store.find("token-b").orElseThrow().revoked()).isFalse();
+        assertThat(redisTemplate.hasKey("rt:" + RefreshTokenStore.hash("unknown-token"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke all tokens of the user and prune expired hashes from the set")
+    void shouldRevokeAllUserTokens() {
+        // Given
+        store.save(1L, "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        store.save(1L, "token-b", "Android", null, LocalDateTime.now().plusMinutes(30));
+        store.save(2L, "token-c", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        redisTemplate.delete("rt:" + RefreshTokenStore.hash("token-b"));
+
+        // When
+        store.revokeAllUserTokens(1L);
+
+        // Then
+        assertThat(store.find("token-a").orElseThrow().revoked()).isTrue();
+        assertThat(store.find("token-c").orElseThrow().revoked()).isFalse();
+        assertThat(redisTemplate.opsForSet().members("rt:user:1"))
+                .containsExactly(RefreshTokenStore.hash("token-a"));
+        verify(auditSink).recordUserRevoked(1L, null);
+    }
+
+    @Test
+    @DisplayName("Should revoke only the tokens of the given device")
+    void shouldRevokeTokensByDevice() {
+        // Given
+        store.save(1L, "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        store.save(1L, "token-b", "Android", null, LocalDateTime.now().plusMinutes(30));
+
+        // When
+        store.revokeTokensByDevice(1L, "iPhone");
+
+        // Then
+        assertThat(store.find("token-a").orElseThrow().revoked()).isTrue();
+        assertThat(store.find("token-b").orElseThrow().revoked()).isFalse();
+        verify(auditSink).recordUserRevoked(1L, "iPhone");
+    }
+
+    @Test
+    @DisplayName("Should revoke a session only for its owner and only once")
+    void shouldRevokeSessionOfOwner() {
+        // Given
+        store.save(1L, "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        String sessionId = RefreshTokenStore.hash("token-a");
+
+        // When
+        boolean byOtherUser = store.revokeSession(2L, sessionId);
+        boolean byOwner = store.revokeSession(1L, sessionId);
+        boolean again = store.revokeSession(1L, sessionId);
+
+        // Then
+        assertThat(byOtherUser).isFalse();
+        assertThat(byOwner).isTrue();
+        assertThat(again).isFalse();
+        assertThat(store.findActiveSessions(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list active sessions newest first, skipping revoked tokens")
+    void shouldListActiveSessions() throws InterruptedException {
+        // Given
+        store.save(1L, "token-a", "iPhone", "10.0.0.1", LocalDateTime.now().plusMinutes(30));
+        Thread.sleep(5);
+        store.save(1L, "token-b", "Android", "10.0.0.2", LocalDateTime.now().plusMinutes(30));
+        store.save(1L, "token-c", "Web", "10.0.0.3", LocalDateTime.now().plusMinutes(30));
+        store.revoke("token-c");
+
+        // When
+        List<SessionRecord> sessions = store.findActiveSessions(1L);
+
+        // Then
+        assertThat(sessions).extracting(SessionRecord::deviceInfo).containsExactly("Android", "iPhone");
+        assertThat(sessions.get(0).id()).isEqualTo(RefreshTokenStore.hash("token-b"));
+        assertThat(sessions.get(0).ipAddress()).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("Should record last use only while the token key exists")
+    void shouldMarkUsedOnlyExistingKeys() {
+        // Given
+        store.save(1L, "token-a", "iPhone", null, LocalDateTime.now().plusMinutes(30));
+        String expiredKey = "rt:" + RefreshTokenStore.hash("token-b");
+
+        // When
+        store.markUsed("token-a");
+        store.markUsed("token-b");
+
+        // Then
+        assertThat(redisTemplate.opsForHash().get("rt:" + RefreshTokenStore.hash("token-a"), "t")).isNotNull();
+        assertThat(redisTemplate.getExpire("rt:" + RefreshTokenStore.hash("token-a"))).isPositive();
+        assertThat(redisTemplate.hasKey(expiredKey)).isFalse();
+    }
+}
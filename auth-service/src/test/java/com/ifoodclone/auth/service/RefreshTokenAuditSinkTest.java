@@ -0,0 +1,80 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import com.ifoodclone.auth.entity.RefreshToken;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Audit Sink Tests")
+class RefreshTokenAuditSinkTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private RefreshTokenAuditSink auditSink;
+
+    @BeforeEach
+    void setUp() {
+        auditSink = new RefreshTokenAuditSink(refreshTokenRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should persist the token hash, never the token itself")
+    void shouldPersistHashOnly() {
+        // Given
+        User user = User.builder().id(1L).build();
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        String hash = RefreshTokenStore.hash("refresh-token");
+
+        // When
+        auditSink.recordIssued(1L, hash, "iPhone", "10.0.0.1", LocalDateTime.now().plusDays(7));
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getToken()).isEqualTo(hash).isNotEqualTo("refresh-token");
+        assertThat(saved.getValue().getUser()).isSameAs(user);
+        assertThat(saved.getValue().getRevoked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should revoke by device when one is given and all tokens otherwise")
+    void shouldRevokeByDeviceOrAll() {
+        // Given
+        User user = User.builder().id(1L).build();
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+
+        // When
+        auditSink.recordUserRevoked(1L, "iPhone");
+
+        // Then
+        verify(refreshTokenRepository).revokeTokensByDevice(eq(user), eq("iPhone"), any());
+        verify(refreshTokenRepository, never()).revokeAllUserTokens(any(), any());
+
+        // When
+        auditSink.recordUserRevoked(1L, null);
+
+        // Then
+        verify(refreshTokenRepository).revokeAllUserTokens(eq(user), any());
+    }
+}
@@ -0,0 +1,160 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Testcontainers
+@DisplayName("Refresh Token Partition Maintainer Integration Tests")
+class RefreshTokenPartitionMaintainerIntegrationTest {
+
+    private static final String PARTITIONING_SCRIPT = "db/partitioning/refresh_tokens_partitioned.sql";
+
+    private static final String INSERT_TOKEN_SQL = """
+            INSERT INTO refresh_tokens (id, token, user_id, expires_at, revoked, created_at)
+            VALUES (?, ?, 1, ?, false, now())
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("ifood_auth_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS refresh_tokens, refresh_tokens_legacy, users CASCADE");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS refresh_tokens_seq");
+
+        // Tabela original (não particionada), como criada pelo Hibernate
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("""
+                CREATE TABLE refresh_tokens (
+                    id BIGINT PRIMARY KEY,
+                    token VARCHAR(500) NOT NULL UNIQUE,
+                    user_id BIGINT NOT NULL REFERENCES users (id),
+                    expires_at TIMESTAMP(6) NOT NULL,
+                    used_at TIMESTAMP(6),
+                    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+                    revoked_at TIMESTAMP(6),
+                    device_info VARCHAR(255),
+                    ip_address VARCHAR(45),
+                    created_at TIMESTAMP(6)
+                )
+                """);
+        jdbcTemplate.execute("CREATE INDEX idx_refresh_token_user ON refresh_tokens (user_id)");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (1)");
+        insertToken(1, "live-token", LocalDateTime.now().plusDays(2));
+        insertToken(2, "expired-token", LocalDateTime.now().minusDays(30));
+
+        jdbcTemplate.execute(new ClassPathResource(PARTITIONING_SCRIPT).getContentAsString(StandardCharsets.UTF_8));
+
+        RedisLeaderLock leaderLock = mock(RedisLeaderLock.class);
+        when(leaderLock.tryAcquire(eq(RefreshTokenPartitionMaintainer.JOB_NAME), any(Duration.class)))
+                .thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        maintainer = new RefreshTokenPartitionMaintainer(jdbcTemplate, leaderLock, meterRegistry);
+        ReflectionTestUtils.setField(maintainer, "premakeWeeks", 6);
+        ReflectionTestUtils.setField(maintainer, "retentionWeeks", 1);
+    }
+
+    @Test
+    @DisplayName("Should premake future weeks and drop partitions past retention")
+    void shouldPremakeAndDropPartitions() {
+        // Given
+        jdbcTemplate.execute("CREATE TABLE refresh_tokens_p20200106 PARTITION OF refresh_tokens "
+                + "FOR VALUES FROM ('2020-01-06') TO ('2020-01-13')");
+        insertToken(3, "ancient-token", LocalDateTime.of(2020, 1, 8, 12, 0));
+        LocalDate currentWeek = RefreshTokenPartitionMaintainer.weekStart(LocalDate.now());
+
+        // When
+        maintainer.maintain();
+
+        // Then
+        assertThat(partitions())
+                .contains(RefreshTokenPartitionMaintainer.partitionName(currentWeek),
+                        RefreshTokenPartitionMaintainer.partitionName(currentWeek.plusWeeks(6)))
+                .doesNotContain("refresh_tokens_p20200106");
+        assertThat(jdbcTemplate.queryForList("SELECT token FROM refresh_tokens", String.class))
+                .containsExactly("live-token");
+        assertThat(meterRegistry.get("auth.refresh_tokens.partitions").tag("action", "dropped").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should route new tokens to premade partitions and keep token unique per expiry")
+    void shouldAcceptTokensInPremadePartitions() {
+        // Given
+        maintainer.maintain();
+        LocalDateTime expiresAt = LocalDateTime.now().plusWeeks(6);
+
+        // When
+        insertToken(100, "future-token", expiresAt);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM refresh_tokens WHERE id = 100",
+                String.class))
+                .isEqualTo(RefreshTokenPartitionMaintainer.partitionName(
+                        RefreshTokenPartitionMaintainer.weekStart(expiresAt.toLocalDate())));
+        assertThatThrownBy(() -> insertToken(101, "future-token", expiresAt))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Should not create partitions again on a second run")
+    void shouldBeIdempotent() {
+        // Given
+        maintainer.maintain();
+        double created = meterRegistry.get("auth.refresh_tokens.partitions").tag("action", "created").counter()
+                .count();
+
+        // When
+        maintainer.maintain();
+
+        // Then
+        assertThat(meterRegistry.get("auth.refresh_tokens.partitions").tag("action", "created").counter().count())
+                .isEqualTo(created);
+    }
+
+    private void insertToken(long id, String token, LocalDateTime expiresAt) {
+        jdbcTemplate.update(INSERT_TOKEN_SQL, id, token, Timestamp.valueOf(expiresAt));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits i "
+                + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                + "JOIN pg_class child ON child.oid = i.inhrelid WHERE parent.relname = 'refresh_tokens'",
+                String.class);
+    }
+}
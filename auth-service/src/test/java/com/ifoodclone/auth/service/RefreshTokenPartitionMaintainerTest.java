@@ -0,0 +1,31 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Refresh Token Partition Maintainer Tests")
+class RefreshTokenPartitionMaintainerTest {
+
+    @Test
+    @DisplayName("Should align partitions to the Monday of the week")
+    void shouldAlignPartitionsToMonday() {
+        // 2026-10-22 é uma quinta-feira
+        LocalDate start = RefreshTokenPartitionMaintainer.weekStart(LocalDate.of(2026, 10, 22));
+
+        assertThat(start).isEqualTo(LocalDate.of(2026, 10, 19));
+        assertThat(RefreshTokenPartitionMaintainer.partitionName(start)).isEqualTo("refresh_tokens_p20261019");
+    }
+
+    @Test
+    @DisplayName("Should read the start date back from the partition name")
+    void shouldParsePartitionStart() {
+        assertThat(RefreshTokenPartitionMaintainer.partitionStart("refresh_tokens_p20261019"))
+                .isEqualTo(LocalDate.of(2026, 10, 19));
+        assertThat(RefreshTokenPartitionMaintainer.partitionStart("refresh_tokens_legacy")).isNull();
+        assertThat(RefreshTokenPartitionMaintainer.partitionStart("refresh_tokens_pmanual")).isNull();
+    }
+}
@@ -0,0 +1,200 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Purge Job Tests")
+class RefreshTokenPurgeJobTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final LocalDateTime FIRST_EXPIRES_AT = LocalDateTime.of(2026, 1, 5, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private RedisLeaderLock leaderLock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeJob job;
+
+    // Tamanho de cada bloco devolvido pelo DELETE, na ordem das chamadas
+    private final Deque<Integer> expiredChunks = new ArrayDeque<>();
+    private final Deque<Integer> revokedChunks = new ArrayDeque<>();
+    private final List<Object[]> expiredCalls = new ArrayList<>();
+    private final List<Object[]> revokedCalls = new ArrayList<>();
+    private long lastId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new RefreshTokenPurgeJob(jdbcTemplate, transactionTemplate, redisTemplate, leaderLock, meterRegistry);
+        ReflectionTestUtils.setField(job, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(job, "throttleMs", 0L);
+        ReflectionTestUtils.setField(job, "maxRunMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("Should skip the run when another instance holds the lease")
+    void shouldSkipRunWhenLeaseIsHeldElsewhere() {
+        // Given
+        when(leaderLock.tryAcquire(eq(RefreshTokenPurgeJob.JOB_NAME), any(Duration.class))).thenReturn(false);
+
+        // When
+        job.run();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, redisTemplate);
+        verify(leaderLock, never()).release(RefreshTokenPurgeJob.JOB_NAME);
+    }
+
+    @Test
+    @DisplayName("Should delete in chunks until a partial chunk and checkpoint after each one")
+    void shouldDeleteInChunks() {
+        // Given
+        stubRun(Map.of());
+        expiredChunks.addAll(List.of(2, 2, 1));
+        revokedChunks.addAll(List.of(2, 0));
+
+        // When
+        job.run();
+
+        // Then
+        assertThat(expiredCalls).hasSize(3);
+        assertThat(revokedCalls).hasSize(2);
+        assertThat(purged("expired")).isEqualTo(5);
+        assertThat(purged("revoked")).isEqualTo(2);
+        verify(hashOperations, times(3)).putAll(eq(RefreshTokenPurgeJob.CHECKPOINT_KEY), anyMap());
+        // Cada bloco continua do último (expires_at, id) apagado
+        assertThat(expiredCalls.get(1)[2]).isEqualTo(2L);
+        assertThat(expiredCalls.get(2)[2]).isEqualTo(4L);
+        // Passada de revogados completa: o cursor volta a zero
+        verify(hashOperations).put(RefreshTokenPurgeJob.CHECKPOINT_KEY, "revokedId", "0");
+        verify(leaderLock).release(RefreshTokenPurgeJob.JOB_NAME);
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint left by an interrupted run")
+    void shouldResumeFromCheckpoint() {
+        // Given
+        stubRun(Map.of("expiredAt", "2026-01-05T12:00", "expiredId", "42", "revokedId", "7"));
+        expiredChunks.add(0);
+        revokedChunks.add(0);
+
+        // When
+        job.run();
+
+        // Then
+        assertThat(expiredCalls.get(0)[1]).isEqualTo(Timestamp.valueOf(FIRST_EXPIRES_AT));
+        assertThat(expiredCalls.get(0)[2]).isEqualTo(42L);
+        assertThat(revokedCalls.get(0)[1]).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should stop at max-run-ms and leave the rest for the next run")
+    void shouldStopAtDeadline() {
+        // Given
+        ReflectionTestUtils.setField(job, "maxRunMs", 50L);
+        ReflectionTestUtils.setField(job, "throttleMs", 30L);
+        stubRun(Map.of());
+        for (int i = 0; i < 100; i++) {
+            expiredChunks.add(CHUNK_SIZE);
+        }
+
+        // When
+        job.run();
+
+        // Then
+        assertThat(expiredCalls).hasSizeBetween(1, 2);
+        assertThat(revokedCalls).isEmpty();
+        verify(hashOperations, times(expiredCalls.size()))
+                .putAll(eq(RefreshTokenPurgeJob.CHECKPOINT_KEY), anyMap());
+        verify(leaderLock).release(RefreshTokenPurgeJob.JOB_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRun(Map<Object, Object> checkpoint) {
+        when(leaderLock.tryAcquire(eq(RefreshTokenPurgeJob.JOB_NAME), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(RefreshTokenPurgeJob.CHECKPOINT_KEY)).thenReturn(checkpoint);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2,
+                            invocation.getArguments().length);
+                    boolean expired = sql.contains("expires_at < ?");
+                    (expired ? expiredCalls : revokedCalls).add(args);
+                    Deque<Integer> chunks = expired ? expiredChunks : revokedChunks;
+                    int purged = chunks.isEmpty() ? 0 : chunks.poll();
+                    return invocation.<ResultSetExtractor<?>>getArgument(1).extractData(chunk(purged, expired));
+                });
+    }
+
+    private ResultSet chunk(int purged, boolean expired) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        if (purged == 0) {
+            return rs;
+        }
+        lastId += purged;
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong("purged")).thenReturn((long) purged);
+        when(rs.getLong("id")).thenReturn(lastId);
+        if (expired) {
+            when(rs.getTimestamp("expires_at")).thenReturn(Timestamp.valueOf(FIRST_EXPIRES_AT.plusMinutes(lastId)));
+        }
+        return rs;
+    }
+
+    private double purged(String kind) {
+        return meterRegistry.get("auth.refresh_tokens.purged").tag("kind", kind).counter().count();
+    }
+}
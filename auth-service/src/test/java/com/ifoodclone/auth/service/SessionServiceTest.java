@@ -0,0 +1,126 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ifoodclone.auth.dto.ActiveSessionView;
+import com.ifoodclone.auth.dto.AuthDto;
+import com.ifoodclone.auth.repository.RefreshTokenRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Service Tests")
+class SessionServiceTest {
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = new SessionService(refreshTokenStore, refreshTokenRepository, new SimpleMeterRegistry(),
+                100, 30, 2);
+    }
+
+    @Test
+    @DisplayName("Should serve the session list from cache until invalidated")
+    void shouldServeSessionListFromCache() {
+        // Given
+        when(refreshTokenStore.findActiveSessions(1L)).thenReturn(List.of(session("10")));
+
+        // When
+        sessionService.listSessions(1L);
+        List<AuthDto.SessionInfo> cached = sessionService.listSessions(1L);
+        sessionService.invalidate(1L);
+        sessionService.listSessions(1L);
+
+        // Then
+        assertThat(cached).extracting(AuthDto.SessionInfo::getId).containsExactly("10");
+        verify(refreshTokenStore, times(2)).findActiveSessions(1L);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the cached list when a session is revoked")
+    void shouldInvalidateCacheOnRevoke() {
+        // Given
+        when(refreshTokenStore.findActiveSessions(1L)).thenReturn(List.of(session("10")), List.of());
+        when(refreshTokenStore.revokeSession(1L, "10")).thenReturn(true);
+        sessionService.listSessions(1L);
+
+        // When
+        sessionService.revokeSession(1L, "10");
+
+        // Then
+        assertThat(sessionService.listSessions(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject revoking a session that is not the user's")
+    void shouldRejectUnknownSession() {
+        // Given
+        when(refreshTokenStore.revokeSession(1L, "99")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> sessionService.revokeSession(1L, "99"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Sessão não encontrada");
+    }
+
+    @Test
+    @DisplayName("Should page all sessions by keyset cursor")
+    void shouldPageAllSessionsByCursor() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 10, 12, 0);
+        when(refreshTokenRepository.findActiveSessions(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(view(20L, createdAt.plusMinutes(1)), view(19L, createdAt)));
+        when(refreshTokenRepository.findActiveSessionsBefore(any(LocalDateTime.class), eq(createdAt), eq(19L),
+                any(Pageable.class)))
+                .thenReturn(List.of(view(18L, createdAt.minusMinutes(1))));
+
+        // When
+        AuthDto.SessionPage first = sessionService.listAllSessions(null, 50);
+        AuthDto.SessionPage second = sessionService.listAllSessions(first.getNextCursor(), 50);
+
+        // Then
+        assertThat(first.getSessions()).extracting(AuthDto.SessionInfo::getId).containsExactly("20", "19");
+        assertThat(second.getSessions()).extracting(AuthDto.SessionInfo::getId).containsExactly("18");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> sessionService.listAllSessions("not-a-cursor", 10))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cursor inválido");
+    }
+
+    private static SessionRecord session(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return new SessionRecord(id, 1L, "Chrome", "10.0.0.1", now, null, now.plusDays(7));
+    }
+
+    private static ActiveSessionView view(Long id, LocalDateTime createdAt) {
+        return new ActiveSessionView(id, 1L, "Chrome", "10.0.0.1", createdAt, null, createdAt.plusDays(7));
+    }
+}
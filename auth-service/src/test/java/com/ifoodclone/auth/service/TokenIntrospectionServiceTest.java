@@ -0,0 +1,166 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import com.ifoodclone.auth.dto.TokenIntrospection;
+import com.ifoodclone.auth.dto.UserSnapshot;
+import com.ifoodclone.auth.entity.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Introspection Service Tests")
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+    @Mock
+    private AccessTokenRevocationPublisher revocations;
+
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenIntrospectionService(jwtService, userSnapshotCache, revocations, 10, 30);
+    }
+
+    @Test
+    @DisplayName("Should introspect a batch with one user lookup and one revocation check")
+    void shouldIntrospectBatchInOrder() {
+        // Given
+        when(jwtService.parseValidClaims("a")).thenReturn(Optional.of(accessClaims("jti-a", 1L, 3_600_000)));
+        when(jwtService.parseValidClaims("b")).thenReturn(Optional.of(accessClaims("jti-b", 2L, 3_600_000)));
+        when(jwtService.parseValidClaims("bad")).thenReturn(Optional.empty());
+        when(userSnapshotCache.getAll(List.of(1L, 2L))).thenReturn(List.of(
+                new UserSnapshot(1L, "Ana", "Lima", User.UserRole.CUSTOMER, true),
+                new UserSnapshot(2L, "Bia", "Reis", User.UserRole.CUSTOMER, true)));
+        when(revocations.findRevoked(anyList())).thenReturn(new boolean[] { false, true });
+
+        // When
+        TokenIntrospectionService.Result result = service.introspect(List.of("a", "bad", "b"));
+
+        // Then
+        assertThat(result.results()).extracting(TokenIntrospection::active).containsExactly(true, false, false);
+        assertThat(result.results().get(0).userId()).isEqualTo(1L);
+        assertThat(result.results().get(0).role()).isEqualTo("CUSTOMER");
+        assertThat(result.maxAgeSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should report inactive for deactivated users")
+    void shouldReportInactiveForDeactivatedUser() {
+        // Given
+        when(jwtService.parseValidClaims("a")).thenReturn(Optional.of(accessClaims("jti-a", 1L, 3_600_000)));
+        when(userSnapshotCache.getAll(List.of(1L))).thenReturn(List.of(
+                new UserSnapshot(1L, "Ana", "Lima", User.UserRole.CUSTOMER, false)));
+        when(revocations.findRevoked(anyList())).thenReturn(new boolean[] { false });
+
+        // When
+        TokenIntrospectionService.Result result = service.introspect("a");
+
+        // Then
+        assertThat(result.results()).containsExactly(TokenIntrospection.INACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should bound max-age by the remaining token lifetime")
+    void shouldBoundMaxAgeByRemainingLifetime() {
+        // Given
+        when(jwtService.parseValidClaims("a")).thenReturn(Optional.of(accessClaims("jti-a", 1L, 10_000)));
+        when(userSnapshotCache.getAll(List.of(1L))).thenReturn(List.of(
+                new UserSnapshot(1L, "Ana", "Lima", User.UserRole.CUSTOMER, true)));
+        when(revocations.findRevoked(anyList())).thenReturn(new boolean[] { false });
+
+        // When
+        TokenIntrospectionService.Result result = service.introspect("a");
+
+        // Then
+        assertThat(result.maxAgeSeconds()).isBetween(8L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should answer without caching when the revocation list is unavailable")
+    void shouldNotCacheWhenRevocationLookupFails() {
+        // Given
+        when(jwtService.parseValidClaims("a")).thenReturn(Optional.of(accessClaims("jti-a", 1L, 3_600_000)));
+        when(userSnapshotCache.getAll(List.of(1L))).thenReturn(List.of(
+                new UserSnapshot(1L, "Ana", "Lima", User.UserRole.CUSTOMER, true)));
+        when(revocations.findRevoked(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        TokenIntrospectionService.Result result = service.introspect("a");
+
+        // Then
+        assertThat(result.results().get(0).active()).isTrue();
+        assertThat(result.maxAgeSeconds()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should treat refresh tokens as inactive without touching the user cache")
+    void shouldTreatRefreshTokensAsInactive() {
+        // Given
+        Claims refresh = Jwts.claims().add("type", "REFRESH").add("userId", 1L).id("jti-r")
+                .issuedAt(new Date()).build();
+        when(jwtService.parseValidClaims("r")).thenReturn(Optional.of(refresh));
+
+        // When
+        TokenIntrospectionService.Result result = service.introspect("r");
+
+        // Then
+        assertThat(result.results()).containsExactly(TokenIntrospection.INACTIVE);
+        verify(userSnapshotCache, never()).getAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the limit")
+    void shouldRejectOversizedBatch() {
+        assertThatThrownBy(() -> service.introspect(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Máximo de 10 tokens por introspecção");
+    }
+
+    @Test
+    @DisplayName("Should refuse a user cache TTL longer than the introspection max-age")
+    void shouldRejectSnapshotTtlAboveMaxAge() {
+        // Given
+        when(userSnapshotCache.ttlSeconds()).thenReturn(300L);
+
+        // When / Then
+        assertThatThrownBy(() -> new TokenIntrospectionService(jwtService, userSnapshotCache, revocations, 10, 30))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.user-snapshot.ttl-seconds (300)");
+    }
+
+    private static Claims accessClaims(String jti, Long userId, long ttlMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.claims()
+                .add("type", "ACCESS")
+                .add("userId", userId)
+                .add("emailVerified", true)
+                .subject("user" + userId + "@example.com")
+                .id(jti)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMs))
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.repository.UserImportJobRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Import Service Tests")
+class UserImportServiceTest {
+
+    private static final String BCRYPT_HASH = "$2a$12$" + "a".repeat(53);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private UserImportJobRepository jobRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private EmailAvailabilityIndex emailIndex;
+
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserImportService(jdbcTemplate, transactionManager, jobRepository, passwordEncoder,
+                emailIndex, new ObjectMapper(), 100, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Row Validation Tests")
+    class RowValidationTests {
+
+        @Test
+        @DisplayName("Should default role to customer and keep plain password for hashing")
+        void shouldDefaultRoleToCustomer() {
+            UserImportService.ValidRow row = UserImportService.validate(1,
+                    new UserImportService.ImportRow("driver@example.com", "password123", null, "Ana", "Lima", null, null));
+
+            assertThat(row.role()).isEqualTo(User.UserRole.CUSTOMER);
+            assertThat(row.password()).isEqualTo("password123");
+            assertThat(row.passwordHash()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should accept pre-hashed BCrypt passwords with the delegating prefix")
+        void shouldAcceptPreHashedPasswords() {
+            UserImportService.ValidRow row = UserImportService.validate(1,
+                    new UserImportService.ImportRow("driver@example.com", null, BCRYPT_HASH, null, null, null,
+                            "delivery_driver"));
+
+            assertThat(row.passwordHash()).isEqualTo("{bcrypt}" + BCRYPT_HASH);
+            assertThat(row.role()).isEqualTo(User.UserRole.DELIVERY_DRIVER);
+        }
+
+        @Test
+        @DisplayName("Should refuse admin rows")
+        void shouldRefuseAdminRows() {
+            assertThatThrownBy(() -> UserImportService.validate(1,
+                    new UserImportService.ImportRow("boss@example.com", "password123", null, null, null, null, "ADMIN")))
+                    .hasMessageContaining("ADMIN");
+        }
+
+        @Test
+        @DisplayName("Should split quoted CSV fields")
+        void shouldSplitQuotedCsvFields() {
+            assertThat(UserImportService.parseCsvLine("a@b.com,\"Silva, Jr\",\"say \"\"hi\"\"\",,"))
+                    .containsExactly("a@b.com", "Silva, Jr", "say \"hi\"", "", "");
+        }
+    }
+
+    @Nested
+    @DisplayName("Chunk Processing Tests")
+    class ChunkProcessingTests {
+
+        @Test
+        @DisplayName("Should report bad, duplicated and existing rows and insert the rest in one batch")
+        void shouldReportErrorsAndBatchInsertValidRows() {
+            // Given
+            List<UserImportService.RawLine> lines = List.of(
+                    new UserImportService.RawLine(1, "{\"email\":\"new@example.com\",\"password\":\"password123\"}"),
+                    new UserImportService.RawLine(2, "{\"email\":\"new@example.com\",\"password\":\"password123\"}"),
+                    new UserImportService.RawLine(3, "{\"email\":\"taken@example.com\",\"password\":\"password123\"}"),
+                    new UserImportService.RawLine(4, "not json"),
+                    new UserImportService.RawLine(5,
+                            "{\"email\":\"migrated@example.com\",\"passwordHash\":\"" + BCRYPT_HASH + "\"}"));
+            when(jdbcTemplate.queryForList(startsWith("SELECT email FROM users"), eq(String.class), any(Object[].class)))
+                    .thenReturn(List.of("taken@example.com"));
+            when(jdbcTemplate.queryForList(UserImportService.ALLOCATE_IDS_SQL, Long.class, 1))
+                    .thenReturn(List.of(150L));
+            when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}hashed");
+            when(jdbcTemplate.batchUpdate(eq(UserImportService.INSERT_SQL), anyList(), anyInt(),
+                    ArgumentMatchers.<ParameterizedPreparedStatementSetter<UserImportService.PendingInsert>>any()))
+                    .thenReturn(new int[][] { { 1, 1 } });
+            UserImportService.ErrorCollector errors = new UserImportService.ErrorCollector(10);
+
+            // When
+            service.processChunk("job-1", lines, UserImportService.Format.NDJSON, null, errors);
+
+            // Then
+            assertThat(errors.errors).extracting(e -> e.getLine()).containsExactlyInAnyOrder(2L, 3L, 4L);
+            verify(passwordEncoder, times(1)).encode("password123");
+            verify(jdbcTemplate).update(eq(UserImportService.CHECKPOINT_SQL), eq(5L), eq(2), eq(3), any(), eq("job-1"));
+            verify(emailIndex).put("new@example.com");
+            verify(emailIndex).put("migrated@example.com");
+        }
+
+        @Test
+        @DisplayName("Should allocate ids as pooled blocks ending at each nextval")
+        void shouldAllocatePooledBlocks() {
+            // Given
+            when(jdbcTemplate.queryForList(UserImportService.ALLOCATE_IDS_SQL, Long.class, 2))
+                    .thenReturn(List.of(150L, 200L));
+
+            // When
+            List<UserImportService.PendingInsert> inserts = service.withAllocatedIds(validRows(60));
+
+            // Then
+            assertThat(inserts).extracting(UserImportService.PendingInsert::id)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(101, 160).boxed().toList());
+        }
+
+        @Test
+        @DisplayName("Should skip the initial value of a fresh sequence instead of allocating ids below 1")
+        void shouldSkipInitialValueOfFreshSequence() {
+            // Given: sequence criada com START 1 INCREMENT BY 50
+            when(jdbcTemplate.queryForList(UserImportService.ALLOCATE_IDS_SQL, Long.class, 2))
+                    .thenReturn(List.of(1L, 51L));
+            when(jdbcTemplate.queryForList(UserImportService.ALLOCATE_IDS_SQL, Long.class, 1))
+                    .thenReturn(List.of(101L));
+
+            // When
+            List<UserImportService.PendingInsert> inserts = service.withAllocatedIds(validRows(60));
+
+            // Then
+            assertThat(inserts).extracting(UserImportService.PendingInsert::id)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(2, 61).boxed().toList());
+        }
+
+        @Test
+        @DisplayName("Should still checkpoint a chunk where every row failed")
+        void shouldCheckpointChunkWithoutValidRows() {
+            // Given
+            List<UserImportService.RawLine> lines = List.of(new UserImportService.RawLine(7, "{\"email\":\"x\"}"));
+            UserImportService.ErrorCollector errors = new UserImportService.ErrorCollector(10);
+
+            // When
+            service.processChunk("job-1", lines, UserImportService.Format.NDJSON, null, errors);
+
+            // Then
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(),
+                    ArgumentMatchers.<ParameterizedPreparedStatementSetter<UserImportService.PendingInsert>>any());
+            verify(jdbcTemplate).update(eq(UserImportService.CHECKPOINT_SQL), eq(7L), eq(0), eq(1), any(), eq("job-1"));
+        }
+    }
+
+    private static List<UserImportService.ValidRow> validRows(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(line -> new UserImportService.ValidRow(line, "user" + line + "@example.com", null,
+                        "{bcrypt}hashed", null, null, null, User.UserRole.CUSTOMER))
+                .toList();
+    }
+}
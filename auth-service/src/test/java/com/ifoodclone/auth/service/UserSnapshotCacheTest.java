@@ -0,0 +1,99 @@
+package com.ifoodclone.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import com.ifoodclone.auth.dto.UserSnapshot;
+import com.ifoodclone.auth.entity.User;
+import com.ifoodclone.auth.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Snapshot Cache Tests")
+class UserSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSnapshotCache(userRepository, new SimpleMeterRegistry(), 3, 100, 300);
+    }
+
+    @Test
+    @DisplayName("Should load all missing ids with one query and keep the requested order")
+    void shouldLoadMissingIdsWithOneQuery() {
+        // Given
+        when(userRepository.findSnapshotsByIdIn(anyCollection())).thenReturn(List.of(
+                snapshot(2L, "Bia"), snapshot(1L, "Ana")));
+
+        // When
+        List<UserSnapshot> users = cache.getAll(List.of(1L, 2L, 1L, 9L));
+
+        // Then
+        assertThat(users).extracting(UserSnapshot::id).containsExactly(1L, 2L);
+        verify(userRepository).findSnapshotsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should serve cached ids without querying again")
+    void shouldServeCachedIdsWithoutQuerying() {
+        // Given
+        when(userRepository.findSnapshotsByIdIn(anyCollection())).thenReturn(List.of(snapshot(1L, "Ana")));
+        cache.getAll(List.of(1L));
+
+        // When
+        List<UserSnapshot> users = cache.getAll(List.of(1L));
+
+        // Then
+        assertThat(users).extracting(UserSnapshot::firstName).containsExactly("Ana");
+        verify(userRepository).findSnapshotsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured limit")
+    void shouldRejectOversizedBatches() {
+        assertThatThrownBy(() -> cache.getAll(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("3");
+        verify(userRepository, never()).findSnapshotsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should preload ids above the batch limit in chunks")
+    void shouldPreloadInChunks() {
+        // Given
+        when(userRepository.findSnapshotsByIdIn(anyCollection()))
+                .thenReturn(List.of(snapshot(1L, "Ana"), snapshot(2L, "Bia"), snapshot(3L, "Caio")))
+                .thenReturn(List.of(snapshot(4L, "Duda")));
+
+        // When
+        int loaded = cache.preload(List.of(1L, 2L, 3L, 4L, 5L));
+
+        // Then
+        assertThat(loaded).isEqualTo(4);
+        verify(userRepository, times(2)).findSnapshotsByIdIn(anyCollection());
+        assertThat(cache.getAll(List.of(4L))).extracting(UserSnapshot::firstName).containsExactly("Duda");
+    }
+
+    private static UserSnapshot snapshot(Long id, String firstName) {
+        return new UserSnapshot(id, firstName, "Silva", User.UserRole.CUSTOMER, true);
+    }
+}
@@ -167,7 +167,7 @@ class AuthenticationIntegrationTest {
                     Map.class);
 
             // Then
-            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
             assertThat(response.getBody()).containsKey("error");
         }
     }
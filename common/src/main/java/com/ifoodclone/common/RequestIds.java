@@ -0,0 +1,49 @@
+package com.ifoodclone.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Geração barata de IDs no formato W3C Trace Context (hex minúsculo), sem
+ * SecureRandom nem concatenação de strings. Compartilhada pelos
+ * CorrelationIdInterceptor dos serviços.
+ */
+public final class RequestIds {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RequestIds() {
+    }
+
+    /**
+     * 32 caracteres hex, como um trace-id (nunca todo zero)
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * 16 caracteres hex, como um span-id (nunca todo zero)
+     */
+    public static String newSpanId() {
+        long value = ThreadLocalRandom.current().nextLong();
+        char[] chars = new char[16];
+        writeHex(value != 0 ? value : 1, chars, 0);
+        return new String(chars);
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ifoodclone.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Request IDs Tests")
+class RequestIdsTest {
+
+    @Test
+    @DisplayName("Should generate W3C-compatible trace ids")
+    void shouldGenerateW3cTraceIds() {
+        assertThat(RequestIds.newTraceId())
+                .hasSize(32)
+                .matches("[0-9a-f]{32}")
+                .isNotEqualTo("0".repeat(32))
+                .isNotEqualTo(RequestIds.newTraceId());
+    }
+
+    @Test
+    @DisplayName("Should generate W3C-compatible span ids")
+    void shouldGenerateW3cSpanIds() {
+        assertThat(RequestIds.newSpanId())
+                .matches("[0-9a-f]{16}")
+                .isNotEqualTo("0".repeat(16));
+    }
+}
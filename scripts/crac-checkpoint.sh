@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# 🧊 Gera uma imagem com checkpoint CRaC de um serviço já aquecido
+# Uso: scripts/crac-checkpoint.sh auth-service 8081
+#      scripts/crac-checkpoint.sh api-gateway 8080
+#
+# Passos: sobe o container sem checkpoint, espera o readiness (warm-up incluso),
+# aplica tráfego opcional (WARMUP_URL), espera as conexões ociosas fecharem,
+# dispara o checkpoint com jcmd e grava o container como ifood-<serviço>:crac.
+#
+# ⚠️ O checkpoint guarda a memória do processo, incluindo configuração e
+# segredos resolvidos (JWT_SECRET, senhas do banco). Gere a imagem com o
+# ambiente de destino e trate-a como segredo.
+# ⚠️ Checkpoint e restore precisam de CAP_CHECKPOINT_RESTORE (ou --privileged).
+
+set -e
+
+SERVICE=${1:?"Informe o serviço (auth-service ou api-gateway)"}
+PORT=${2:?"Informe a porta HTTP do serviço"}
+IMAGE=ifood-$SERVICE:crac-base
+CONTAINER=ifood-$SERVICE-crac-checkpoint
+# Maior que o max-idle-time dos pools HTTP (ex.: GATEWAY_POOL_MAX_IDLE_TIME)
+IDLE_WAIT_SECONDS=${IDLE_WAIT_SECONDS:-35}
+
+echo "🐳 Construindo $IMAGE..."
+docker build -f "$SERVICE/Dockerfile.crac" -t "$IMAGE" .
+
+docker rm -f "$CONTAINER" 2>/dev/null || true
+docker run -d --name "$CONTAINER" --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE \
+    --network ifood-network ${DOCKER_ENV_FILE:+--env-file "$DOCKER_ENV_FILE"} "$IMAGE"
+
+echo "⏳ Aguardando readiness (warm-up incluso)..."
+for _ in $(seq 1 120); do
+    if docker exec "$CONTAINER" curl -sf "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; then
+        break
+    fi
+    sleep 1
+done
+
+if [ -n "$WARMUP_URL" ]; then
+    echo "🔥 Aquecendo com $WARMUP_URL..."
+    for _ in $(seq 1 "${WARMUP_REQUESTS:-2000}"); do
+        docker exec "$CONTAINER" curl -s -o /dev/null "http://localhost:$PORT$WARMUP_URL" || true
+    done
+fi
+
+echo "💤 Aguardando ${IDLE_WAIT_SECONDS}s para as conexões ociosas fecharem..."
+sleep "$IDLE_WAIT_SECONDS"
+
+echo "🧊 Checkpoint..."
+docker exec "$CONTAINER" jcmd /app/app.jar JDK.checkpoint
+docker wait "$CONTAINER" >/dev/null || true
+
+docker commit "$CONTAINER" "ifood-$SERVICE:crac"
+docker rm "$CONTAINER" >/dev/null
+echo "✅ Imagem ifood-$SERVICE:crac pronta (restore com --cap-add CHECKPOINT_RESTORE)"
@@ -0,0 +1,18 @@
+#!/bin/sh
+
+# Entrypoint das imagens CRaC (auth-service/Dockerfile.crac, api-gateway/Dockerfile.crac)
+# - Com checkpoint em /crac: restaura o processo já aquecido
+# - Sem checkpoint: inicia normalmente, pronto para scripts/crac-checkpoint.sh
+
+CRAC_DIR=/crac
+
+if [ -f "$CRAC_DIR/cppath" ]; then
+    exec java -XX:CRaCRestoreFrom="$CRAC_DIR" $JAVA_RESTORE_OPTS
+fi
+
+exec java -XX:CRaCCheckpointTo="$CRAC_DIR" \
+    -XX:MaxRAMPercentage=75.0 \
+    -XX:+UseG1GC \
+    -Djava.security.egd=file:/dev/./urandom \
+    $JAVA_OPTS \
+    -jar /app/app.jar
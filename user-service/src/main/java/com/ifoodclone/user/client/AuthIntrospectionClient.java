@@ -0,0 +1,182 @@
+package com.ifoodclone.user.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cliente da introspecção de tokens do auth-service com cache local.
+ *
+ * Cada resultado fica em cache pelo max-age do Cache-Control da resposta,
+ * nunca além do exp do token; respostas "no-store" não são guardadas. Os
+ * tokens ausentes do cache são consultados juntos em /introspect:batch, em vez
+ * de uma chamada por token. As chaves do cache são o SHA-256 do token.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth-introspection.enabled", havingValue = "true")
+public class AuthIntrospectionClient {
+
+    static final String CLIENT_KEY_HEADER = "X-Introspection-Key";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final String clientSecret;
+    private final int batchSize;
+    private final Cache<String, CachedIntrospection> cache;
+
+    public AuthIntrospectionClient(RestTemplate restTemplate, MeterRegistry meterRegistry,
+            @Value("${app.auth-introspection.url}") String authServiceUrl,
+            @Value("${app.auth-introspection.client-secret}") String clientSecret,
+            @Value("${app.auth-introspection.cache-size:50000}") long cacheSize,
+            @Value("${app.auth-introspection.batch-size:100}") int batchSize) {
+        this.restTemplate = restTemplate;
+        this.batchUrl = authServiceUrl + "/api/v1/auth/introspect:batch";
+        this.clientSecret = clientSecret;
+        this.batchSize = batchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, CachedIntrospection>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedIntrospection value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedIntrospection value, long currentTime,
+                            long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedIntrospection value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokenIntrospection");
+    }
+
+    public TokenIntrospection introspect(String token) {
+        return introspectAll(List.of(token)).get(token);
+    }
+
+    /**
+     * Introspecção de vários tokens; uma chamada ao auth-service por lote de
+     * tokens fora do cache. Lança RuntimeException se o auth-service falhar,
+     * para o chamador decidir (negar o acesso, em geral).
+     */
+    public Map<String, TokenIntrospection> introspectAll(Collection<String> tokens) {
+        Map<String, TokenIntrospection> results = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String token : new LinkedHashSet<>(tokens)) {
+            CachedIntrospection cached = cache.getIfPresent(hash(token));
+            if (cached != null) {
+                results.put(token, cached.result());
+            } else {
+                missing.add(token);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<String> chunk = missing.subList(from, Math.min(from + batchSize, missing.size()));
+            fetch(chunk, results);
+        }
+        return results;
+    }
+
+    private void fetch(List<String> tokens, Map<String, TokenIntrospection> results) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(CLIENT_KEY_HEADER, clientSecret);
+
+        ResponseEntity<BatchResponse> response;
+        try {
+            response = restTemplate.exchange(batchUrl, HttpMethod.POST,
+                    new HttpEntity<>(new BatchRequest(tokens), headers), BatchResponse.class);
+        } catch (RestClientException ex) {
+            throw new RuntimeException("Falha na introspecção de tokens: " + ex.getMessage(), ex);
+        }
+
+        BatchResponse body = response.getBody();
+        if (body == null || body.results() == null || body.results().size() != tokens.size()) {
+            throw new RuntimeException("Resposta de introspecção inválida");
+        }
+
+        long maxAgeSeconds = maxAge(response.getHeaders().getCacheControl());
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < tokens.size(); i++) {
+            TokenIntrospection result = body.results().get(i);
+            results.put(tokens.get(i), result);
+
+            long ttlSeconds = maxAgeSeconds;
+            if (result.active() && result.exp() != null) {
+                ttlSeconds = Math.min(ttlSeconds, result.exp() - nowSeconds);
+            }
+            if (ttlSeconds > 0) {
+                cache.put(hash(tokens.get(i)),
+                        new CachedIntrospection(result, TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            }
+        }
+    }
+
+    /**
+     * max-age do Cache-Control; 0 para no-store/no-cache ou ausente
+     */
+    static long maxAge(String cacheControl) {
+        if (cacheControl == null || cacheControl.contains("no-store") || cacheControl.contains("no-cache")) {
+            return 0;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    record BatchRequest(List<String> tokens) {
+    }
+
+    record BatchResponse(List<TokenIntrospection> results) {
+    }
+
+    private record CachedIntrospection(TokenIntrospection result, long ttlNanos) {
+    }
+}
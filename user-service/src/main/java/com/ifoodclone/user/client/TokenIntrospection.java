@@ -0,0 +1,24 @@
+package com.ifoodclone.user.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resposta de introspecção do auth-service (RFC 7662). Inativo traz só
+ * active=false.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TokenIntrospection(
+        boolean active,
+        String sub,
+        @JsonProperty("token_type") String tokenType,
+        Long exp,
+        Long iat,
+        String jti,
+        @JsonProperty("user_id") Long userId,
+        String role,
+        @JsonProperty("email_verified") Boolean emailVerified) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null, null, null,
+            null, null, null);
+}
@@ -1,12 +1,17 @@
 package com.ifoodclone.user.config;
 
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import com.ifoodclone.common.RequestIds;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
 import io.micrometer.tracing.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -14,10 +19,13 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class CorrelationIdInterceptor implements HandlerInterceptor {
 
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationIdInterceptor.class);
+
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String REQUEST_ID_HEADER = "X-Request-ID";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
     private static final String REQUEST_ID_MDC_KEY = "requestId";
+    private static final String START_NANOS_ATTRIBUTE = CorrelationIdInterceptor.class.getName() + ".start";
 
     private final Tracer tracer;
 
@@ -27,16 +35,21 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        // Obtém ou gera Correlation ID
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+
+        Span currentSpan = tracer.currentSpan();
+        TraceContext context = currentSpan != null ? currentSpan.context() : null;
+
+        // Obtém Correlation ID do header ou do trace atual
         String correlationId = request.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            correlationId = context != null ? context.traceId() : RequestIds.newTraceId();
         }
 
-        // Obtém ou gera Request ID
+        // Obtém Request ID do header ou do span do servidor
         String requestId = request.getHeader(REQUEST_ID_HEADER);
         if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
+            requestId = context != null ? context.spanId() : RequestIds.newSpanId();
         }
 
         // Define no MDC para logging
@@ -47,12 +60,10 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
         response.setHeader(REQUEST_ID_HEADER, requestId);
 
-        // Adiciona tags ao span atual
-        Span currentSpan = tracer.nextSpan();
-        if (currentSpan != null) {
+        // Adiciona tags ao span do servidor, se amostrado
+        if (currentSpan != null && isSampled(context)) {
             currentSpan.tag("correlation.id", correlationId);
             currentSpan.tag("request.id", requestId);
-            currentSpan.tag("service.name", "user-service");
         }
 
         return true;
@@ -61,8 +72,25 @@ public class CorrelationIdInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
             Exception ex) {
+        // Uma linha de acesso por request amostrado ou com erro
+        int status = response.getStatus();
+        Span currentSpan = tracer.currentSpan();
+        if (logger.isInfoEnabled()
+                && (ex != null || status >= 500 || (currentSpan != null && isSampled(currentSpan.context())))) {
+            Object start = request.getAttribute(START_NANOS_ATTRIBUTE);
+            long elapsedMs = start instanceof Long startNanos
+                    ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+                    : -1;
+            logger.info("{} {} {} {}ms{}", request.getMethod(), request.getRequestURI(), status, elapsedMs,
+                    ex != null ? " " + ex.getClass().getSimpleName() : "");
+        }
+
         // Limpa o MDC
         MDC.remove(CORRELATION_ID_MDC_KEY);
         MDC.remove(REQUEST_ID_MDC_KEY);
     }
-}
\ No newline at end of file
+
+    private static boolean isSampled(TraceContext context) {
+        return context != null && Boolean.TRUE.equals(context.sampled());
+    }
+}
@@ -1,19 +1,111 @@
 package com.ifoodclone.user.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
 /**
- * Configuração para RestTemplate com tracing automático
+ * Configuração para RestTemplate com tracing automático.
+ *
+ * As chamadas entre serviços usam um pool de conexões keep-alive (Apache
+ * HttpClient 5) com limite por host e timeouts, em vez do HttpURLConnection
+ * padrão, que abre uma conexão TCP por chamada. Com app.http-client.http2-enabled
+ * o transporte passa a ser o HttpClient do JDK em HTTP/2.
  */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${app.http-client.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http-client.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
         // O Spring Boot auto-configura o tracing para RestTemplate automaticamente
-        return builder.build();
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.http-client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${app.http-client.max-connections:200}") int maxConnections,
+            @Value("${app.http-client.max-connections-per-route:50}") int maxPerRoute,
+            @Value("${app.http-client.connection-ttl-seconds:300}") long connectionTtlSeconds,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // httpcomponents.httpclient.pool.{total.max,total.connections,route.max.default,total.pending}
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "inter-service")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.http-client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager connectionManager,
+            @Value("${app.http-client.pool-acquire-timeout-ms:500}") long poolAcquireTimeoutMs,
+            @Value("${app.http-client.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.http-client.http2-enabled", havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory pooledRequestFactory(CloseableHttpClient pooledHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(pooledHttpClient);
+    }
+
+    /**
+     * HTTP/2 multiplexa as requisições em poucas conexões por host; o JDK
+     * gerencia o pool internamente
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.http-client.http2-enabled", havingValue = "true")
+    public ClientHttpRequestFactory http2RequestFactory() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return requestFactory;
     }
-}
\ No newline at end of file
+}
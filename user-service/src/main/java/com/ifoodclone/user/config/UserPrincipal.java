@@ -0,0 +1,108 @@
+package com.ifoodclone.user.config;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Identidade imutável do usuário da requisição, montada uma vez pelo
+ * UserContextFilter a partir dos headers do API Gateway.
+ *
+ * Os papéis já vêm parseados em uma máscara de bits, então cada verificação
+ * de papel é um teste de bit. Por ser imutável, pode ser passado entre threads
+ * (async, virtual threads) sem cópia.
+ */
+public record UserPrincipal(Long userId, String email, String rawRoles, int roleMask) {
+
+    /** Atributo da requisição onde o filtro publica o principal */
+    public static final String REQUEST_ATTRIBUTE = UserPrincipal.class.getName();
+
+    private static final Role[] ROLES = Role.values();
+
+    public enum Role {
+        ADMIN,
+        CUSTOMER,
+        RESTAURANT_OWNER,
+        DELIVERY_DRIVER,
+        DELIVERY_PERSON;
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    public static UserPrincipal of(Long userId, String email, String rawRoles) {
+        return new UserPrincipal(userId, email, rawRoles, parseRoles(rawRoles));
+    }
+
+    public boolean hasRole(Role role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    /**
+     * Verificação por nome exato do papel (sensível a maiúsculas); nomes
+     * desconhecidos retornam false
+     */
+    public boolean hasRole(String role) {
+        Role parsed = roleOf(role);
+        return parsed != null && hasRole(parsed);
+    }
+
+    public Set<Role> roles() {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : ROLES) {
+            if (hasRole(role)) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(Role.ADMIN);
+    }
+
+    public UserPrincipal withUserId(Long newUserId) {
+        return new UserPrincipal(newUserId, email, rawRoles, roleMask);
+    }
+
+    public UserPrincipal withEmail(String newEmail) {
+        return new UserPrincipal(userId, newEmail, rawRoles, roleMask);
+    }
+
+    public UserPrincipal withRoles(String newRawRoles) {
+        return of(userId, email, newRawRoles);
+    }
+
+    /**
+     * Converte "ADMIN,CUSTOMER" (ou "ROLE_ADMIN,...") na máscara de bits
+     */
+    static int parseRoles(String rawRoles) {
+        if (rawRoles == null || rawRoles.isEmpty()) {
+            return 0;
+        }
+        int mask = 0;
+        for (String token : rawRoles.split(",")) {
+            String name = token.trim();
+            if (name.startsWith("ROLE_")) {
+                name = name.substring(5);
+            }
+            Role role = roleOf(name);
+            if (role != null) {
+                mask |= role.bit();
+            }
+        }
+        return mask;
+    }
+
+    private static Role roleOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Role role : ROLES) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ifoodclone.user.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Injeta o {@link UserPrincipal} da requisição como parâmetro dos controllers,
+ * lido do atributo da requisição e não de ThreadLocal
+ */
+public class UserPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return UserPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return webRequest.getAttribute(UserPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
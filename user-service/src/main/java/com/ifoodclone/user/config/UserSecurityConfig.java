@@ -8,6 +8,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,13 +17,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
-public class UserSecurityConfig {
+public class UserSecurityConfig implements WebMvcConfigurer {
 
     @Bean
     public UserContextFilter userContextFilter() {
         return new UserContextFilter();
     }
 
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new UserPrincipalArgumentResolver());
+    }
+
     public static class UserContextFilter extends OncePerRequestFilter {
 
         private static final List<String> EXCLUDED_PATHS = Arrays.asList(
@@ -57,10 +64,10 @@ public class UserSecurityConfig {
                 return;
             }
 
-            // Store user context for this request
-            UserContext.setUserId(Long.parseLong(userId));
-            UserContext.setUserEmail(userEmail);
-            UserContext.setUserRoles(userRoles);
+            // One immutable principal per request, parsed once
+            UserPrincipal principal = UserPrincipal.of(Long.parseLong(userId), userEmail, userRoles);
+            request.setAttribute(UserPrincipal.REQUEST_ATTRIBUTE, principal);
+            UserContext.set(principal);
 
             try {
                 filterChain.doFilter(request, response);
@@ -71,61 +78,107 @@ public class UserSecurityConfig {
         }
     }
 
-    // Thread-local user context
+    /**
+     * Acesso estático ao principal da requisição atual.
+     *
+     * Guarda uma única referência imutável por thread; em controllers prefira
+     * receber {@link UserPrincipal} como parâmetro, que não depende da thread.
+     */
     public static class UserContext {
-        private static final ThreadLocal<Long> userId = new ThreadLocal<>();
-        private static final ThreadLocal<String> userEmail = new ThreadLocal<>();
-        private static final ThreadLocal<String> userRoles = new ThreadLocal<>();
+        private static final ThreadLocal<UserPrincipal> current = new ThreadLocal<>();
+
+        public static UserPrincipal get() {
+            return current.get();
+        }
+
+        public static void set(UserPrincipal principal) {
+            current.set(principal);
+        }
 
         public static Long getUserId() {
-            return userId.get();
+            UserPrincipal principal = current.get();
+            return principal != null ? principal.userId() : null;
         }
 
         public static void setUserId(Long id) {
-            userId.set(id);
+            current.set(orEmpty().withUserId(id));
         }
 
         public static String getUserEmail() {
-            return userEmail.get();
+            UserPrincipal principal = current.get();
+            return principal != null ? principal.email() : null;
         }
 
         public static void setUserEmail(String email) {
-            userEmail.set(email);
+            current.set(orEmpty().withEmail(email));
         }
 
         public static String getUserRoles() {
-            return userRoles.get();
+            UserPrincipal principal = current.get();
+            return principal != null ? principal.rawRoles() : null;
         }
 
         public static void setUserRoles(String roles) {
-            userRoles.set(roles);
+            current.set(orEmpty().withRoles(roles));
         }
 
         public static boolean hasRole(String role) {
-            String roles = getUserRoles();
-            return roles != null && roles.contains(role);
+            UserPrincipal principal = current.get();
+            return principal != null && principal.hasRole(role);
+        }
+
+        public static boolean hasRole(UserPrincipal.Role role) {
+            UserPrincipal principal = current.get();
+            return principal != null && principal.hasRole(role);
         }
 
         public static boolean isAdmin() {
-            return hasRole("ADMIN");
+            return hasRole(UserPrincipal.Role.ADMIN);
         }
 
         public static boolean isCustomer() {
-            return hasRole("CUSTOMER");
+            return hasRole(UserPrincipal.Role.CUSTOMER);
         }
 
         public static boolean isRestaurantOwner() {
-            return hasRole("RESTAURANT_OWNER");
+            return hasRole(UserPrincipal.Role.RESTAURANT_OWNER);
         }
 
         public static boolean isDeliveryDriver() {
-            return hasRole("DELIVERY_DRIVER");
+            return hasRole(UserPrincipal.Role.DELIVERY_DRIVER);
         }
 
         public static void clear() {
-            userId.remove();
-            userEmail.remove();
-            userRoles.remove();
+            current.remove();
+        }
+
+        /**
+         * Executa a tarefa em outra thread com o principal capturado agora (o
+         * serviço não tem executor @Async; use ao repassar trabalho manualmente)
+         */
+        public static Runnable wrap(Runnable task) {
+            UserPrincipal captured = current.get();
+            if (captured == null) {
+                return task;
+            }
+            return () -> {
+                UserPrincipal previous = current.get();
+                current.set(captured);
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        current.set(previous);
+                    } else {
+                        current.remove();
+                    }
+                }
+            };
+        }
+
+        private static UserPrincipal orEmpty() {
+            UserPrincipal principal = current.get();
+            return principal != null ? principal : UserPrincipal.of(null, null, null);
         }
     }
-}
\ No newline at end of file
+}
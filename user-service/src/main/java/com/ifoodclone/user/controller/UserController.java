@@ -3,7 +3,8 @@ package com.ifoodclone.user.controller;
 import java.util.HashMap;
 import java.util.Map;
 
-import com.ifoodclone.user.config.UserSecurityConfig.UserContext;
+import com.ifoodclone.user.config.UserPrincipal;
+import com.ifoodclone.user.config.UserPrincipal.Role;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,18 +21,14 @@ public class UserController {
      * Get current user profile
      */
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getCurrentUserProfile() {
-        Long userId = UserContext.getUserId();
-        String userEmail = UserContext.getUserEmail();
-        String userRoles = UserContext.getUserRoles();
-
+    public ResponseEntity<Map<String, Object>> getCurrentUserProfile(UserPrincipal principal) {
         Map<String, Object> profile = new HashMap<>();
-        profile.put("userId", userId);
-        profile.put("email", userEmail);
-        profile.put("roles", userRoles);
-        profile.put("isAdmin", UserContext.isAdmin());
-        profile.put("isCustomer", UserContext.isCustomer());
-        profile.put("isRestaurantOwner", UserContext.isRestaurantOwner());
+        profile.put("userId", principal.userId());
+        profile.put("email", principal.email());
+        profile.put("roles", principal.rawRoles());
+        profile.put("isAdmin", principal.isAdmin());
+        profile.put("isCustomer", principal.hasRole(Role.CUSTOMER));
+        profile.put("isRestaurantOwner", principal.hasRole(Role.RESTAURANT_OWNER));
 
         return ResponseEntity.ok(profile);
     }
@@ -40,14 +37,14 @@ public class UserController {
      * Admin-only endpoint
      */
     @GetMapping("/admin/all")
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
-        if (!UserContext.isAdmin()) {
+    public ResponseEntity<Map<String, Object>> getAllUsers(UserPrincipal principal) {
+        if (!principal.isAdmin()) {
             return ResponseEntity.status(403).build();
         }
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Admin access granted");
-        response.put("adminUser", UserContext.getUserEmail());
+        response.put("adminUser", principal.email());
 
         return ResponseEntity.ok(response);
     }
@@ -56,11 +53,11 @@ public class UserController {
      * Update user profile (owner or admin only)
      */
     @PutMapping("/profile/{userId}")
-    public ResponseEntity<Map<String, Object>> updateUserProfile(@PathVariable Long userId) {
-        Long currentUserId = UserContext.getUserId();
+    public ResponseEntity<Map<String, Object>> updateUserProfile(@PathVariable Long userId, UserPrincipal principal) {
+        Long currentUserId = principal.userId();
 
         // Only allow users to update their own profile or admins to update any
-        if (!userId.equals(currentUserId) && !UserContext.isAdmin()) {
+        if (!userId.equals(currentUserId) && !principal.isAdmin()) {
             return ResponseEntity.status(403)
                     .body(Map.of("error", "Access denied"));
         }
@@ -77,15 +74,15 @@ public class UserController {
      * Restaurant owner specific endpoint
      */
     @GetMapping("/restaurant/dashboard")
-    public ResponseEntity<Map<String, Object>> getRestaurantDashboard() {
-        if (!UserContext.isRestaurantOwner() && !UserContext.isAdmin()) {
+    public ResponseEntity<Map<String, Object>> getRestaurantDashboard(UserPrincipal principal) {
+        if (!principal.hasRole(Role.RESTAURANT_OWNER) && !principal.isAdmin()) {
             return ResponseEntity.status(403)
                     .body(Map.of("error", "Restaurant owner access required"));
         }
 
         Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("ownerId", UserContext.getUserId());
-        dashboard.put("ownerEmail", UserContext.getUserEmail());
+        dashboard.put("ownerId", principal.userId());
+        dashboard.put("ownerEmail", principal.email());
         dashboard.put("dashboardType", "restaurant");
 
         return ResponseEntity.ok(dashboard);
@@ -95,15 +92,15 @@ public class UserController {
      * Delivery driver specific endpoint
      */
     @GetMapping("/delivery/dashboard")
-    public ResponseEntity<Map<String, Object>> getDeliveryDashboard() {
-        if (!UserContext.isDeliveryDriver() && !UserContext.isAdmin()) {
+    public ResponseEntity<Map<String, Object>> getDeliveryDashboard(UserPrincipal principal) {
+        if (!principal.hasRole(Role.DELIVERY_DRIVER) && !principal.isAdmin()) {
             return ResponseEntity.status(403)
                     .body(Map.of("error", "Delivery driver access required"));
         }
 
         Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("driverId", UserContext.getUserId());
-        dashboard.put("driverEmail", UserContext.getUserEmail());
+        dashboard.put("driverId", principal.userId());
+        dashboard.put("driverEmail", principal.email());
         dashboard.put("dashboardType", "delivery");
 
         return ResponseEntity.ok(dashboard);
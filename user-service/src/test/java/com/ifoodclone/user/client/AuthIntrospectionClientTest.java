@@ -0,0 +1,106 @@
+package com.ifoodclone.user.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.twice;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Auth Introspection Client Tests")
+class AuthIntrospectionClientTest {
+
+    private static final String BATCH_URL = "http://auth-service:8081/api/v1/auth/introspect:batch";
+
+    private MockRestServiceServer server;
+    private AuthIntrospectionClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new AuthIntrospectionClient(restTemplate, new SimpleMeterRegistry(), "http://auth-service:8081",
+                "secret", 1000, 100);
+    }
+
+    @Test
+    @DisplayName("Should fetch cache misses in one batch call and serve repeats from cache")
+    void shouldBatchMissesAndCacheResults() {
+        // Given
+        long exp = System.currentTimeMillis() / 1000 + 600;
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(header(AuthIntrospectionClient.CLIENT_KEY_HEADER, "secret"))
+                .andExpect(content().json("{\"tokens\":[\"a\",\"b\"]}"))
+                .andRespond(withSuccess("{\"results\":[{\"active\":true,\"user_id\":1,\"exp\":" + exp + "},"
+                        + "{\"active\":false}]}", MediaType.APPLICATION_JSON)
+                        .headers(cacheControl("private, max-age=30")));
+
+        // When
+        Map<String, TokenIntrospection> first = client.introspectAll(List.of("a", "b"));
+        TokenIntrospection cached = client.introspect("a");
+
+        // Then
+        assertThat(first.get("a").userId()).isEqualTo(1L);
+        assertThat(first.get("b").active()).isFalse();
+        assertThat(cached.active()).isTrue();
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should not cache no-store responses")
+    void shouldNotCacheNoStoreResponses() {
+        // Given
+        server.expect(twice(), requestTo(BATCH_URL))
+                .andRespond(withSuccess("{\"results\":[{\"active\":false}]}", MediaType.APPLICATION_JSON)
+                        .headers(cacheControl("no-store")));
+
+        // When
+        client.introspect("a");
+        client.introspect("a");
+
+        // Then
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should surface auth-service failures to the caller")
+    void shouldSurfaceFailures() {
+        // Given
+        server.expect(requestTo(BATCH_URL)).andRespond(withServerError());
+
+        // When & Then
+        assertThatThrownBy(() -> client.introspect("a"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Falha na introspecção de tokens");
+    }
+
+    @Test
+    @DisplayName("Should parse max-age from Cache-Control")
+    void shouldParseMaxAge() {
+        assertThat(AuthIntrospectionClient.maxAge("private, max-age=25")).isEqualTo(25);
+        assertThat(AuthIntrospectionClient.maxAge("no-store")).isZero();
+        assertThat(AuthIntrospectionClient.maxAge(null)).isZero();
+    }
+
+    private static HttpHeaders cacheControl(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(value);
+        return headers;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ifoodclone.user.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ifoodclone.user.config.UserPrincipal.Role;
+import com.ifoodclone.user.config.UserSecurityConfig.UserContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("User Principal Tests")
+class UserPrincipalTest {
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should parse roles into the bitmask, accepting the ROLE_ prefix")
+    void shouldParseRolesIntoBitmask() {
+        // Given
+        UserPrincipal principal = UserPrincipal.of(1L, "a@example.com", "ROLE_ADMIN, CUSTOMER,UNKNOWN");
+
+        // When & Then
+        assertThat(principal.roles()).containsExactlyInAnyOrder(Role.ADMIN, Role.CUSTOMER);
+        assertThat(principal.isAdmin()).isTrue();
+        assertThat(principal.hasRole("CUSTOMER")).isTrue();
+        assertThat(principal.hasRole("UNKNOWN")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not match role names by substring")
+    void shouldNotMatchRoleNamesBySubstring() {
+        // Given
+        UserPrincipal principal = UserPrincipal.of(1L, "a@example.com", "RESTAURANT_OWNER");
+
+        // When & Then
+        assertThat(principal.hasRole("OWNER")).isFalse();
+        assertThat(principal.hasRole(Role.RESTAURANT_OWNER)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should propagate the principal to a task running on another thread")
+    void shouldPropagatePrincipalToWrappedTask() throws InterruptedException {
+        // Given
+        UserContext.set(UserPrincipal.of(42L, "a@example.com", "CUSTOMER"));
+        AtomicReference<UserPrincipal> seen = new AtomicReference<>();
+
+        // When
+        Thread thread = Thread.ofVirtual().start(UserContext.wrap(() -> seen.set(UserContext.get())));
+        thread.join();
+
+        // Then
+        assertThat(seen.get().userId()).isEqualTo(42L);
+        assertThat(seen.get().hasRole(Role.CUSTOMER)).isTrue();
+    }
+}